@@ -102,8 +102,20 @@ describe('Gestion de Socios - Frontend', () => {
   it('Lista socios existentes', () => {
     const socioData = buildSocioData();
 
+    // La lista se pagina por cursor y el socio nuevo queda al final: se cargan paginas hasta verlo
+    const cargarHasta = (identificacion) => {
+      cy.get('[data-cy="socios-list"]').then(($lista) => {
+        if (!$lista.text().includes(identificacion)) {
+          cy.get('[data-cy="socios-mas"]').click();
+          cy.get('[data-cy="socio-listar"]').should('not.be.disabled');
+          cargarHasta(identificacion);
+        }
+      });
+    };
+
     cy.request('POST', apiSocios, socioData).then(() => {
       cy.get('[data-cy="socio-listar"]').click();
+      cargarHasta(socioData.identificacion);
 
       cy.get('[data-cy="socios-list"]').should('contain.text', socioData.identificacion);
     });
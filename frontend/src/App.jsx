@@ -35,6 +35,7 @@ function App() {
   const [socioForm, setSocioForm] = useState(initialSocio);
   const [socioResult, setSocioResult] = useState(null);
   const [sociosList, setSociosList] = useState([]);
+  const [sociosCursor, setSociosCursor] = useState(null);
   const [buscarIdentificacion, setBuscarIdentificacion] = useState('');
 
   const [cuentaForm, setCuentaForm] = useState(initialCuenta);
@@ -147,8 +148,28 @@ function App() {
     setLoading(true);
     try {
       const result = await sociosApi.listSocios();
-      setSociosList(result || []);
-      showStatus(`Socios encontrados: ${result.length}`);
+      const socios = result?.socios || [];
+      setSociosList(socios);
+      setSociosCursor(result?.siguienteCursor || null);
+      showStatus(`Socios encontrados: ${socios.length}`);
+    } catch (error) {
+      handleError(error);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  const cargarMasSocios = async () => {
+    if (!sociosCursor) {
+      return;
+    }
+    setLoading(true);
+    try {
+      const result = await sociosApi.listSocios(sociosCursor);
+      const socios = result?.socios || [];
+      setSociosList((prev) => [...prev, ...socios]);
+      setSociosCursor(result?.siguienteCursor || null);
+      showStatus(`Socios cargados: ${socios.length}`);
     } catch (error) {
       handleError(error);
     } finally {
@@ -539,6 +560,18 @@ function App() {
                 ) : (
                   <p className="muted">Sin socios listados</p>
                 )}
+                {sociosCursor && (
+                  <div className="actions">
+                    <button
+                      type="button"
+                      onClick={cargarMasSocios}
+                      disabled={loading}
+                      data-cy="socios-mas"
+                    >
+                      Cargar mas
+                    </button>
+                  </div>
+                )}
               </div>
             </div>
           </>
@@ -21,8 +21,9 @@ export const sociosApi = {
   getSocioByIdentificacion(identificacion) {
     return requestJson(`${SOCIOS_BASE}/identificacion/${identificacion}`);
   },
-  listSocios() {
-    return requestJson(SOCIOS_BASE);
+  listSocios(cursor) {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+    return requestJson(`${SOCIOS_BASE}${query}`);
   },
   deleteSocio(id) {
     return requestJson(`${SOCIOS_BASE}/${id}`, {
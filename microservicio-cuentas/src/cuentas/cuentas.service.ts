@@ -38,6 +38,7 @@ export class CuentasService {
     });
 
     const cuentaGuardada = await this.cuentaRepository.save(cuenta);
+    await this.sociosClientService.notificarCambioCuentas(cuentaGuardada.socioId);
     return this.mapToResponse(cuentaGuardada);
   }
 
@@ -61,11 +62,17 @@ export class CuentasService {
       }
     }
 
+    const socioAnterior = cuenta.socioId;
     cuenta.socioId = request.socioId;
     cuenta.numeroCuenta = request.numeroCuenta;
     cuenta.tipoCuenta = request.tipoCuenta;
 
     const cuentaActualizada = await this.cuentaRepository.save(cuenta);
+    if (socioAnterior !== request.socioId) {
+      // La cuenta activa pasa de un socio a otro: cambia la validación de ambos
+      await this.sociosClientService.notificarCambioCuentas(socioAnterior);
+      await this.sociosClientService.notificarCambioCuentas(request.socioId);
+    }
     return this.mapToResponse(cuentaActualizada);
   }
 
@@ -111,6 +118,7 @@ export class CuentasService {
     cuenta.activo = false;
     cuenta.estado = 'CANCELADA';
     await this.cuentaRepository.save(cuenta);
+    await this.sociosClientService.notificarCambioCuentas(cuenta.socioId);
   }
 
   async realizarRetiro(id: string, monto: number): Promise<CuentaResponseDto> {
@@ -57,6 +57,24 @@ export class SociosClientService {
     }
   }
 
+  /**
+   * Avisa al servicio de socios que cambiaron las cuentas activas de un socio para que invalide
+   * su validación en caché. Un fallo no interrumpe la operación: la caché de socios expira sola.
+   */
+  async notificarCambioCuentas(socioId: string): Promise<void> {
+    try {
+      const response = await fetch(`${this.sociosServiceUrl}/internal/cuentas-activas/${socioId}`, {
+        method: 'DELETE',
+      });
+
+      if (!response.ok) {
+        this.logger.warn(`El servicio de socios respondió ${response.status} al invalidar la caché del socio ${socioId}`);
+      }
+    } catch (error) {
+      this.logger.warn(`No se pudo invalidar la caché de cuentas del socio ${socioId}: ${error.message}`);
+    }
+  }
+
   async socioTieneCuentasActivas(socioId: string): Promise<boolean> {
     try {
       this.logger.log(`Verificando cuentas activas para socio: ${socioId}`);
@@ -23,6 +23,7 @@ describe('CuentasService - Pruebas Unitarias Completas', () => {
   const mockSociosClient = {
     validarSocioExiste: jest.fn(),
     socioTieneCuentasActivas: jest.fn(),
+    notificarCambioCuentas: jest.fn(),
   };
 
   beforeEach(async () => {
@@ -80,6 +81,7 @@ describe('CuentasService - Pruebas Unitarias Completas', () => {
 
       expect(sociosClient.validarSocioExiste).toHaveBeenCalledWith('socio-123');
       expect(sociosClient.validarSocioExiste).toHaveBeenCalledTimes(1);
+      expect(sociosClient.notificarCambioCuentas).toHaveBeenCalledWith('socio-123');
     });
 
     it('debe rechazar crear cuenta si el socio no existe', async () => {
@@ -365,6 +367,8 @@ describe('CuentasService - Pruebas Unitarias Completas', () => {
       expect(resultado.id).toBe(cuentaId);
       expect(resultado.numeroCuenta).toBe(request.numeroCuenta);
       expect(mockRepository.save).toHaveBeenCalled();
+      expect(sociosClient.notificarCambioCuentas).toHaveBeenCalledWith('socio-123');
+      expect(sociosClient.notificarCambioCuentas).toHaveBeenCalledWith('socio-999');
     });
 
     it('debe rechazar retiro con monto invalido', async () => {
@@ -493,6 +497,7 @@ describe('CuentasService - Pruebas Unitarias Completas', () => {
       expect(mockRepository.save).toHaveBeenCalledWith(
         expect.objectContaining({ activo: false, estado: 'CANCELADA' })
       );
+      expect(sociosClient.notificarCambioCuentas).toHaveBeenCalledWith('socio-1');
     });
 
     it('debe lanzar error al eliminar cuenta inexistente', async () => {
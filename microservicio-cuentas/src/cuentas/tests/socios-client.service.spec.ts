@@ -127,6 +127,31 @@ describe('SociosClientService - Pruebas de Integración', () => {
     });
   });
 
+  describe('notificarCambioCuentas', () => {
+    it('debe invalidar la caché de cuentas activas del socio', async () => {
+      (global.fetch as jest.Mock).mockResolvedValue({ ok: true, status: 204 });
+
+      await service.notificarCambioCuentas('socio-123');
+
+      expect(global.fetch).toHaveBeenCalledWith(
+        'http://localhost:8080/internal/cuentas-activas/socio-123',
+        { method: 'DELETE' },
+      );
+    });
+
+    it('no debe lanzar error si el servicio de socios no está disponible', async () => {
+      (global.fetch as jest.Mock).mockRejectedValue(new Error('Connection refused'));
+
+      await expect(service.notificarCambioCuentas('socio-123')).resolves.toBeUndefined();
+    });
+
+    it('no debe lanzar error si el servicio de socios responde con error', async () => {
+      (global.fetch as jest.Mock).mockResolvedValue({ ok: false, status: 500 });
+
+      await expect(service.notificarCambioCuentas('socio-123')).resolves.toBeUndefined();
+    });
+  });
+
   describe('socioTieneCuentasActivas', () => {
     it('debe retornar false por defecto', async () => {
       const resultado = await service.socioTieneCuentasActivas('socio-1');
@@ -0,0 +1,184 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.SociosApplication;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo hasta que la aplicación está lista (readiness en 200, después de los listeners de
+ * ApplicationReadyEvent) y memoria residente en ese instante, arrancando el jar extraído del perfil
+ * arranque-rapido en JVMs nuevas: por defecto, con inicialización diferida, con AOT + CDS y con AOT +
+ * CDS sin ddl-auto ni datos iniciales. Si existe el ejecutable nativo ({@code arranque.nativo},
+ * construido con los perfiles native y h2) se mide también. Usa una BD H2 en archivo en lugar de
+ * PostgreSQL; los modos se alternan en cada repetición para que ninguno se beneficie de la caché de
+ * disco.
+ *
+ * <pre>
+ * mvn -Parranque-rapido,benchmark -DskipTests package exec:exec@arranque -Darranque.repeticiones=5
+ * </pre>
+ */
+public final class ArranqueSocios {
+
+    private static final int REPETICIONES = Integer.getInteger("arranque.repeticiones", 5);
+    private static final Path DIRECTORIO = Path.of(System.getProperty("arranque.directorio", "target/arranque-rapido"));
+    private static final Path NATIVO = Path.of(System.getProperty("arranque.nativo", "target/socios"));
+    private static final Duration MAXIMO = Duration.ofMinutes(2);
+
+    private ArranqueSocios() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!Files.exists(DIRECTORIO.resolve("socios.jsa"))) {
+            throw new IllegalStateException("No existe " + DIRECTORIO.resolve("socios.jsa")
+                    + "; construir antes con mvn -Parranque-rapido -DskipTests package");
+        }
+        Map<String, List<String>> modos = new LinkedHashMap<>();
+        modos.put("JVM por defecto", jvm());
+        modos.put("Inicialización diferida", jvm("--spring.main.lazy-initialization=true"));
+        modos.put("AOT + CDS", jvm("-XX:SharedArchiveFile=socios.jsa", "-Dspring.aot.enabled=true"));
+        modos.put("AOT + CDS, sin ddl-auto ni datos iniciales", jvm(
+                "-XX:SharedArchiveFile=socios.jsa", "-Dspring.aot.enabled=true",
+                "--spring.jpa.hibernate.ddl-auto=none", "--socios.datos-iniciales.habilitado=false"));
+        if (Files.isExecutable(NATIVO)) {
+            modos.put("Nativo", List.of(NATIVO.toAbsolutePath().toString()));
+        } else {
+            System.err.println("No existe " + NATIVO + ", se omite el modo nativo");
+        }
+
+        Map<String, List<Medicion>> mediciones = new LinkedHashMap<>();
+        modos.keySet().forEach(modo -> mediciones.put(modo, new ArrayList<>()));
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar();
+             HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            // Crea el esquema y los socios iniciales; no se mide
+            arrancar(http, cuentas, "preparacion", jvm());
+            for (int i = 0; i < REPETICIONES; i++) {
+                for (Map.Entry<String, List<String>> modo : modos.entrySet()) {
+                    mediciones.get(modo.getKey()).add(arrancar(http, cuentas, "modo-" + i, modo.getValue()));
+                }
+            }
+        }
+
+        System.err.printf("Repeticiones por modo: %d%n", REPETICIONES);
+        System.err.println("| Modo | Hasta listo, mediana (ms) | Mínimo (ms) | RSS al estar listo (MB) |");
+        System.err.println("|------|---------------------------|-------------|-------------------------|");
+        mediciones.forEach((modo, valores) -> {
+            long[] tiempos = valores.stream().mapToLong(Medicion::milisegundos).sorted().toArray();
+            long[] rss = valores.stream().mapToLong(Medicion::rssKb).sorted().toArray();
+            System.err.printf("| %s | %d | %d | %d |%n", modo, mediana(tiempos),
+                    Arrays.stream(tiempos).min().orElse(0), mediana(rss) / 1024);
+        });
+    }
+
+    /**
+     * Comando para arrancar el jar extraído; las opciones con un guion van a la JVM y las de dos, a
+     * la aplicación.
+     */
+    private static List<String> jvm(String... opciones) {
+        List<String> comando = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-cp", "socios.jar" + File.pathSeparator + jarH2()));
+        Arrays.stream(opciones).filter(opcion -> !opcion.startsWith("--")).forEach(comando::add);
+        comando.add(SociosApplication.class.getName());
+        Arrays.stream(opciones).filter(opcion -> opcion.startsWith("--")).forEach(comando::add);
+        return comando;
+    }
+
+    private static Medicion arrancar(HttpClient http, CuentasStubServer cuentas, String nombre,
+                                     List<String> lanzador) throws Exception {
+        int puerto = puertoLibre();
+        List<String> comando = new ArrayList<>(lanzador);
+        comando.addAll(List.of(
+                "--server.port=" + puerto,
+                "--spring.datasource.url=jdbc:h2:file:" + DIRECTORIO.toAbsolutePath().resolve("bd/socios")
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--cuentas.service.url=" + cuentas.url(),
+                "--management.endpoint.health.probes.enabled=true"));
+
+        Path log = DIRECTORIO.resolve("arranque-" + nombre + ".log");
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando)
+                .directory(DIRECTORIO.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            HttpRequest listo = HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + puerto + "/actuator/health/readiness")).build();
+            while (true) {
+                try {
+                    if (http.send(listo, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // Todavía no escucha
+                }
+                if (!proceso.isAlive() || System.nanoTime() - inicio > MAXIMO.toNanos()) {
+                    throw new IllegalStateException("La aplicación no quedó lista; ver " + log);
+                }
+                Thread.sleep(10);
+            }
+            long milisegundos = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            return new Medicion(milisegundos, rssKb(proceso.pid()));
+        } finally {
+            proceso.destroy();
+            if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static String jarH2() {
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entrada -> Path.of(entrada).getFileName().toString().startsWith("h2-"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("H2 no está en el classpath de pruebas"));
+    }
+
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * VmRSS de /proc (solo Linux); -1 en otros sistemas.
+     */
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(linea -> linea.startsWith("VmRSS:"))
+                .mapToLong(linea -> Long.parseLong(linea.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(-1);
+    }
+
+    private static long mediana(long[] ordenados) {
+        return ordenados.length == 0 ? 0 : ordenados[(ordenados.length - 1) / 2];
+    }
+
+    private record Medicion(long milisegundos, long rssKb) {
+    }
+}
@@ -0,0 +1,127 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.SociosApplication;
+import ec.fin.coacandes.socios.cache.IndiceBusquedaSocios;
+import ec.fin.coacandes.socios.dto.ResultadoBusquedaDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.CargadorSocios;
+import ec.fin.coacandes.socios.service.SocioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de socios con el índice en memoria sobre una tabla de un millón de socios, incluida la
+ * carga de la página (20 socios) desde la BD. Los nombres se generan con tildes a partir de listas
+ * de nombres y apellidos frecuentes, así que "perez" coincide con decenas de miles de socios.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class BusquedaSociosBenchmark {
+
+    private static final String[] NOMBRES = {"María", "José", "Juan", "Ana", "Luis", "Carmen", "Jorge", "Rosa",
+            "Carlos", "Lucía", "Andrés", "Sofía", "Diego", "Valentina", "Ángel", "Martín", "Belén", "Iván",
+            "Mónica", "Raúl"};
+    private static final String[] APELLIDOS = {"Pérez", "González", "Rodríguez", "Sánchez", "Ramírez", "Torres",
+            "Flores", "Díaz", "Vásquez", "Castillo", "Jiménez", "Morales", "Guamán", "Chávez", "Quishpe",
+            "Ortiz", "Muñoz", "Núñez", "Andrade", "Cevallos"};
+
+    @Param({"1000000"})
+    private int sociosPrecargados;
+
+    private ConfigurableApplicationContext context;
+    private SocioService socioService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SociosApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:busqueda;MODE=PostgreSQL;"
+                                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--socios.bloom.habilitado=false");
+        socioService = context.getBean(SocioService.class);
+        precargar(context.getBean(CargadorSocios.class));
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long antes = runtime.totalMemory() - runtime.freeMemory();
+        long inicio = System.nanoTime();
+        context.getBean(IndiceBusquedaSocios.class).reconstruir();
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        System.gc();
+        long despues = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%nÍndice: %d socios en %d ms, ~%d bytes por socio%n", sociosPrecargados, milisegundos,
+                (despues - antes) / sociosPrecargados);
+    }
+
+    private void precargar(CargadorSocios cargador) {
+        Random aleatorio = new Random(42);
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Socio> lote = new ArrayList<>();
+        for (int i = 0; i < sociosPrecargados; i++) {
+            String nombre = NOMBRES[aleatorio.nextInt(NOMBRES.length)];
+            String apellido = APELLIDOS[aleatorio.nextInt(APELLIDOS.length)];
+            Socio socio = new Socio();
+            socio.setId(UUID.randomUUID());
+            socio.setIdentificacion(String.valueOf(5_000_000_000L + i));
+            socio.setNombres(nombre + " " + NOMBRES[aleatorio.nextInt(NOMBRES.length)]);
+            socio.setApellidos(apellido + " " + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)]);
+            socio.setEmail(nombre.toLowerCase() + "." + apellido.toLowerCase() + i + "@correo.ec");
+            socio.setTipoIdentificacion("CEDULA");
+            socio.setActivo(true);
+            socio.setFechaCreacion(ahora);
+            socio.setFechaActualizacion(ahora);
+            lote.add(socio);
+            if (lote.size() == 5000) {
+                cargador.cargar(lote);
+                lote.clear();
+            }
+        }
+        cargador.cargar(lote);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResultadoBusquedaDTO apellidoFrecuente() {
+        return socioService.buscarSocios("perez", 0, 20);
+    }
+
+    @Benchmark
+    public ResultadoBusquedaDTO nombreYApellidoPorPrefijo() {
+        return socioService.buscarSocios("mar gonz", 0, 20);
+    }
+
+    @Benchmark
+    public ResultadoBusquedaDTO conErrorDeTipeo() {
+        return socioService.buscarSocios("Quispe Nunes", 0, 20);
+    }
+
+    @Benchmark
+    public ResultadoBusquedaDTO paginaProfunda() {
+        return socioService.buscarSocios("ana torres", 50, 20);
+    }
+}
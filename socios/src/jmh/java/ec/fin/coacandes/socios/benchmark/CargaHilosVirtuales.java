@@ -0,0 +1,189 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.SociosApplication;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.CargadorSocios;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga de DELETE /api/socios/{id} (la operación que consulta al servicio de cuentas)
+ * contra un stub de cuentas con demora, arrancando el servicio con hilos de plataforma y luego con
+ * hilos virtuales. Reporta throughput y percentiles de latencia de cada modo.
+ *
+ * <pre>
+ * mvn -Pbenchmark -DskipTests test-compile exec:exec@carga -Dcarga.clientes=400 -Dcarga.demora=200
+ * </pre>
+ *
+ * El pool del cliente HTTP y el bulkhead de cuentas se dimensionan igual al número de clientes: con
+ * los valores por defecto serían el límite en ambos modos. El pool de Hikari queda por defecto porque
+ * la eliminación no retiene la conexión durante la llamada remota.
+ */
+public final class CargaHilosVirtuales {
+
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 400);
+    private static final Duration DEMORA_CUENTAS = Duration.ofMillis(Long.getLong("carga.demora", 200));
+    private static final Duration CALENTAMIENTO = Duration.ofSeconds(Long.getLong("carga.calentamiento", 5));
+    private static final Duration MEDICION = Duration.ofSeconds(Long.getLong("carga.duracion", 15));
+    private static final int HILOS_TOMCAT = Integer.getInteger("carga.hilosTomcat", 200);
+
+    private CargaHilosVirtuales() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // DevTools reiniciaría la aplicación en otro hilo al arrancarla desde este main
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.out.printf("Clientes concurrentes: %d, demora de cuentas: %d ms, hilos Tomcat (plataforma): %d%n",
+                CLIENTES, DEMORA_CUENTAS.toMillis(), HILOS_TOMCAT);
+
+        List<Resultado> resultados = new ArrayList<>();
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar().conDemora(DEMORA_CUENTAS)) {
+            resultados.add(ejecutar("plataforma", false, cuentas));
+            resultados.add(ejecutar("virtuales", true, cuentas));
+        }
+
+        System.out.println();
+        System.out.println("| Modo | Solicitudes | Errores | Solicitudes/s | p50 (ms) | p99 (ms) | Máx (ms) |");
+        System.out.println("|------|-------------|---------|---------------|----------|----------|----------|");
+        resultados.forEach(r -> System.out.printf("| %s | %d | %d | %.1f | %.1f | %.1f | %.1f |%n",
+                r.modo(), r.solicitudes(), r.errores(), r.porSegundo(), r.p50(), r.p99(), r.maximo()));
+        System.exit(0);
+    }
+
+    private static Resultado ejecutar(String modo, boolean hilosVirtuales, CuentasStubServer cuentas)
+            throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SociosApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + hilosVirtuales,
+                "--server.tomcat.threads.max=" + HILOS_TOMCAT,
+                "--spring.datasource.url=jdbc:h2:mem:carga-" + modo + ";MODE=PostgreSQL;"
+                        + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--cuentas.service.url=" + cuentas.url(),
+                "--cuentas.http.pool.maximo-total=" + CLIENTES,
+                "--cuentas.http.pool.maximo-por-ruta=" + CLIENTES,
+                "--cuentas.http.timeout.respuesta=" + (DEMORA_CUENTAS.toMillis() + 5000) + "ms",
+                "--cuentas.http.timeout.espera-pool=1m",
+                "--cuentas.resiliencia.maximo-concurrente=" + CLIENTES);
+        try {
+            String base = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/socios/";
+
+            // Cota superior de eliminaciones posibles: cada cliente completa a lo sumo una por demora
+            long maximo = CLIENTES * (CALENTAMIENTO.plus(MEDICION).toMillis() / DEMORA_CUENTAS.toMillis() + 1);
+            ConcurrentLinkedQueue<UUID> ids = precargar(context.getBean(CargadorSocios.class), maximo);
+
+            fase(modo, base, ids, CALENTAMIENTO);
+            return fase(modo, base, ids, MEDICION);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ConcurrentLinkedQueue<UUID> precargar(CargadorSocios cargador, long cantidad) {
+        ConcurrentLinkedQueue<UUID> ids = new ConcurrentLinkedQueue<>();
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Socio> lote = new ArrayList<>();
+        for (long i = 0; i < cantidad; i++) {
+            Socio socio = new Socio();
+            socio.setId(UUID.randomUUID());
+            socio.setIdentificacion(String.valueOf(5_000_000_000L + i));
+            socio.setNombres("Carga");
+            socio.setApellidos("Prueba " + i);
+            socio.setTipoIdentificacion("CEDULA");
+            socio.setActivo(true);
+            socio.setFechaCreacion(ahora);
+            socio.setFechaActualizacion(ahora);
+            lote.add(socio);
+            ids.add(socio.getId());
+            if (lote.size() == 5000) {
+                cargador.cargar(lote);
+                lote.clear();
+            }
+        }
+        cargador.cargar(lote);
+        return ids;
+    }
+
+    private static Resultado fase(String modo, String base, ConcurrentLinkedQueue<UUID> ids, Duration duracion)
+            throws InterruptedException {
+        AtomicLong errores = new AtomicLong();
+        List<long[]> latenciasPorCliente = new ArrayList<>();
+        long inicio = System.nanoTime();
+        long limite = inicio + duracion.toNanos();
+
+        try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                long[] latencias = new long[(int) (duracion.toMillis() / DEMORA_CUENTAS.toMillis() + 2) * 4];
+                latenciasPorCliente.add(latencias);
+                clientes.submit(() -> {
+                    int n = 0;
+                    UUID id;
+                    while (System.nanoTime() < limite && (id = ids.poll()) != null) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> respuesta = http.send(
+                                    HttpRequest.newBuilder(URI.create(base + id)).DELETE().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (respuesta.statusCode() != 204) {
+                                errores.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errores.incrementAndGet();
+                        }
+                        if (n < latencias.length) {
+                            latencias[n++] = System.nanoTime() - t0;
+                        }
+                    }
+                    return null;
+                });
+            }
+            clientes.shutdown();
+            clientes.awaitTermination(duracion.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long[] todas = latenciasPorCliente.stream()
+                .flatMapToLong(l -> Arrays.stream(l).filter(v -> v > 0))
+                .sorted()
+                .toArray();
+        return new Resultado(modo, todas.length, errores.get(), todas.length / segundos,
+                percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 1.0));
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    private record Resultado(String modo, long solicitudes, long errores, double porSegundo,
+                             double p50, double p99, double maximo) {
+    }
+}
@@ -0,0 +1,220 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.SociosApplication;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.CargadorSocios;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga a tasa fija (carga abierta) con la configuración de logs anterior (show-sql y
+ * format_sql, consola síncrona, dos INFO por validación de cuentas) y con la actual (consola
+ * asíncrona, SQL solo en el perfil dev, logs por solicitud limitados). Nueve de cada diez solicitudes
+ * piden la primera página del listado (una consulta) y la décima elimina un socio (tres sentencias y
+ * la validación de cuentas). La latencia se mide desde el instante en que debía salir cada solicitud,
+ * así una pausa del servidor no se esconde detrás de solicitudes que el cliente dejó de enviar.
+ *
+ * <pre>
+ * mvn -Pbenchmark -DskipTests test-compile exec:exec@carga-logs -Dcarga.tasa=1000 -Dcarga.duracion=15
+ * </pre>
+ *
+ * Los logs del servicio salen por la salida estándar como en producción; la tabla de resultados se
+ * escribe en la salida de error.
+ */
+public final class CargaLogs {
+
+    private static final int TASA = Integer.getInteger("carga.tasa", 1000);
+    private static final Duration CALENTAMIENTO = Duration.ofSeconds(Long.getLong("carga.calentamiento", 10));
+    private static final Duration MEDICION = Duration.ofSeconds(Long.getLong("carga.duracion", 15));
+    private static final int CADA_ELIMINACION = 10;
+
+    private CargaLogs() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // DevTools reiniciaría la aplicación en otro hilo al arrancarla desde este main
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String modo = System.getProperty("carga.modo");
+        if (modo == null) {
+            compararModos();
+            return;
+        }
+
+        Resultado resultado;
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar()) {
+            resultado = modo.equals("sincrono")
+                    ? ejecutar("síncrono + SQL", cuentas,
+                            "--spring.profiles.active=log-sincrono",
+                            "--spring.jpa.show-sql=true",
+                            "--spring.jpa.properties.hibernate.format_sql=true",
+                            "--socios.logs.por-segundo=1000000")
+                    : ejecutar("asíncrono", cuentas);
+        }
+        System.err.printf("| %s | %.1f | %d | %.2f | %.2f | %.2f | %.2f |%n", resultado.modo(),
+                resultado.porSegundo(), resultado.errores(), resultado.p50(), resultado.p99(),
+                resultado.p999(), resultado.maximo());
+        System.exit(0);
+    }
+
+    /**
+     * Cada modo corre en su propia JVM: en la misma, el que va primero paga la compilación JIT
+     * y sale peor aunque haya calentamiento.
+     */
+    private static void compararModos() throws Exception {
+        System.err.printf("Tasa objetivo: %d solicitudes/s durante %d s%n", TASA, MEDICION.toSeconds());
+        System.err.println("| Logs | Solicitudes/s | Errores | p50 (ms) | p99 (ms) | p99.9 (ms) | Máx (ms) |");
+        System.err.println("|------|---------------|---------|----------|----------|------------|----------|");
+        for (String modo : List.of("sincrono", "asincrono")) {
+            Process proceso = new ProcessBuilder(
+                    ProcessHandle.current().info().command().orElse("java"),
+                    "-Dcarga.modo=" + modo,
+                    "-Dcarga.tasa=" + TASA,
+                    "-Dcarga.calentamiento=" + CALENTAMIENTO.toSeconds(),
+                    "-Dcarga.duracion=" + MEDICION.toSeconds(),
+                    "-cp", System.getProperty("java.class.path"),
+                    CargaLogs.class.getName())
+                    .inheritIO()
+                    .start();
+            if (proceso.waitFor() != 0) {
+                throw new IllegalStateException("La carga en modo " + modo + " terminó con " + proceso.exitValue());
+            }
+        }
+    }
+
+    private static Resultado ejecutar(String modo, CuentasStubServer cuentas, String... argumentosLogs)
+            throws Exception {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=true",
+                "--spring.datasource.url=jdbc:h2:mem:carga-logs-" + modo.hashCode() + ";MODE=PostgreSQL;"
+                        + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--socios.busqueda.indice-memoria=false",
+                "--cuentas.service.url=" + cuentas.url(),
+                "--cuentas.http.pool.maximo-total=400",
+                "--cuentas.http.pool.maximo-por-ruta=400",
+                "--cuentas.resiliencia.maximo-concurrente=400",
+                // Se mide la latencia, no el circuito: no se abre por llamadas lentas durante el calentamiento
+                "--cuentas.resiliencia.llamada-lenta=1m"));
+        argumentos.addAll(List.of(argumentosLogs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SociosApplication.class)
+                .run(argumentos.toArray(String[]::new));
+        try {
+            String base = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/socios";
+            int calentamiento = (int) (TASA * CALENTAMIENTO.toSeconds());
+            int medicion = (int) (TASA * MEDICION.toSeconds());
+            UUID[] ids = precargar(context.getBean(CargadorSocios.class),
+                    (calentamiento + medicion) / CADA_ELIMINACION + 2);
+
+            try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+                int eliminacionesCalentamiento = calentamiento / CADA_ELIMINACION + 1;
+                fase(modo, http, base, calentamiento, Arrays.copyOfRange(ids, 0, eliminacionesCalentamiento));
+                return fase(modo, http, base, medicion, Arrays.copyOfRange(ids, eliminacionesCalentamiento, ids.length));
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static UUID[] precargar(CargadorSocios cargador, int cantidad) {
+        UUID[] ids = new UUID[cantidad];
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Socio> lote = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Socio socio = new Socio();
+            socio.setId(UUID.randomUUID());
+            socio.setIdentificacion(String.valueOf(5_000_000_000L + i));
+            socio.setNombres("Carga");
+            socio.setApellidos("Logs " + i);
+            socio.setTipoIdentificacion("CEDULA");
+            socio.setActivo(true);
+            socio.setFechaCreacion(ahora);
+            socio.setFechaActualizacion(ahora);
+            lote.add(socio);
+            ids[i] = socio.getId();
+            if (lote.size() == 5000) {
+                cargador.cargar(lote);
+                lote.clear();
+            }
+        }
+        cargador.cargar(lote);
+        return ids;
+    }
+
+    private static Resultado fase(String modo, HttpClient http, String base, int solicitudes, UUID[] ids)
+            throws InterruptedException {
+        AtomicLong errores = new AtomicLong();
+        long[] latencias = new long[solicitudes];
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / TASA;
+        long inicio = System.nanoTime();
+
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < solicitudes; i++) {
+                long programado = inicio + i * intervalo;
+                long espera = programado - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                int indice = i;
+                boolean eliminacion = i % CADA_ELIMINACION == 0;
+                HttpRequest solicitud = eliminacion
+                        ? HttpRequest.newBuilder(URI.create(base + "/" + ids[i / CADA_ELIMINACION])).DELETE().build()
+                        : HttpRequest.newBuilder(URI.create(base + "?tamano=20")).build();
+                clientes.submit(() -> {
+                    try {
+                        HttpResponse<Void> respuesta = http.send(solicitud, HttpResponse.BodyHandlers.discarding());
+                        if (respuesta.statusCode() != (eliminacion ? 204 : 200)) {
+                            errores.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errores.incrementAndGet();
+                    }
+                    latencias[indice] = System.nanoTime() - programado;
+                });
+            }
+            clientes.shutdown();
+            clientes.awaitTermination(2, TimeUnit.MINUTES);
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long[] ordenadas = latencias.clone();
+        Arrays.sort(ordenadas);
+        return new Resultado(modo, solicitudes / segundos, errores.get(),
+                percentil(ordenadas, 0.50), percentil(ordenadas, 0.99), percentil(ordenadas, 0.999),
+                percentil(ordenadas, 1.0));
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    private record Resultado(String modo, double porSegundo, long errores,
+                             double p50, double p99, double p999, double maximo) {
+    }
+}
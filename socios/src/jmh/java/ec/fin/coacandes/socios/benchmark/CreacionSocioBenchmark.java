@@ -0,0 +1,98 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.SociosApplication;
+import ec.fin.coacandes.socios.cache.FiltrosUnicidadSocios;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.CargadorSocios;
+import ec.fin.coacandes.socios.service.SocioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creación de socios nuevos sobre una tabla precargada, con y sin los filtros de Bloom de unicidad.
+ * Sin filtro cada creación consulta la BD por identificación y por email antes de insertar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreacionSocioBenchmark {
+
+    @Param({"100000"})
+    private int sociosPrecargados;
+
+    @Param({"true", "false"})
+    private boolean filtroBloom;
+
+    private final AtomicLong secuencia = new AtomicLong(1_000_000_000L);
+
+    private ConfigurableApplicationContext context;
+    private SocioService socioService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SociosApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:creacion;MODE=PostgreSQL;"
+                                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--socios.bloom.habilitado=" + filtroBloom);
+        socioService = context.getBean(SocioService.class);
+
+        precargar(context.getBean(CargadorSocios.class));
+        // Al arrancar la tabla estaba vacía
+        context.getBean(FiltrosUnicidadSocios.class).reconstruir();
+    }
+
+    private void precargar(CargadorSocios cargador) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Socio> lote = new ArrayList<>();
+        for (int i = 0; i < sociosPrecargados; i++) {
+            Socio socio = new Socio();
+            socio.setId(UUID.randomUUID());
+            socio.setIdentificacion(String.valueOf(5_000_000_000L + i));
+            socio.setNombres("Precarga");
+            socio.setApellidos("Prueba " + i);
+            socio.setEmail("precarga" + i + "@email.com");
+            socio.setTipoIdentificacion("CEDULA");
+            socio.setActivo(true);
+            socio.setFechaCreacion(ahora);
+            socio.setFechaActualizacion(ahora);
+            lote.add(socio);
+            if (lote.size() == 5000) {
+                cargador.cargar(lote);
+                lote.clear();
+            }
+        }
+        cargador.cargar(lote);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SocioResponseDTO crearSocio() {
+        return socioService.crearSocio(Datos.request(String.valueOf(secuencia.incrementAndGet())));
+    }
+}
@@ -0,0 +1,44 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Datos de prueba compartidos por los benchmarks.
+ */
+final class Datos {
+
+    private Datos() {
+    }
+
+    static SocioRequestDTO request(String identificacion) {
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion(identificacion);
+        request.setNombres("Juan Carlos");
+        request.setApellidos("Pérez González");
+        request.setEmail("juan.perez." + identificacion + "@email.com");
+        request.setTelefono("0987654321");
+        request.setDireccion("Av. Principal 123");
+        request.setTipoIdentificacion("CEDULA");
+        return request;
+    }
+
+    static SocioResponseDTO response(int indice) {
+        SocioResponseDTO response = new SocioResponseDTO();
+        response.setId(UUID.randomUUID());
+        response.setIdentificacion(String.format("17%08d", indice));
+        response.setNombres("Juan Carlos");
+        response.setApellidos("Pérez González");
+        response.setEmail("socio" + indice + "@email.com");
+        response.setTelefono("0987654321");
+        response.setDireccion("Av. Principal 123");
+        response.setTipoIdentificacion("CEDULA");
+        response.setActivo(true);
+        response.setFechaCreacion(LocalDateTime.now());
+        response.setFechaActualizacion(LocalDateTime.now());
+        return response;
+    }
+}
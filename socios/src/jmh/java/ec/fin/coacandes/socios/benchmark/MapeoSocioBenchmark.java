@@ -0,0 +1,64 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.mapper.SocioMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por llamada de SocioMapperImpl frente a ModelMapper.
+ * Con el perfil gc, la métrica gc.alloc.rate.norm da los bytes asignados por operación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoSocioBenchmark {
+
+    private ModelMapper modelMapper;
+    private SocioMapper socioMapper;
+    private SocioRequestDTO request;
+    private Socio socio;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        socioMapper = new SocioMapperImpl();
+
+        request = Datos.request("1712345678");
+
+        socio = socioMapper.aEntidad(request);
+        socio.setId(UUID.randomUUID());
+        socio.setFechaCreacion(LocalDateTime.now());
+        socio.setFechaActualizacion(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public SocioResponseDTO aResponse_modelMapper() {
+        return modelMapper.map(socio, SocioResponseDTO.class);
+    }
+
+    @Benchmark
+    public SocioResponseDTO aResponse_socioMapper() {
+        return socioMapper.aResponse(socio);
+    }
+
+    @Benchmark
+    public Socio aEntidad_modelMapper() {
+        return modelMapper.map(request, Socio.class);
+    }
+
+    @Benchmark
+    public Socio aEntidad_socioMapper() {
+        return socioMapper.aEntidad(request);
+    }
+}
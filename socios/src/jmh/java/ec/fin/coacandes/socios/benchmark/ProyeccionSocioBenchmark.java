@@ -0,0 +1,151 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.SociosApplication;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.repository.CargadorSocios;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas por id, por identificación y por página cargando entidades y mapeándolas frente a la
+ * proyección directa a SocioResponseDTO, todas en una transacción de solo lectura como las del servicio.
+ * Se consulta el repositorio sin pasar por la caché de socios. Con el perfil gc de JMH,
+ * gc.alloc.rate.norm da los bytes asignados por solicitud; el tamaño de página solo afecta a las
+ * lecturas de página.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProyeccionSocioBenchmark {
+
+    private static final String POR_ID_PROYECCION = SocioRepository.SELECT_RESPONSE + "where s.id = :id";
+    private static final String PAGINA_ENTIDADES = "select s from Socio s order by s.fechaCreacion asc, s.id asc";
+
+    @Param({"50", "500"})
+    private int tamanoPagina;
+
+    private ConfigurableApplicationContext context;
+    private SocioRepository socioRepository;
+    private SocioMapper socioMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate soloLectura;
+    private List<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SociosApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:proyeccion;MODE=PostgreSQL;"
+                                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        socioRepository = context.getBean(SocioRepository.class);
+        socioMapper = context.getBean(SocioMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        soloLectura = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        soloLectura.setReadOnly(true);
+        ids = precargar(context.getBean(CargadorSocios.class), 10_000);
+    }
+
+    private List<UUID> precargar(CargadorSocios cargador, int cantidad) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Socio> socios = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Socio socio = new Socio();
+            socio.setId(UUID.randomUUID());
+            socio.setIdentificacion(String.valueOf(5_000_000_000L + i));
+            socio.setNombres("Proyección " + i);
+            socio.setApellidos("Prueba Benchmark");
+            socio.setEmail("proyeccion" + i + "@correo.ec");
+            socio.setTelefono("0991234567");
+            socio.setDireccion("Av. Amazonas N" + i + " y Naciones Unidas");
+            socio.setTipoIdentificacion("CEDULA");
+            socio.setActivo(true);
+            socio.setFechaCreacion(ahora.plusNanos(i * 1000L));
+            socio.setFechaActualizacion(ahora);
+            socios.add(socio);
+        }
+        cargador.cargar(socios);
+        return socios.stream().map(Socio::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private UUID idAleatorio() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private String identificacionAleatoria() {
+        return String.valueOf(5_000_000_000L + ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @Benchmark
+    public SocioResponseDTO porIdEntidad() {
+        UUID id = idAleatorio();
+        return soloLectura.execute(estado -> socioRepository.findById(id).map(socioMapper::aResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public SocioResponseDTO porIdProyeccion() {
+        UUID id = idAleatorio();
+        return soloLectura.execute(estado -> entityManager
+                .createQuery(POR_ID_PROYECCION, SocioResponseDTO.class)
+                .setParameter("id", id)
+                .getSingleResult());
+    }
+
+    @Benchmark
+    public SocioResponseDTO porIdentificacionEntidad() {
+        String identificacion = identificacionAleatoria();
+        return soloLectura.execute(estado -> socioRepository.findByIdentificacion(identificacion)
+                .map(socioMapper::aResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public SocioResponseDTO porIdentificacionProyeccion() {
+        String identificacion = identificacionAleatoria();
+        return soloLectura.execute(estado -> socioRepository.findResponseByIdentificacion(identificacion).orElseThrow());
+    }
+
+    @Benchmark
+    public List<SocioResponseDTO> paginaEntidad() {
+        return soloLectura.execute(estado -> entityManager.createQuery(PAGINA_ENTIDADES, Socio.class)
+                .setMaxResults(tamanoPagina + 1)
+                .getResultStream()
+                .map(socioMapper::aResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<SocioResponseDTO> paginaProyeccion() {
+        return soloLectura.execute(estado -> socioRepository.findPrimeraPagina(Limit.of(tamanoPagina + 1)));
+    }
+}
@@ -0,0 +1,42 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson de listas de SocioResponseDTO, como en el listado paginado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionSocioBenchmark {
+
+    @Param({"50", "500"})
+    private int tamano;
+
+    private ObjectWriter writer;
+    private List<SocioResponseDTO> socios;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder().build().writerFor(List.class);
+        socios = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            socios.add(Datos.response(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() {
+        return writer.writeValueAsBytes(socios);
+    }
+}
@@ -0,0 +1,101 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.SociosApplication;
+import ec.fin.coacandes.socios.dto.PaginaSociosDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.service.SocioService;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Operaciones CRUD de SocioServiceImpl con el contexto Spring completo sobre H2 en modo PostgreSQL.
+ * La validación de cuentas activas de la eliminación responde un stub HTTP local sin demora.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SocioServiceBenchmark {
+
+    private static final int SOCIOS_PRECARGADOS = 1000;
+
+    private final AtomicLong secuencia = new AtomicLong(1_000_000_000L);
+
+    private CuentasStubServer cuentas;
+    private ConfigurableApplicationContext context;
+    private SocioService socioService;
+    private SocioResponseDTO existente;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cuentas = CuentasStubServer.iniciar();
+        // Como argumentos de línea de comandos para que prevalezcan sobre application.properties
+        context = new SpringApplicationBuilder(SociosApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;"
+                                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--cuentas.service.url=" + cuentas.url());
+        socioService = context.getBean(SocioService.class);
+
+        for (int i = 0; i < SOCIOS_PRECARGADOS; i++) {
+            existente = socioService.crearSocio(Datos.request(siguienteIdentificacion()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        cuentas.close();
+    }
+
+    private String siguienteIdentificacion() {
+        return String.valueOf(secuencia.incrementAndGet());
+    }
+
+    @Benchmark
+    public SocioResponseDTO obtenerSocioPorId() {
+        return socioService.obtenerSocioPorId(existente.getId());
+    }
+
+    @Benchmark
+    public SocioResponseDTO obtenerSocioPorIdentificacion() {
+        return socioService.obtenerSocioPorIdentificacion(existente.getIdentificacion());
+    }
+
+    @Benchmark
+    public PaginaSociosDTO obtenerPaginaSocios() {
+        return socioService.obtenerPaginaSocios(null, 50);
+    }
+
+    @Benchmark
+    public SocioResponseDTO actualizarSocio() {
+        return socioService.actualizarSocio(existente.getId(), Datos.request(existente.getIdentificacion()));
+    }
+
+    /**
+     * Crear y eliminar en la misma operación mantiene estable el tamaño de la tabla.
+     */
+    @Benchmark
+    public UUID crearYEliminarSocio() {
+        UUID id = socioService.crearSocio(Datos.request(siguienteIdentificacion())).getId();
+        socioService.eliminarSocio(id);
+        return id;
+    }
+}
@@ -0,0 +1,56 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la validación Bean Validation de SocioRequestDTO (la que aplica @Valid en el controlador).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidacionSocioBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private SocioRequestDTO requestValido;
+    private SocioRequestDTO requestInvalido;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        requestValido = Datos.request("1712345678");
+
+        requestInvalido = Datos.request("17A");
+        requestInvalido.setNombres(" ");
+        requestInvalido.setEmail("no-es-email");
+        requestInvalido.setTelefono("12");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SocioRequestDTO>> validar_requestValido() {
+        return validator.validate(requestValido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SocioRequestDTO>> validar_requestInvalido() {
+        return validator.validate(requestInvalido);
+    }
+}
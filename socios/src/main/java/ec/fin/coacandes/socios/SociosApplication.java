@@ -1,12 +1,13 @@
 package ec.fin.coacandes.socios;
 
-import org.modelmapper.ModelMapper;
+import ec.fin.coacandes.socios.config.SociosRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
-import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(SociosRuntimeHints.class)
 public class SociosApplication {
 
     private static ConfigurableApplicationContext context;
@@ -21,9 +22,4 @@ public class SociosApplication {
             context = null;
         }
     }
-
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
 }
@@ -0,0 +1,62 @@
+package ec.fin.coacandes.socios.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import ec.fin.coacandes.socios.dto.EstadisticasCacheDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Caché corta del resultado de la validación de cuentas activas por socio. El servicio de cuentas
+ * invalida la entrada al abrir o cerrar una cuenta; el TTL acota la ventana si esa notificación
+ * se pierde.
+ */
+@Component
+public class CuentasActivasCache {
+
+    private final Cache<String, Boolean> porSocio;
+
+    // Cambia con cada invalidación: un resultado consultado antes de ella no se guarda
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    public CuentasActivasCache(@Value("${cuentas.cache.tamano-maximo:10000}") long tamanoMaximo,
+                               @Value("${cuentas.cache.ttl:30s}") Duration ttl) {
+        this.porSocio = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Devuelve el resultado en caché o lo consulta con el cargador. La consulta remota se hace
+     * fuera de Caffeine para no bloquear otras claves ni la invalidación mientras dura.
+     */
+    public boolean obtener(String socioId, Predicate<String> cargador) {
+        Boolean enCache = porSocio.getIfPresent(socioId);
+        if (enCache != null) {
+            return enCache;
+        }
+        long generacion = invalidaciones.get();
+        boolean cargado = cargador.test(socioId);
+        porSocio.asMap().compute(socioId,
+                (clave, actual) -> invalidaciones.get() == generacion ? Boolean.valueOf(cargado) : actual);
+        return cargado;
+    }
+
+    public void invalidar(String socioId) {
+        invalidaciones.incrementAndGet();
+        porSocio.invalidate(socioId);
+    }
+
+    public EstadisticasCacheDTO estadisticas() {
+        CacheStats stats = porSocio.stats();
+        return new EstadisticasCacheDTO(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                porSocio.estimatedSize());
+    }
+}
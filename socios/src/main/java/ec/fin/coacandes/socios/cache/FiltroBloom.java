@@ -0,0 +1,93 @@
+package ec.fin.coacandes.socios.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas, seguro para uso concurrente. {@link #puedeContener} nunca da falso
+ * negativo para un valor agregado; los falsos positivos se mantienen cerca de la probabilidad
+ * configurada mientras no se supere la capacidad.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long numeroBits;
+    private final int numeroHashes;
+    private final AtomicLong agregados = new AtomicLong();
+
+    public FiltroBloom(long capacidad, double probabilidadFalsoPositivo) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor a cero");
+        }
+        if (probabilidadFalsoPositivo <= 0 || probabilidadFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("La probabilidad de falso positivo debe estar entre 0 y 1");
+        }
+        // m = -n ln p / (ln 2)^2, redondeado a palabras de 64 bits; k = m/n ln 2
+        double bitsOptimos = -capacidad * Math.log(probabilidadFalsoPositivo) / (Math.log(2) * Math.log(2));
+        int palabras = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (long) Math.ceil(bitsOptimos / 64)));
+        this.bits = new AtomicLongArray(palabras);
+        this.numeroBits = (long) palabras * 64;
+        this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / capacidad * Math.log(2)));
+    }
+
+    public void agregar(String valor) {
+        long hash = hash(valor);
+        long h1 = hash >>> 32;
+        long h2 = (hash & 0xFFFFFFFFL) | 1;
+        for (int i = 0; i < numeroHashes; i++) {
+            long indice = Math.floorMod(h1 + i * h2, numeroBits);
+            long mascara = 1L << indice;
+            bits.accumulateAndGet((int) (indice >>> 6), mascara, (actual, bit) -> actual | bit);
+        }
+        agregados.incrementAndGet();
+    }
+
+    public boolean puedeContener(String valor) {
+        long hash = hash(valor);
+        long h1 = hash >>> 32;
+        long h2 = (hash & 0xFFFFFFFFL) | 1;
+        for (int i = 0; i < numeroHashes; i++) {
+            long indice = Math.floorMod(h1 + i * h2, numeroBits);
+            if ((bits.get((int) (indice >>> 6)) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Probabilidad teórica de falso positivo con los valores agregados hasta ahora: (1 - e^(-kn/m))^k.
+     */
+    public double probabilidadFalsoPositivo() {
+        return Math.pow(1 - Math.exp(-(double) numeroHashes * agregados.get() / numeroBits), numeroHashes);
+    }
+
+    public long getAgregados() {
+        return agregados.get();
+    }
+
+    long getNumeroBits() {
+        return numeroBits;
+    }
+
+    int getNumeroHashes() {
+        return numeroHashes;
+    }
+
+    // FNV-1a de 64 bits sobre UTF-8 con el mezclado final de SplitMix64; las dos mitades son los
+    // hashes base del doble hashing (Kirsch-Mitzenmacher)
+    private static long hash(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 30;
+        hash *= 0xbf58476d1ce4e5b9L;
+        hash ^= hash >>> 27;
+        hash *= 0x94d049bb133111ebL;
+        hash ^= hash >>> 31;
+        return hash;
+    }
+}
@@ -0,0 +1,227 @@
+package ec.fin.coacandes.socios.cache;
+
+import ec.fin.coacandes.socios.config.EnrutamientoReplica;
+import ec.fin.coacandes.socios.repository.ClavesUnicasSocio;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Filtros de Bloom de identificación y email para las validaciones de unicidad. Si el filtro
+ * descarta el valor no existe ningún socio con él y se omite la consulta; si no, se consulta la BD.
+ * <p>
+ * Los filtros se reconstruyen al arrancar recorriendo la tabla y se actualizan con cada escritura
+ * de esta instancia. Hasta terminar la reconstrucción todo valor se consulta en la BD. Los valores
+ * eliminados siguen dando positivo hasta la siguiente reconstrucción, y una escritura de otra
+ * instancia puede faltar en el filtro: ese caso lo rechaza la restricción única de la tabla.
+ */
+@Component
+@Slf4j
+public class FiltrosUnicidadSocios implements MeterBinder {
+
+    private final SocioRepository socioRepository;
+    private final TransactionTemplate lectura;
+    private final boolean habilitado;
+    private final long capacidad;
+    private final double probabilidadFalsoPositivo;
+
+    private final Columna identificaciones = new Columna("identificacion");
+    private final Columna emails = new Columna("email");
+
+    public FiltrosUnicidadSocios(SocioRepository socioRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${socios.bloom.habilitado:true}") boolean habilitado,
+                                 @Value("${socios.bloom.capacidad:1000000}") long capacidad,
+                                 @Value("${socios.bloom.falsos-positivos:0.01}") double probabilidadFalsoPositivo) {
+        this.socioRepository = socioRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.habilitado = habilitado;
+        this.capacidad = capacidad;
+        this.probabilidadFalsoPositivo = probabilidadFalsoPositivo;
+    }
+
+    /**
+     * Carga los filtros con todos los socios. Las escrituras concurrentes se agregan tanto a los
+     * filtros vigentes como a los nuevos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2) // Después de DataLoaderEventListener
+    public void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        FiltroBloom nuevasIdentificaciones = identificaciones.iniciarConstruccion();
+        FiltroBloom nuevosEmails = emails.iniciarConstruccion();
+        // Desde la primaria: a una réplica atrasada le faltarían los últimos socios
+        EnrutamientoReplica.enPrimaria(() -> lectura.executeWithoutResult(estado -> {
+            try (Stream<ClavesUnicasSocio> claves = socioRepository.streamClavesUnicasBy()) {
+                claves.forEach(clave -> {
+                    nuevasIdentificaciones.agregar(clave.getIdentificacion());
+                    if (clave.getEmail() != null) {
+                        nuevosEmails.agregar(clave.getEmail());
+                    }
+                });
+            }
+        }));
+        identificaciones.terminarConstruccion();
+        emails.terminarConstruccion();
+        log.info("Filtros de unicidad reconstruidos con {} socios en {} ms", nuevasIdentificaciones.getAgregados(),
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public boolean existeIdentificacion(String identificacion, Predicate<String> consultaBd) {
+        return identificaciones.existe(identificacion, consultaBd);
+    }
+
+    public boolean existeEmail(String email, Predicate<String> consultaBd) {
+        return emails.existe(email, consultaBd);
+    }
+
+    /**
+     * Consulta en la BD solo los valores que el filtro no descarta.
+     */
+    public Set<String> identificacionesExistentes(Collection<String> valores,
+                                                  Function<Collection<String>, Set<String>> consultaBd) {
+        return identificaciones.existentes(valores, consultaBd);
+    }
+
+    public Set<String> emailsExistentes(Collection<String> valores,
+                                        Function<Collection<String>, Set<String>> consultaBd) {
+        return emails.existentes(valores, consultaBd);
+    }
+
+    /**
+     * Agrega los valores de un socio creado o actualizado. Se puede llamar antes del commit: si la
+     * transacción se revierte solo queda un falso positivo.
+     */
+    public void registrar(String identificacion, String email) {
+        identificaciones.agregar(identificacion);
+        emails.agregar(email);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        identificaciones.bindTo(registry);
+        emails.bindTo(registry);
+    }
+
+    private final class Columna {
+
+        private final String nombre;
+        private final AtomicLong descartados = new AtomicLong();
+        private final AtomicLong consultados = new AtomicLong();
+        private final AtomicLong falsosPositivos = new AtomicLong();
+        private volatile FiltroBloom vigente;
+        private volatile FiltroBloom enConstruccion;
+
+        private Columna(String nombre) {
+            this.nombre = nombre;
+        }
+
+        FiltroBloom iniciarConstruccion() {
+            enConstruccion = new FiltroBloom(capacidad, probabilidadFalsoPositivo);
+            return enConstruccion;
+        }
+
+        void terminarConstruccion() {
+            vigente = enConstruccion;
+            enConstruccion = null;
+        }
+
+        void agregar(String valor) {
+            if (valor == null) {
+                return;
+            }
+            FiltroBloom filtro = vigente;
+            if (filtro != null) {
+                filtro.agregar(valor);
+            }
+            filtro = enConstruccion;
+            if (filtro != null) {
+                filtro.agregar(valor);
+            }
+        }
+
+        // Sin filtro vigente (deshabilitado o en construcción) todo valor puede existir
+        private boolean descarta(FiltroBloom filtro, String valor) {
+            if (filtro == null) {
+                return false;
+            }
+            if (filtro.puedeContener(valor)) {
+                consultados.incrementAndGet();
+                return false;
+            }
+            descartados.incrementAndGet();
+            return true;
+        }
+
+        boolean existe(String valor, Predicate<String> consultaBd) {
+            FiltroBloom filtro = vigente;
+            if (descarta(filtro, valor)) {
+                return false;
+            }
+            boolean existe = consultaBd.test(valor);
+            if (!existe && filtro != null) {
+                falsosPositivos.incrementAndGet();
+            }
+            return existe;
+        }
+
+        Set<String> existentes(Collection<String> valores, Function<Collection<String>, Set<String>> consultaBd) {
+            FiltroBloom filtro = vigente;
+            Collection<String> candidatos = filtro == null
+                    ? valores : valores.stream().filter(valor -> !descarta(filtro, valor)).toList();
+            if (candidatos.isEmpty()) {
+                return Set.of();
+            }
+            Set<String> existentes = consultaBd.apply(candidatos);
+            if (filtro != null) {
+                falsosPositivos.addAndGet(candidatos.size() - existentes.size());
+            }
+            return existentes;
+        }
+
+        void bindTo(MeterRegistry registry) {
+            FunctionCounter.builder("socios.unicidad.bloom.descartados", descartados, AtomicLong::get)
+                    .description("Validaciones de unicidad resueltas sin consultar la BD")
+                    .tag("columna", nombre)
+                    .register(registry);
+            FunctionCounter.builder("socios.unicidad.bloom.consultados", consultados, AtomicLong::get)
+                    .description("Valores que el filtro no descartó y se consultaron en la BD")
+                    .tag("columna", nombre)
+                    .register(registry);
+            FunctionCounter.builder("socios.unicidad.bloom.falsos.positivos", falsosPositivos, AtomicLong::get)
+                    .description("Valores consultados en la BD que no existían")
+                    .tag("columna", nombre)
+                    .register(registry);
+            Gauge.builder("socios.unicidad.bloom.probabilidad.falso.positivo", this,
+                            columna -> columna.vigente == null ? Double.NaN : columna.vigente.probabilidadFalsoPositivo())
+                    .description("Probabilidad teórica de falso positivo según el llenado del filtro")
+                    .tag("columna", nombre)
+                    .register(registry);
+            Gauge.builder("socios.unicidad.bloom.elementos", this,
+                            columna -> columna.vigente == null ? 0 : columna.vigente.getAgregados())
+                    .tag("columna", nombre)
+                    .register(registry);
+        }
+    }
+}
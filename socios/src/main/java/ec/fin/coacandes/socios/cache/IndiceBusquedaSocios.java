@@ -0,0 +1,602 @@
+package ec.fin.coacandes.socios.cache;
+
+import ec.fin.coacandes.socios.config.EnrutamientoReplica;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.DatosBusquedaSocio;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria de nombres, apellidos y email para la búsqueda de socios activos.
+ * <p>
+ * Los textos se normalizan sin tildes y en minúsculas y se dividen en palabras. Cada término de la
+ * búsqueda es un prefijo de alguna palabra del socio; los términos de 4 o más letras también aceptan
+ * palabras completas a distancia de edición 1 (2 desde 8 letras), que se ordenan después de las
+ * coincidencias por prefijo.
+ * <p>
+ * Se construye al arrancar recorriendo la tabla, como {@link FiltrosUnicidadSocios}, y se actualiza
+ * después del commit de cada escritura de esta instancia. Cada instancia tiene su propio índice: lo
+ * escrito por otras instancias solo aparece al reconstruirlo, lo que se hace en segundo plano cada
+ * {@code socios.busqueda.indice-reconstruccion}. Hasta terminar la primera construcción, o si la
+ * última que terminó es de hace más de dos intervalos, {@link #buscar} devuelve null y la búsqueda se
+ * resuelve en la BD.
+ */
+@Component
+@Slf4j
+public class IndiceBusquedaSocios implements SmartLifecycle {
+
+    public static final int LONGITUD_MINIMA_TERMINO = 2;
+    public static final int MAXIMO_TERMINOS = 5;
+    private static final int LONGITUD_MINIMA_APROXIMADA = 4;
+    // Posiciones libres toleradas antes de compactar los documentos
+    private static final int MINIMO_COMPACTACION = 1024;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    // Letras y dígitos en palabras separadas: "jperez87" da "jperez" y "87", así los números de los
+    // emails no multiplican las palabras distintas que recorre una búsqueda por prefijo
+    private static final Pattern PALABRA = Pattern.compile("\\p{L}+|\\p{N}+");
+
+    private final SocioRepository socioRepository;
+    private final TransactionTemplate lectura;
+    private final boolean habilitado;
+    private final long reconstruccionNanos;
+    private final LongSupplier reloj;
+
+    private volatile Indice vigente;
+    private volatile Indice enConstruccion;
+    // Inicio del recorrido de la tabla del índice vigente: no le falta nada escrito antes
+    private volatile long construidoEn;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public IndiceBusquedaSocios(SocioRepository socioRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${socios.busqueda.indice-memoria:true}") boolean habilitado,
+                                @Value("${socios.busqueda.indice-reconstruccion:5m}") Duration reconstruccion) {
+        this(socioRepository, transactionManager, habilitado, reconstruccion, System::nanoTime);
+    }
+
+    IndiceBusquedaSocios(SocioRepository socioRepository, PlatformTransactionManager transactionManager,
+                         boolean habilitado, Duration reconstruccion, LongSupplier reloj) {
+        this.socioRepository = socioRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.habilitado = habilitado;
+        this.reconstruccionNanos = reconstruccion.toNanos();
+        this.reloj = reloj;
+    }
+
+    /**
+     * Términos de búsqueda normalizados, sin repetir y sin los de menos de
+     * {@value #LONGITUD_MINIMA_TERMINO} caracteres; como máximo {@value #MAXIMO_TERMINOS}.
+     */
+    public static List<String> terminos(String texto) {
+        return palabras(texto).stream()
+                .filter(palabra -> palabra.length() >= LONGITUD_MINIMA_TERMINO)
+                .distinct()
+                .limit(MAXIMO_TERMINOS)
+                .toList();
+    }
+
+    static List<String> palabras(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return PALABRA.matcher(normalizado).results().map(MatchResult::group).toList();
+    }
+
+    /**
+     * Construye un índice nuevo recorriendo la tabla; mientras tanto se sigue buscando en el anterior.
+     * Si el recorrido falla se conserva el anterior hasta el siguiente intento.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(3) // Después de DataLoaderEventListener y FiltrosUnicidadSocios
+    public synchronized void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = reloj.getAsLong();
+        Indice nuevo = new Indice();
+        enConstruccion = nuevo;
+        try {
+            // Desde la primaria: a una réplica atrasada le faltarían los últimos socios
+            EnrutamientoReplica.enPrimaria(() -> lectura.executeWithoutResult(estado -> {
+                try (Stream<DatosBusquedaSocio> datos = socioRepository.streamDatosBusquedaActivos()) {
+                    datos.forEach(dato -> nuevo.cargar(dato.getId(),
+                            documento(dato.getNombres(), dato.getApellidos(), dato.getEmail())));
+                }
+            }));
+        } catch (RuntimeException e) {
+            enConstruccion = null;
+            log.warn("No se pudo reconstruir el índice de búsqueda; se reintenta en {}: {}",
+                    Duration.ofNanos(reconstruccionNanos), e.getMessage());
+            return;
+        }
+        construidoEn = inicio;
+        vigente = nuevo;
+        enConstruccion = null;
+        nuevo.terminarCarga();
+        log.info("Índice de búsqueda reconstruido con {} socios y {} términos en {} ms", nuevo.tamano(),
+                nuevo.terminos(), (reloj.getAsLong() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Página de ids que coinciden con todos los términos: primero por prefijo y luego aproximadas,
+     * cada grupo en orden de indexación.
+     *
+     * @return null si el índice no está disponible o puede estar desactualizado
+     */
+    public Coincidencias buscar(List<String> terminos, int desde, int cantidad) {
+        Indice indice = vigente;
+        // Sin reconstruirse en dos intervalos (p. ej. la BD no respondió) le faltarían demasiados
+        // cambios de otras instancias
+        if (indice == null || reloj.getAsLong() - construidoEn > 2 * reconstruccionNanos) {
+            return null;
+        }
+        return indice.buscar(terminos, desde, cantidad);
+    }
+
+    /**
+     * Indexa los valores actuales del socio cuando la transacción confirma, reemplazando los anteriores.
+     * Un socio inactivo se quita del índice: la búsqueda por defecto solo devuelve socios activos.
+     */
+    public void indexarDespuesDeCommit(Socio socio) {
+        UUID id = socio.getId();
+        if (Boolean.FALSE.equals(socio.getActivo())) {
+            eliminarDespuesDeCommit(List.of(id));
+            return;
+        }
+        String[] documento = documento(socio.getNombres(), socio.getApellidos(), socio.getEmail());
+        despuesDeCommit(() -> aplicar(indice -> indice.indexar(id, documento)));
+    }
+
+    public void eliminarDespuesDeCommit(Collection<UUID> ids) {
+        List<UUID> copia = List.copyOf(ids);
+        despuesDeCommit(() -> aplicar(indice -> copia.forEach(indice::eliminar)));
+    }
+
+    // Se lee primero el índice en construcción: reconstruir() publica el vigente antes de soltarlo,
+    // así el cambio nunca se pierde. Si en ese momento ambos son el mismo índice se aplica dos veces,
+    // lo que no tiene efecto
+    private void aplicar(Consumer<Indice> cambio) {
+        Indice construccion = enConstruccion;
+        Indice indice = vigente;
+        if (construccion != null) {
+            cambio.accept(construccion);
+        }
+        if (indice != null) {
+            cambio.accept(indice);
+        }
+    }
+
+    private static void despuesDeCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!habilitado) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("indice-busqueda-socios").factory());
+        // La primera construcción la hace el ApplicationReadyEvent
+        executor.scheduleWithFixedDelay(this::reconstruir, reconstruccionNanos, reconstruccionNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            // El índice a medio construir se descarta; solo se espera a que suelte la conexión
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private static String[] documento(String nombres, String apellidos, String email) {
+        Set<String> palabras = new LinkedHashSet<>(palabras(nombres));
+        palabras.addAll(palabras(apellidos));
+        palabras.addAll(palabras(email));
+        return palabras.toArray(String[]::new);
+    }
+
+    /**
+     * @param ids   socios de la página pedida, en orden
+     * @param total socios que coinciden en total
+     */
+    public record Coincidencias(List<UUID> ids, int total) {
+    }
+
+    /**
+     * Un lock de lectura/escritura por índice: las búsquedas concurren entre sí y las escrituras,
+     * mucho menos frecuentes, las bloquean unos microsegundos.
+     */
+    private static final class Indice {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Postings> porPalabra = new TreeMap<>();
+        // Solo palabras alfabéticas, para las coincidencias aproximadas: cada una está en tres grupos
+        // (longitud y primera, última y segunda letra); ver similares()
+        private final Map<Grupo, Set<String>> palabrasPorGrupo = new HashMap<>();
+        private final Map<UUID, Integer> documentos = new HashMap<>();
+        private UUID[] ids = new UUID[1024];
+        private String[][] palabrasPorDocumento = new String[1024][];
+        private int siguiente;
+        // Socios escritos mientras se recorre la tabla: el recorrido puede traer valores anteriores
+        private Set<UUID> tocadosDuranteCarga = new HashSet<>();
+
+        void cargar(UUID id, String[] palabras) {
+            lock.writeLock().lock();
+            try {
+                if (!tocadosDuranteCarga.contains(id)) {
+                    reemplazar(id, palabras);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void terminarCarga() {
+            lock.writeLock().lock();
+            try {
+                tocadosDuranteCarga = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void indexar(UUID id, String[] palabras) {
+            lock.writeLock().lock();
+            try {
+                marcarTocado(id);
+                reemplazar(id, palabras);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void eliminar(UUID id) {
+            lock.writeLock().lock();
+            try {
+                marcarTocado(id);
+                Integer documento = documentos.remove(id);
+                if (documento != null) {
+                    quitarPalabras(documento);
+                    ids[documento] = null;
+                    int libres = siguiente - documentos.size();
+                    if (libres > MINIMO_COMPACTACION && libres > documentos.size()) {
+                        compactar();
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void marcarTocado(UUID id) {
+            if (tocadosDuranteCarga != null) {
+                tocadosDuranteCarga.add(id);
+            }
+        }
+
+        private void reemplazar(UUID id, String[] palabras) {
+            Integer existente = documentos.get(id);
+            int documento;
+            if (existente != null) {
+                documento = existente;
+                quitarPalabras(documento);
+            } else {
+                documento = siguiente++;
+                if (documento == ids.length) {
+                    ids = Arrays.copyOf(ids, documento * 2);
+                    palabrasPorDocumento = Arrays.copyOf(palabrasPorDocumento, documento * 2);
+                }
+                ids[documento] = id;
+                documentos.put(id, documento);
+            }
+            palabrasPorDocumento[documento] = palabras;
+            for (String palabra : palabras) {
+                Postings postings = porPalabra.get(palabra);
+                if (postings == null) {
+                    postings = new Postings();
+                    porPalabra.put(palabra, postings);
+                    if (esAlfabetica(palabra)) {
+                        for (Grupo grupo : Grupo.de(palabra)) {
+                            palabrasPorGrupo.computeIfAbsent(grupo, clave -> new HashSet<>()).add(palabra);
+                        }
+                    }
+                }
+                postings.agregar(documento);
+            }
+        }
+
+        private void quitarPalabras(int documento) {
+            for (String palabra : palabrasPorDocumento[documento]) {
+                Postings postings = porPalabra.get(palabra);
+                postings.quitar(documento);
+                if (postings.tamano == 0) {
+                    porPalabra.remove(palabra);
+                    if (esAlfabetica(palabra)) {
+                        for (Grupo grupo : Grupo.de(palabra)) {
+                            Set<String> palabras = palabrasPorGrupo.get(grupo);
+                            palabras.remove(palabra);
+                            if (palabras.isEmpty()) {
+                                palabrasPorGrupo.remove(grupo);
+                            }
+                        }
+                    }
+                }
+            }
+            palabrasPorDocumento[documento] = null;
+        }
+
+        /**
+         * Renumera los documentos sin dejar posiciones libres, conservando su orden. Se hace cuando las
+         * eliminaciones dejan más posiciones libres que socios: el costo se reparte entre ellas.
+         */
+        private void compactar() {
+            int[] nuevaPosicion = new int[siguiente];
+            int capacidad = Math.max(MINIMO_COMPACTACION, documentos.size() * 2);
+            UUID[] nuevosIds = new UUID[capacidad];
+            String[][] nuevasPalabras = new String[capacidad][];
+            int compactados = 0;
+            for (int documento = 0; documento < siguiente; documento++) {
+                if (ids[documento] != null) {
+                    nuevaPosicion[documento] = compactados;
+                    nuevosIds[compactados] = ids[documento];
+                    nuevasPalabras[compactados] = palabrasPorDocumento[documento];
+                    documentos.put(ids[documento], compactados);
+                    compactados++;
+                }
+            }
+            for (Postings postings : porPalabra.values()) {
+                postings.renumerar(nuevaPosicion);
+            }
+            ids = nuevosIds;
+            palabrasPorDocumento = nuevasPalabras;
+            siguiente = compactados;
+        }
+
+        Coincidencias buscar(List<String> terminos, int desde, int cantidad) {
+            lock.readLock().lock();
+            try {
+                BitSet porPrefijo = null;
+                BitSet todos = null;
+                for (String termino : terminos) {
+                    BitSet prefijo = new BitSet(siguiente);
+                    for (Postings postings : porPalabra.subMap(termino, termino + Character.MAX_VALUE).values()) {
+                        postings.marcar(prefijo);
+                    }
+                    BitSet conAproximados = (BitSet) prefijo.clone();
+                    for (String palabra : similares(termino)) {
+                        porPalabra.get(palabra).marcar(conAproximados);
+                    }
+                    if (porPrefijo == null) {
+                        porPrefijo = prefijo;
+                        todos = conAproximados;
+                    } else {
+                        porPrefijo.and(prefijo);
+                        todos.and(conAproximados);
+                    }
+                }
+                if (todos == null) {
+                    return new Coincidencias(List.of(), 0);
+                }
+                BitSet aproximados = (BitSet) todos.clone();
+                aproximados.andNot(porPrefijo);
+
+                List<UUID> pagina = new ArrayList<>(cantidad);
+                int omitir = desde;
+                for (BitSet grupo : List.of(porPrefijo, aproximados)) {
+                    for (int doc = grupo.nextSetBit(0); doc >= 0 && pagina.size() < cantidad; doc = grupo.nextSetBit(doc + 1)) {
+                        if (omitir > 0) {
+                            omitir--;
+                        } else {
+                            pagina.add(ids[doc]);
+                        }
+                    }
+                }
+                return new Coincidencias(pagina, todos.cardinality());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private List<String> similares(String termino) {
+            if (termino.length() < LONGITUD_MINIMA_APROXIMADA || !esAlfabetica(termino)) {
+                return List.of();
+            }
+            int maximo = termino.length() >= 8 ? 2 : 1;
+            Set<String> candidatas = new HashSet<>();
+            for (Grupo grupo : Grupo.candidatos(termino, maximo)) {
+                candidatas.addAll(palabrasPorGrupo.getOrDefault(grupo, Set.of()));
+            }
+            List<String> similares = new ArrayList<>();
+            for (String palabra : candidatas) {
+                if (!palabra.startsWith(termino) && distancia(termino, palabra, maximo) <= maximo) {
+                    similares.add(palabra);
+                }
+            }
+            return similares;
+        }
+
+        int tamano() {
+            lock.readLock().lock();
+            try {
+                return documentos.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int terminos() {
+            lock.readLock().lock();
+            try {
+                return porPalabra.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Grupo de palabras de una longitud con una letra en una posición: la primera, la última o la
+     * segunda. Una palabra a distancia 1 de un término conserva su primera o su última letra, porque una
+     * sola edición no toca ambos extremos. A distancia 2 ambos pueden cambiar solo con una edición en
+     * cada extremo; entonces la segunda letra de la palabra es la primera, segunda o tercera del término.
+     * Así se compara solo contra los grupos posibles y no contra todo el vocabulario de esa longitud.
+     */
+    private record Grupo(char posicion, int longitud, char letra) {
+
+        static List<Grupo> de(String palabra) {
+            int n = palabra.length();
+            if (n == 1) {
+                return List.of(new Grupo('p', n, palabra.charAt(0)));
+            }
+            return List.of(new Grupo('p', n, palabra.charAt(0)), new Grupo('u', n, palabra.charAt(n - 1)),
+                    new Grupo('s', n, palabra.charAt(1)));
+        }
+
+        static List<Grupo> candidatos(String termino, int maximo) {
+            int n = termino.length();
+            List<Grupo> grupos = new ArrayList<>();
+            for (int longitud = n - maximo; longitud <= n + maximo; longitud++) {
+                grupos.add(new Grupo('p', longitud, termino.charAt(0)));
+                grupos.add(new Grupo('u', longitud, termino.charAt(n - 1)));
+                if (maximo >= 2) {
+                    for (int i = 0; i <= 2; i++) {
+                        grupos.add(new Grupo('s', longitud, termino.charAt(i)));
+                    }
+                }
+            }
+            return grupos;
+        }
+    }
+
+    private static boolean esAlfabetica(String palabra) {
+        return palabra.chars().allMatch(Character::isLetter);
+    }
+
+    /**
+     * Distancia de Levenshtein; deja de calcular y devuelve maximo + 1 en cuanto la supera.
+     */
+    static int distancia(String a, String b, int maximo) {
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            int minimoFila = actual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int sustitucion = anterior[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                actual[j] = Math.min(sustitucion, Math.min(anterior[j], actual[j - 1]) + 1);
+                minimoFila = Math.min(minimoFila, actual[j]);
+            }
+            if (minimoFila > maximo) {
+                return maximo + 1;
+            }
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        return anterior[b.length()];
+    }
+
+    /**
+     * Documentos que contienen una palabra, sin orden.
+     */
+    private static final class Postings {
+
+        private int[] documentos = new int[2];
+        private int tamano;
+
+        void agregar(int documento) {
+            if (tamano == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamano * 2);
+            }
+            documentos[tamano++] = documento;
+        }
+
+        // Solo se quita un documento que tiene la palabra, así que siempre está en la lista
+        void quitar(int documento) {
+            int i = 0;
+            while (documentos[i] != documento) {
+                i++;
+            }
+            documentos[i] = documentos[--tamano];
+        }
+
+        void renumerar(int[] nuevaPosicion) {
+            for (int i = 0; i < tamano; i++) {
+                documentos[i] = nuevaPosicion[documentos[i]];
+            }
+        }
+
+        void marcar(BitSet bits) {
+            for (int i = 0; i < tamano; i++) {
+                bits.set(documentos[i]);
+            }
+        }
+    }
+}
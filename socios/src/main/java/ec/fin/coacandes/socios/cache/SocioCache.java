@@ -0,0 +1,113 @@
+package ec.fin.coacandes.socios.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import ec.fin.coacandes.socios.dto.EstadisticasCacheDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caché read-through de socios por id y por identificación, acotada por tamaño y TTL.
+ * Las invalidaciones se aplican después del commit para no exponer datos aún no confirmados; un
+ * valor cargado antes de una invalidación no se guarda, así una lectura concurrente no puede
+ * reinsertar el socio anterior a un commit.
+ */
+@Component
+public class SocioCache {
+
+    private final Cache<UUID, SocioResponseDTO> porId;
+    private final Cache<String, SocioResponseDTO> porIdentificacion;
+
+    // Cambia con cada invalidación: un socio leído antes de ella no se guarda
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    public SocioCache(@Value("${socios.cache.tamano-maximo:10000}") long tamanoMaximo,
+                      @Value("${socios.cache.ttl:5m}") Duration ttl) {
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.porIdentificacion = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public SocioResponseDTO obtenerPorId(UUID id, Function<UUID, SocioResponseDTO> cargador) {
+        return obtener(porId.getIfPresent(id), () -> cargador.apply(id));
+    }
+
+    public SocioResponseDTO obtenerPorIdentificacion(String identificacion,
+                                                     Function<String, SocioResponseDTO> cargador) {
+        return obtener(porIdentificacion.getIfPresent(identificacion), () -> cargador.apply(identificacion));
+    }
+
+    // La carga se hace fuera de Caffeine.get para no bloquear otras claves durante la consulta a la BD
+    private SocioResponseDTO obtener(SocioResponseDTO enCache, Supplier<SocioResponseDTO> cargador) {
+        if (enCache != null) {
+            return enCache;
+        }
+        long generacion = invalidaciones.get();
+        SocioResponseDTO cargado = cargador.get();
+        guardar(porId, cargado.getId(), cargado, generacion);
+        if (cargado.getIdentificacion() != null) {
+            guardar(porIdentificacion, cargado.getIdentificacion(), cargado, generacion);
+        }
+        return cargado;
+    }
+
+    private <K> void guardar(Cache<K, SocioResponseDTO> cache, K clave, SocioResponseDTO socio, long generacion) {
+        cache.asMap().compute(clave, (k, actual) -> invalidaciones.get() == generacion ? socio : actual);
+    }
+
+    /**
+     * Invalida las entradas indicadas cuando la transacción actual confirma,
+     * o de inmediato si no hay transacción activa.
+     */
+    public void invalidarDespuesDeCommit(UUID id, String... identificaciones) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidar(id, identificaciones);
+                }
+            });
+        } else {
+            invalidar(id, identificaciones);
+        }
+    }
+
+    private void invalidar(UUID id, String... identificaciones) {
+        invalidaciones.incrementAndGet();
+        if (id != null) {
+            porId.invalidate(id);
+        }
+        for (String identificacion : identificaciones) {
+            if (identificacion != null) {
+                porIdentificacion.invalidate(identificacion);
+            }
+        }
+    }
+
+    public EstadisticasCacheDTO estadisticas() {
+        CacheStats id = porId.stats();
+        CacheStats identificacion = porIdentificacion.stats();
+        return new EstadisticasCacheDTO(
+                id.hitCount() + identificacion.hitCount(),
+                id.missCount() + identificacion.missCount(),
+                id.evictionCount() + identificacion.evictionCount(),
+                porId.estimatedSize() + porIdentificacion.estimatedSize());
+    }
+}
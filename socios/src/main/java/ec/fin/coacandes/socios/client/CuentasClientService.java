@@ -1,54 +1,121 @@
 package ec.fin.coacandes.socios.client;
 
+import ec.fin.coacandes.socios.cache.CuentasActivasCache;
+import ec.fin.coacandes.socios.config.LogsMuestreados;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class CuentasClientService {
 
     @Value("${cuentas.service.url:http://localhost:3000}")
     private String cuentasServiceUrl;
 
+    // Bean compartido de RestTemplateConfig (pool de conexiones y timeouts)
     private final RestTemplate restTemplate;
-
-    public CuentasClientService() {
-        this.restTemplate = new RestTemplate();
-    }
+    private final CircuitBreaker cuentasCircuitBreaker;
+    private final Bulkhead cuentasBulkhead;
+    private final CuentasActivasCache cuentasActivasCache;
+    // Los logs de cada validación y de cada rechazo se limitan: bajo carga serían una línea por solicitud
+    private final LogsMuestreados logsMuestreados;
 
     /**
-     * Valida si un socio tiene cuentas activas antes de eliminarlo
+     * Valida si un socio tiene cuentas activas antes de eliminarlo. El resultado se toma de
+     * {@link CuentasActivasCache} si está vigente; si no, la llamada pasa por el circuit breaker y el
+     * bulkhead de cuentas: con el circuito abierto o sin cupo se rechaza sin esperar. Los errores no
+     * se guardan en caché.
      * @param socioId ID del socio a validar
      * @return true si tiene cuentas activas, false si no tiene
-     * @throws IllegalStateException si el servicio de cuentas no está disponible
+     * @throws CuentasNoDisponibleException si el servicio de cuentas no está disponible
      */
     public boolean socioTieneCuentasActivas(String socioId) {
+        return cuentasActivasCache.obtener(socioId, this::validarCuentasActivas);
+    }
+
+    private boolean validarCuentasActivas(String socioId) {
+        Supplier<Boolean> llamada = CircuitBreaker.decorateSupplier(cuentasCircuitBreaker,
+                Bulkhead.decorateSupplier(cuentasBulkhead, () -> consultarCuentasActivas(socioId)));
+        try {
+            return llamada.get();
+        } catch (CallNotPermittedException e) {
+            logsMuestreados.warn(log, "Circuito de cuentas abierto, se rechaza la validación del socio {}", socioId);
+            throw new CuentasNoDisponibleException(
+                "No se pudo validar las cuentas del socio. El servicio de cuentas no está disponible", e
+            );
+        } catch (BulkheadFullException e) {
+            logsMuestreados.warn(log, "Bulkhead de cuentas lleno, se rechaza la validación del socio {}", socioId);
+            throw new CuentasNoDisponibleException(
+                "No se pudo validar las cuentas del socio. Demasiadas validaciones en curso", e
+            );
+        } catch (Exception e) {
+            log.error("Error al validar cuentas activas para socio {}: {}", socioId, e.getMessage());
+            throw new CuentasNoDisponibleException(
+                "No se pudo validar las cuentas del socio. El servicio de cuentas no está disponible", e
+            );
+        }
+    }
+
+    private boolean consultarCuentasActivas(String socioId) {
         try {
-            log.info("Validando cuentas activas para socio: {}", socioId);
-            
-            String url = String.format("%s/api/cuentas/validaciones/socio/%s/tiene-cuentas-activas", 
-                                       cuentasServiceUrl, socioId);
-            
-            CuentasValidacionResponse response = restTemplate.getForObject(url, CuentasValidacionResponse.class);
-            
+            logsMuestreados.info(log, "Validando cuentas activas para socio: {}", socioId);
+
+            // Plantilla con variables: es la etiqueta uri de http.client.requests, sin un valor por socio
+            String url = cuentasServiceUrl + "/api/cuentas/validaciones/socio/{socioId}/tiene-cuentas-activas";
+
+            CuentasValidacionResponse response =
+                    restTemplate.getForObject(url, CuentasValidacionResponse.class, socioId);
+
             if (response != null) {
-                log.info("Socio {} tiene {} cuentas activas", socioId, response.getNumeroCuentasActivas());
+                logsMuestreados.info(log, "Socio {} tiene {} cuentas activas", socioId,
+                        response.getNumeroCuentasActivas());
                 return response.getTieneCuentasActivas();
             }
-            
+
             return false;
         } catch (HttpClientErrorException.NotFound e) {
             // Si el endpoint retorna 404, asumimos que no tiene cuentas
-            log.warn("Endpoint de validación no encontrado para socio: {}", socioId);
+            logsMuestreados.warn(log, "Endpoint de validación no encontrado para socio: {}", socioId);
             return false;
+        }
+    }
+
+    /**
+     * Lista las cuentas de un socio
+     * @param socioId ID del socio
+     * @return cuentas del socio, vacía si el servicio no responde 200
+     * @throws IllegalStateException si el servicio de cuentas no está disponible
+     */
+    public List<?> obtenerCuentasPorSocio(UUID socioId) {
+        try {
+            String url = cuentasServiceUrl + "/cuentas/socio/{socioId}";
+
+            ResponseEntity<Object[]> response = restTemplate.getForEntity(url, Object[].class, socioId);
+
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                return List.of(response.getBody());
+            }
+
+            return Collections.emptyList();
         } catch (Exception e) {
-            log.error("Error al validar cuentas activas para socio {}: {}", socioId, e.getMessage());
-            throw new IllegalStateException(
-                "No se pudo validar las cuentas del socio. El servicio de cuentas no está disponible", e
-            );
+            log.error("Error al obtener cuentas del socio {}: {}", socioId, e.getMessage());
+            throw new IllegalStateException("Error al obtener cuentas del socio", e);
         }
     }
 }
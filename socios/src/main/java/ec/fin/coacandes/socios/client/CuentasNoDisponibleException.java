@@ -0,0 +1,15 @@
+package ec.fin.coacandes.socios.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * El servicio de cuentas no respondió, o la llamada se rechazó por circuito abierto o bulkhead lleno.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CuentasNoDisponibleException extends IllegalStateException {
+
+    public CuentasNoDisponibleException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
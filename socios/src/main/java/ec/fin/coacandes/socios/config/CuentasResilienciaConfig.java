@@ -0,0 +1,98 @@
+package ec.fin.coacandes.socios.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker y bulkhead de la validación de cuentas activas. Con el circuito abierto o el
+ * bulkhead lleno la llamada se rechaza de inmediato en lugar de esperar al servicio de cuentas.
+ * Estado y contadores se publican como métricas resilience4j.circuitbreaker.* y resilience4j.bulkhead.*.
+ */
+@Configuration
+@Slf4j
+public class CuentasResilienciaConfig {
+
+    public static final String CUENTAS = "cuentas";
+
+    @Bean
+    public CircuitBreakerRegistry cuentasCircuitBreakerRegistry(
+            @Value("${cuentas.resiliencia.ventana:20}") int ventana,
+            @Value("${cuentas.resiliencia.minimo-llamadas:10}") int minimoLlamadas,
+            @Value("${cuentas.resiliencia.umbral-fallos:50}") float umbralFallos,
+            @Value("${cuentas.resiliencia.llamada-lenta:3s}") Duration llamadaLenta,
+            @Value("${cuentas.resiliencia.umbral-lentas:80}") float umbralLentas,
+            @Value("${cuentas.resiliencia.espera-abierto:10s}") Duration esperaAbierto,
+            @Value("${cuentas.resiliencia.pruebas-semiabierto:3}") int pruebasSemiabierto) {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(ventana)
+                .minimumNumberOfCalls(minimoLlamadas)
+                .failureRateThreshold(umbralFallos)
+                .slowCallDurationThreshold(llamadaLenta)
+                .slowCallRateThreshold(umbralLentas)
+                .waitDurationInOpenState(esperaAbierto)
+                .permittedNumberOfCallsInHalfOpenState(pruebasSemiabierto)
+                // Un 4xx no indica que cuentas esté caído y un bulkhead lleno es carga propia
+                .ignoreExceptions(HttpClientErrorException.class, BulkheadFullException.class)
+                .build());
+    }
+
+    @Bean
+    public CircuitBreaker cuentasCircuitBreaker(CircuitBreakerRegistry cuentasCircuitBreakerRegistry) {
+        CircuitBreaker circuitBreaker = cuentasCircuitBreakerRegistry.circuitBreaker(CUENTAS);
+        circuitBreaker.getEventPublisher().onStateTransition(evento ->
+                log.warn("Circuito del servicio de cuentas: {}", evento.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    @Bean
+    public BulkheadRegistry cuentasBulkheadRegistry(
+            @Value("${cuentas.resiliencia.maximo-concurrente:40}") int maximoConcurrente) {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maximoConcurrente)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    @Bean
+    public Bulkhead cuentasBulkhead(BulkheadRegistry cuentasBulkheadRegistry) {
+        return cuentasBulkheadRegistry.bulkhead(CUENTAS);
+    }
+
+    @Bean
+    public MeterBinder cuentasCircuitBreakerMetrics(CircuitBreakerRegistry cuentasCircuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(cuentasCircuitBreakerRegistry);
+    }
+
+    /**
+     * Además de los gauges de Resilience4j, cuenta los rechazos del bulkhead (resilience4j.bulkhead.rejected).
+     */
+    @Bean
+    public MeterBinder cuentasBulkheadMetrics(BulkheadRegistry cuentasBulkheadRegistry, Bulkhead cuentasBulkhead) {
+        TaggedBulkheadMetrics gauges = TaggedBulkheadMetrics.ofBulkheadRegistry(cuentasBulkheadRegistry);
+        return registry -> {
+            gauges.bindTo(registry);
+            Counter rechazos = Counter.builder("resilience4j.bulkhead.rejected")
+                    .description("Llamadas rechazadas por el bulkhead")
+                    .tag("name", cuentasBulkhead.getName())
+                    .register(registry);
+            cuentasBulkhead.getEventPublisher().onCallRejected(evento -> rechazos.increment());
+        };
+    }
+}
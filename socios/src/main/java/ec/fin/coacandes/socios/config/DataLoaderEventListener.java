@@ -2,35 +2,60 @@ package ec.fin.coacandes.socios.config;
 
 import ec.fin.coacandes.socios.entity.Socio;
 import ec.fin.coacandes.socios.repository.SocioRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class DataLoaderEventListener {
 
+    // Los socios aleatorios se guardan por lotes: un registro inválido solo pierde su lote
+    private static final int SOCIOS_POR_LOTE = 50;
+
     private final SocioRepository socioRepository;
+    // Cada lote en su propia transacción: un lote que falla no revierte los demás ni los socios base
+    private final TransactionTemplate transaccionPorLote;
+
+    // Con false (p. ej. en la imagen de arranque rápido) no se consulta la tabla al arrancar
+    @Value("${socios.datos-iniciales.habilitado:true}")
+    private boolean habilitado = true;
+
+    // Socios de ejemplo a cargar: los base y, si hacen falta más, aleatorios
+    @Value("${socios.datos-iniciales.cantidad:20}")
+    private int cantidad = 20;
 
+    public DataLoaderEventListener(SocioRepository socioRepository, PlatformTransactionManager transactionManager) {
+        this.socioRepository = socioRepository;
+        this.transaccionPorLote = new TransactionTemplate(transactionManager);
+        this.transaccionPorLote.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Sin transacción propia: saveAll de los socios base y cada lote aleatorio confirman por separado
     @EventListener(ApplicationReadyEvent.class)
     @Order(1) // Ejecutar después de que el contexto esté completamente inicializado
-    @Transactional
     public void cargarDatosIniciales(ApplicationReadyEvent event) {
+        if (!habilitado) {
+            return;
+        }
         try {
             log.info("🔍 Verificando datos iniciales de socios...");
 
             long count = socioRepository.count();
 
             if (count == 0) {
-                log.info("📥 No hay socios en la BD. Generando 20 socios de prueba...");
+                log.info("📥 No hay socios en la BD. Generando {} socios de prueba...", cantidad);
 
                 List<Socio> socios = crearSociosBase();
 
@@ -38,18 +63,20 @@ public class DataLoaderEventListener {
                 log.info("✅ {} socios cargados exitosamente", socios.size());
 
                 // Generar datos adicionales aleatorios si se necesitan más
-                if (socios.size() < 20) {
-                    generarSociosAleatorios(20 - socios.size());
+                if (socios.size() < cantidad) {
+                    generarSociosAleatorios(cantidad - socios.size());
                 }
 
             } else {
                 log.info("✅ Ya existen {} socios registrados en el sistema", count);
 
-                // Verificar datos de muestra
-                socioRepository.findAll().stream().limit(5).forEach(socio ->
-                        log.debug("📋 Socio existente: {} - {}",
-                                socio.getIdentificacion(),
-                                socio.getNombres()));
+                // Verificar datos de muestra: solo se leen 5 filas, y solo si se van a registrar
+                if (log.isDebugEnabled()) {
+                    socioRepository.findPrimeraPagina(Limit.of(5)).forEach(socio ->
+                            log.debug("📋 Socio existente: {} - {}",
+                                    socio.getIdentificacion(),
+                                    socio.getNombres()));
+                }
             }
 
         } catch (Exception e) {
@@ -165,48 +192,59 @@ public class DataLoaderEventListener {
         String[] apellidos1 = {"García", "Rodríguez", "López", "Martínez", "Sánchez", "Pérez"};
         String[] apellidos2 = {"González", "Fernández", "Díaz", "Torres", "Ramírez", "Castro"};
 
+        // Se arma la lista completa y se guarda por lotes para aprovechar el batching JDBC
+        List<Socio> socios = new ArrayList<>(cantidad);
         for (int i = 0; i < cantidad; i++) {
-            try {
-                Socio socio = new Socio();
+            Socio socio = new Socio();
+
+            // Generar cédula única
+            String cedula = "17" + String.format("%08d",
+                    (System.currentTimeMillis() % 100000000) + i);
 
-                // Generar cédula única
-                String cedula = "17" + String.format("%08d",
-                        (System.currentTimeMillis() % 100000000) + i);
+            socio.setIdentificacion(cedula);
+            socio.setTipoIdentificacion("CEDULA");
 
-                socio.setIdentificacion(cedula);
-                socio.setTipoIdentificacion("CEDULA");
+            // Nombre aleatorio
+            boolean esHombre = random.nextBoolean();
+            String nombre = esHombre ?
+                    nombresHombres[random.nextInt(nombresHombres.length)] :
+                    nombresMujeres[random.nextInt(nombresMujeres.length)];
 
-                // Nombre aleatorio
-                boolean esHombre = random.nextBoolean();
-                String nombre = esHombre ?
-                        nombresHombres[random.nextInt(nombresHombres.length)] :
-                        nombresMujeres[random.nextInt(nombresMujeres.length)];
+            socio.setNombres(nombre + " " +
+                    (esHombre ? "Antonio" : "Isabel"));
+            socio.setApellidos(apellidos1[random.nextInt(apellidos1.length)] + " " +
+                    apellidos2[random.nextInt(apellidos2.length)]);
 
-                socio.setNombres(nombre + " " +
-                        (esHombre ? "Antonio" : "Isabel"));
-                socio.setApellidos(apellidos1[random.nextInt(apellidos1.length)] + " " +
-                        apellidos2[random.nextInt(apellidos2.length)]);
+            // Email
+            socio.setEmail((socio.getNombres().split(" ")[0].toLowerCase() + "." +
+                    socio.getApellidos().split(" ")[0].toLowerCase() + i +
+                    "@cooperativa.com.ec").replace(" ", ""));
 
-                // Email
-                socio.setEmail((socio.getNombres().split(" ")[0].toLowerCase() + "." +
-                        socio.getApellidos().split(" ")[0].toLowerCase() + i +
-                        "@cooperativa.com.ec").replace(" ", ""));
+            // Teléfono
+            socio.setTelefono("09" + String.format("%08d", random.nextInt(100000000)));
 
-                // Teléfono
-                socio.setTelefono("09" + String.format("%08d", random.nextInt(100000000)));
+            // Dirección
+            socio.setDireccion("Calle " + (random.nextInt(100) + 1) +
+                    " #" + (random.nextInt(100) + 1) +
+                    " y Av. " + (char)('A' + random.nextInt(26)));
 
-                // Dirección
-                socio.setDireccion("Calle " + (random.nextInt(100) + 1) +
-                        " #" + (random.nextInt(100) + 1) +
-                        " y Av. " + (char)('A' + random.nextInt(26)));
+            socio.setActivo(random.nextDouble() > 0.1); // 90% activos
 
-                socio.setActivo(random.nextDouble() > 0.1); // 90% activos
+            socios.add(socio);
+        }
 
-                socioRepository.save(socio);
-                log.debug("➕ Socio aleatorio creado: {}", socio.getIdentificacion());
+        guardarPorLotes(socios);
+    }
 
+    void guardarPorLotes(List<Socio> socios) {
+        for (int desde = 0; desde < socios.size(); desde += SOCIOS_POR_LOTE) {
+            List<Socio> lote = socios.subList(desde, Math.min(desde + SOCIOS_POR_LOTE, socios.size()));
+            try {
+                transaccionPorLote.executeWithoutResult(estado -> socioRepository.saveAllAndFlush(lote));
+                log.debug("➕ Socios aleatorios {}-{} creados", desde + 1, desde + lote.size());
             } catch (Exception e) {
-                log.warn("⚠️ No se pudo crear socio aleatorio: {}", e.getMessage());
+                log.warn("⚠️ No se pudieron crear los socios aleatorios {}-{}: {}",
+                        desde + 1, desde + lote.size(), e.getMessage());
             }
         }
     }
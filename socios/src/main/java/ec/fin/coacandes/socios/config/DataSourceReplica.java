@@ -0,0 +1,136 @@
+package ec.fin.coacandes.socios.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Conexiones de solo lectura: de la réplica mientras responde y su retraso no supera el máximo; si
+ * no, de la primaria. Cada {@code verificacion} la siguiente solicitud mide el retraso con
+ * {@code consultaRetraso} (segundos; vacía para no medirlo) sobre la conexión que va a devolver, así
+ * una réplica caída o atrasada vuelve a usarse sola cuando se recupera.
+ */
+@Slf4j
+class DataSourceReplica extends AbstractDataSource {
+
+    private final DataSource replica;
+    private final DataSource primaria;
+    private final String consultaRetraso;
+    private final double retrasoMaximoSegundos;
+    private final long verificacionNanos;
+    private final LongSupplier reloj;
+
+    private final AtomicLong siguienteVerificacion;
+    private final AtomicLong lecturasEnPrimaria = new AtomicLong();
+    private volatile boolean disponible = true;
+
+    DataSourceReplica(DataSource replica, DataSource primaria, String consultaRetraso, Duration retrasoMaximo,
+                      Duration verificacion, LongSupplier reloj) {
+        this.replica = replica;
+        this.primaria = primaria;
+        this.consultaRetraso = consultaRetraso;
+        this.retrasoMaximoSegundos = retrasoMaximo.toMillis() / 1000.0;
+        this.verificacionNanos = verificacion.toNanos();
+        this.reloj = reloj;
+        this.siguienteVerificacion = new AtomicLong(reloj.getAsLong());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (EnrutamientoReplica.primariaForzada()) {
+            return primaria.getConnection();
+        }
+        long ahora = reloj.getAsLong();
+        // Solo la solicitud que adelanta la siguiente verificación la hace
+        long siguiente = siguienteVerificacion.getAndAccumulate(ahora,
+                (programada, actual) -> actual - programada >= 0 ? actual + verificacionNanos : programada);
+        if (ahora - siguiente >= 0) {
+            return verificar();
+        }
+        if (!disponible) {
+            return desviar();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            siguienteVerificacion.set(ahora + verificacionNanos);
+            noDisponible("no responde: " + e.getMessage());
+            return desviar();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("La réplica usa las credenciales de socios.replica");
+    }
+
+    boolean isDisponible() {
+        return disponible;
+    }
+
+    long getLecturasEnPrimaria() {
+        return lecturasEnPrimaria.get();
+    }
+
+    private Connection verificar() throws SQLException {
+        Connection conexion;
+        try {
+            conexion = replica.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            noDisponible("no responde: " + e.getMessage());
+            return desviar();
+        }
+        if (!consultaRetraso.isBlank()) {
+            double retraso;
+            try {
+                retraso = medirRetraso(conexion);
+            } catch (SQLException e) {
+                conexion.close();
+                noDisponible("no se pudo medir el retraso: " + e.getMessage());
+                return desviar();
+            }
+            if (retraso > retrasoMaximoSegundos) {
+                conexion.close();
+                noDisponible(String.format("retraso de %.1f s", retraso));
+                return desviar();
+            }
+        }
+        if (!disponible) {
+            disponible = true;
+            log.info("Réplica de lectura disponible otra vez");
+        }
+        return conexion;
+    }
+
+    // Al cerrar la sentencia se cierra también su ResultSet
+    private double medirRetraso(Connection conexion) throws SQLException {
+        Statement sentencia = conexion.createStatement();
+        try {
+            ResultSet resultado = sentencia.executeQuery(consultaRetraso);
+            return resultado.next() ? resultado.getDouble(1) : 0;
+        } finally {
+            sentencia.close();
+        }
+    }
+
+    private void noDisponible(String motivo) {
+        if (disponible) {
+            disponible = false;
+            log.warn("Réplica de lectura no disponible ({}); las lecturas van a la primaria", motivo);
+        }
+    }
+
+    private Connection desviar() throws SQLException {
+        lecturasEnPrimaria.incrementAndGet();
+        return primaria.getConnection();
+    }
+}
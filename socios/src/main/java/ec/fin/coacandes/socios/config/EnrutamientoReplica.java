@@ -0,0 +1,141 @@
+package ec.fin.coacandes.socios.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Envía las transacciones de solo lectura ({@code @Transactional(readOnly = true)}) a la réplica
+ * {@code socios.replica.url}; las demás siguen en la primaria. Envuelve el DataSource de Spring Boot
+ * en un {@link LazyConnectionDataSourceProxy}, que pide la conexión física en la primera sentencia,
+ * cuando la transacción ya la marcó como de solo lectura. Si la réplica está caída o atrasada las
+ * lecturas vuelven a la primaria ({@link DataSourceReplica}). Sin URL el DataSource no cambia.
+ * <p>
+ * Las lecturas que no toleran datos atrasados (las que llenan una caché o deciden una escritura) se
+ * hacen dentro de {@link #enPrimaria(Supplier)}.
+ */
+@Slf4j
+@Component
+public class EnrutamientoReplica implements BeanPostProcessor, MeterBinder, DisposableBean {
+
+    private static final ThreadLocal<Boolean> PRIMARIA = new ThreadLocal<>();
+
+    private final String url;
+    private final String usuario;
+    private final String password;
+    private final int maximoPool;
+    private final Duration timeoutConexion;
+    private final Duration retrasoMaximo;
+    private final Duration verificacion;
+    private final String consultaRetraso;
+
+    private HikariDataSource pool;
+    private DataSourceReplica replica;
+
+    public EnrutamientoReplica(@Value("${socios.replica.url:}") String url,
+                               @Value("${socios.replica.usuario:${spring.datasource.username:}}") String usuario,
+                               @Value("${socios.replica.password:${spring.datasource.password:}}") String password,
+                               @Value("${socios.replica.pool.maximo:10}") int maximoPool,
+                               @Value("${socios.replica.timeout-conexion:1s}") Duration timeoutConexion,
+                               @Value("${socios.replica.retraso-maximo:5s}") Duration retrasoMaximo,
+                               @Value("${socios.replica.verificacion:5s}") Duration verificacion,
+                               @Value("${socios.replica.consulta-retraso:}") String consultaRetraso) {
+        this.url = url;
+        this.usuario = usuario;
+        this.password = password;
+        this.maximoPool = maximoPool;
+        this.timeoutConexion = timeoutConexion;
+        this.retrasoMaximo = retrasoMaximo;
+        this.verificacion = verificacion;
+        this.consultaRetraso = consultaRetraso;
+    }
+
+    /**
+     * Ejecuta la lectura en la primaria aunque la transacción sea de solo lectura. Debe envolver el
+     * inicio de la transacción o su primera sentencia: una vez obtenida, la conexión no cambia.
+     */
+    public static <T> T enPrimaria(Supplier<T> lectura) {
+        Boolean anterior = PRIMARIA.get();
+        PRIMARIA.set(Boolean.TRUE);
+        try {
+            return lectura.get();
+        } finally {
+            if (anterior == null) {
+                PRIMARIA.remove();
+            } else {
+                PRIMARIA.set(anterior);
+            }
+        }
+    }
+
+    public static void enPrimaria(Runnable lectura) {
+        enPrimaria(() -> {
+            lectura.run();
+            return null;
+        });
+    }
+
+    static boolean primariaForzada() {
+        return Boolean.TRUE.equals(PRIMARIA.get());
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (url.isBlank() || !"dataSource".equals(beanName) || !(bean instanceof DataSource primaria)) {
+            return bean;
+        }
+        pool = new HikariDataSource();
+        pool.setPoolName("replica");
+        pool.setJdbcUrl(url);
+        pool.setUsername(usuario);
+        pool.setPassword(password);
+        pool.setMaximumPoolSize(maximoPool);
+        pool.setReadOnly(true);
+        pool.setConnectionTimeout(timeoutConexion.toMillis());
+        // Arranca aunque la réplica no responda; mientras tanto las lecturas van a la primaria
+        pool.setInitializationFailTimeout(-1);
+        replica = new DataSourceReplica(pool, primaria, consultaRetraso, retrasoMaximo, verificacion,
+                System::nanoTime);
+
+        LazyConnectionDataSourceProxy enrutador = new LazyConnectionDataSourceProxy(primaria);
+        enrutador.setReadOnlyDataSource(replica);
+        log.info("Lecturas de solo lectura enrutadas a la réplica {}", url);
+        return enrutador;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (replica == null) {
+            return;
+        }
+        if (!pool.isRunning()) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        Gauge.builder("socios.replica.disponible", replica, r -> r.isDisponible() ? 1 : 0)
+                .description("1 si las lecturas van a la réplica, 0 si está caída o atrasada")
+                .register(registry);
+        FunctionCounter.builder("socios.replica.lecturas.primaria", replica, DataSourceReplica::getLecturasEnPrimaria)
+                .description("Conexiones de solo lectura que fueron a la primaria por la réplica")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ec.fin.coacandes.socios.config;
+
+import ec.fin.coacandes.socios.repository.CargadorSocios;
+import ec.fin.coacandes.socios.repository.CargadorSociosCopy;
+import ec.fin.coacandes.socios.repository.CargadorSociosJdbc;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Configuration
+@Slf4j
+public class ImportacionConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    @Bean
+    public CargadorSocios cargadorSocios(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                         @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int tamanoBatch) {
+        if (esPostgres(dataSource)) {
+            log.info("Importación de socios mediante COPY de PostgreSQL");
+            return new CargadorSociosCopy(dataSource);
+        }
+        log.info("Importación de socios mediante batch JDBC");
+        return new CargadorSociosJdbc(jdbcTemplate, tamanoBatch);
+    }
+
+    /**
+     * Ejecuta los trabajos de importación en segundo plano, uno a la vez.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importacionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("importacion-");
+        executor.setVirtualThreads(hilosVirtuales);
+        return executor;
+    }
+
+    static boolean esPostgres(DataSource dataSource) {
+        try {
+            String producto = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(producto);
+        } catch (MetaDataAccessException e) {
+            log.warn("No se pudo determinar la base de datos, se usará batch JDBC: {}", e.getMessage());
+            return false;
+        }
+    }
+}
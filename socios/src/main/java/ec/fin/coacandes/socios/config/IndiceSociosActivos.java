@@ -0,0 +1,46 @@
+package ec.fin.coacandes.socios.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Índice parcial de PostgreSQL sobre los socios activos para el listado por cursor. Solo contiene
+ * las filas con activo = true, así que no crece con los socios eliminados lógicamente. JPA no puede
+ * declarar índices parciales y ddl-auto=update no los crea, por eso se crea al arrancar. En otras
+ * bases (H2 en pruebas) el listado usa idx_socios_fecha_creacion_id.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndiceSociosActivos {
+
+    // CONCURRENTLY no bloquea las escrituras mientras se construye sobre una tabla ya poblada
+    static final String CREAR_INDICE = "create index concurrently if not exists idx_socios_activos_fecha_creacion_id "
+            + "on socios (fecha_creacion, id) where activo";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void crear() {
+        if (!ImportacionConfig.esPostgres(dataSource)) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute(CREAR_INDICE);
+            log.info("Índice parcial de socios activos disponible");
+        } catch (DataAccessException e) {
+            // Sin el índice el listado sigue funcionando con idx_socios_fecha_creacion_id
+            log.warn("No se pudo crear el índice parcial de socios activos: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ec.fin.coacandes.socios.config;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Limita los logs que se escriben en cada solicitud a {@code socios.logs.por-segundo} por mensaje y
+ * por segundo. Los que superan el límite se cuentan y el siguiente que se escribe indica cuántos se
+ * omitieron, así el log conserva la magnitud del tráfico sin una línea por solicitud. El límite se
+ * lleva por plantilla del mensaje (debe ser constante); los argumentos no pueden terminar en una
+ * excepción, porque se les agrega el número de omitidos.
+ */
+@Component
+public class LogsMuestreados {
+
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
+    private final int maximoPorSegundo;
+    private final LongSupplier reloj;
+    private final Map<String, Ventana> ventanas = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LogsMuestreados(@Value("${socios.logs.por-segundo:10}") int maximoPorSegundo) {
+        this(maximoPorSegundo, System::nanoTime);
+    }
+
+    LogsMuestreados(int maximoPorSegundo, LongSupplier reloj) {
+        if (maximoPorSegundo < 1) {
+            throw new IllegalArgumentException("socios.logs.por-segundo debe ser al menos 1");
+        }
+        this.maximoPorSegundo = maximoPorSegundo;
+        this.reloj = reloj;
+    }
+
+    public void info(Logger log, String mensaje, Object... argumentos) {
+        if (log.isInfoEnabled()) {
+            escribir(mensaje, argumentos, log::info);
+        }
+    }
+
+    public void warn(Logger log, String mensaje, Object... argumentos) {
+        if (log.isWarnEnabled()) {
+            escribir(mensaje, argumentos, log::warn);
+        }
+    }
+
+    private void escribir(String mensaje, Object[] argumentos, BiConsumer<String, Object[]> salida) {
+        long omitidos = ventanas.computeIfAbsent(mensaje, clave -> new Ventana())
+                .registrar(Math.floorDiv(reloj.getAsLong(), NANOS_POR_SEGUNDO), maximoPorSegundo);
+        if (omitidos == 0) {
+            salida.accept(mensaje, argumentos);
+        } else if (omitidos > 0) {
+            Object[] conOmitidos = Arrays.copyOf(argumentos, argumentos.length + 1);
+            conOmitidos[argumentos.length] = omitidos;
+            salida.accept(mensaje + " ({} similares omitidos)", conOmitidos);
+        }
+    }
+
+    private static final class Ventana {
+
+        private long segundo = Long.MIN_VALUE;
+        private int escritos;
+        private long omitidos;
+
+        /**
+         * @return -1 si el mensaje se omite; si no, los omitidos desde el último que se escribió
+         */
+        synchronized long registrar(long segundoActual, int maximo) {
+            if (segundoActual != segundo) {
+                segundo = segundoActual;
+                escritos = 0;
+            }
+            if (escritos >= maximo) {
+                omitidos++;
+                return -1;
+            }
+            escritos++;
+            long previos = omitidos;
+            omitidos = 0;
+            return previos;
+        }
+    }
+}
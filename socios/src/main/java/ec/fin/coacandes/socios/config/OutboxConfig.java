@@ -0,0 +1,43 @@
+package ec.fin.coacandes.socios.config;
+
+import ec.fin.coacandes.socios.service.PublicadorEventosSocio;
+import ec.fin.coacandes.socios.service.impl.PublicadorEventosArchivo;
+import ec.fin.coacandes.socios.service.impl.PublicadorEventosHttp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Destino de los eventos del outbox según {@code socios.outbox.destino}. Se elige al arrancar y no
+     * con condiciones de Spring, para que también se pueda cambiar en la imagen AOT.
+     */
+    @Bean
+    public PublicadorEventosSocio publicadorEventosSocio(@Value("${socios.outbox.destino:ninguno}") String destino,
+                                                         @Value("${socios.outbox.archivo:eventos-socios.jsonl}") Path archivo,
+                                                         @Value("${socios.outbox.http.url:}") String url,
+                                                         @Value("${socios.outbox.http.timeout:5s}") Duration timeout,
+                                                         JsonMapper jsonMapper) {
+        return switch (destino) {
+            case "archivo" -> new PublicadorEventosArchivo(archivo, jsonMapper);
+            case "http" -> {
+                if (url.isBlank()) {
+                    throw new IllegalArgumentException("socios.outbox.destino=http requiere socios.outbox.http.url");
+                }
+                yield new PublicadorEventosHttp(URI.create(url), timeout, jsonMapper);
+            }
+            case "ninguno" -> eventos -> {
+                throw new IllegalStateException("El outbox está deshabilitado");
+            };
+            default -> throw new IllegalArgumentException("socios.outbox.destino debe ser ninguno, archivo o http: "
+                    + destino);
+        };
+    }
+}
@@ -1,14 +1,80 @@
 package ec.fin.coacandes.socios.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+/**
+ * Cliente HTTP compartido para el servicio de cuentas: Apache HttpClient 5 con pool de conexiones
+ * persistentes y timeouts acotados, para que un pod de cuentas lento no retenga hilos indefinidamente.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager cuentasConnectionManager(
+            @Value("${cuentas.http.pool.maximo-total:100}") int maximoTotal,
+            @Value("${cuentas.http.pool.maximo-por-ruta:50}") int maximoPorRuta,
+            @Value("${cuentas.http.timeout.conexion:2s}") Duration timeoutConexion,
+            @Value("${cuentas.http.timeout.respuesta:5s}") Duration timeoutRespuesta) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maximoTotal)
+                .setMaxConnPerRoute(maximoPorRuta)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(timeoutConexion))
+                        .setSocketTimeout(Timeout.of(timeoutRespuesta))
+                        // Revalida conexiones que quedaron inactivas antes de reutilizarlas
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(1))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient cuentasHttpClient(
+            PoolingHttpClientConnectionManager cuentasConnectionManager,
+            @Value("${cuentas.http.timeout.espera-pool:1s}") Duration timeoutEsperaPool,
+            @Value("${cuentas.http.timeout.respuesta:5s}") Duration timeoutRespuesta,
+            @Value("${cuentas.http.keep-alive:4s}") Duration keepAlive) {
+        return HttpClients.custom()
+                .setConnectionManager(cuentasConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(timeoutEsperaPool))
+                        .setResponseTimeout(Timeout.of(timeoutRespuesta))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
+    /**
+     * Publica el estado del pool como httpcomponents.httpclient.pool.* con la etiqueta httpclient=cuentas.
+     */
+    @Bean
+    public MeterBinder cuentasPoolMetrics(PoolingHttpClientConnectionManager cuentasConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(cuentasConnectionManager, "cuentas");
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient cuentasHttpClient, ObservationRegistry observationRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(cuentasHttpClient));
+        // Métricas http.client.requests por URI, método y estado
+        restTemplate.setObservationRegistry(observationRegistry);
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
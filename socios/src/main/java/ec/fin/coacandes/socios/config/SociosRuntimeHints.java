@@ -0,0 +1,55 @@
+package ec.fin.coacandes.socios.config;
+
+import ec.fin.coacandes.socios.dto.EstadisticasCacheDTO;
+import ec.fin.coacandes.socios.dto.EventoSocioDTO;
+import ec.fin.coacandes.socios.dto.PaginaSociosDTO;
+import ec.fin.coacandes.socios.dto.ProgresoImportacionDTO;
+import ec.fin.coacandes.socios.dto.ResultadoBusquedaDTO;
+import ec.fin.coacandes.socios.dto.ResultadoEliminacionLoteDTO;
+import ec.fin.coacandes.socios.dto.ResultadoItemEliminacionDTO;
+import ec.fin.coacandes.socios.dto.ResultadoItemLoteDTO;
+import ec.fin.coacandes.socios.dto.ResultadoLoteDTO;
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.repository.ClavesUnicasSocio;
+import ec.fin.coacandes.socios.repository.DatosBusquedaSocio;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+/**
+ * Reflexión que la imagen nativa no descubre por sí sola (perfil Maven native). Las entidades, los
+ * controladores y los beans los registra el procesamiento AOT de Spring; aquí van los usos indirectos:
+ * <ul>
+ *     <li>los DTO que Jackson serializa fuera de un controlador (exportación en streaming, eventos del outbox) o como
+ *     elementos de listas y páginas genéricas, y los que valida Hibernate Validator por sus campos;</li>
+ *     <li>el constructor de {@link SocioResponseDTO}, que Hibernate invoca en los {@code select new} de
+ *     SocioRepository;</li>
+ *     <li>los proxies de las proyecciones por interfaz que devuelven los {@code Stream} del repositorio.</li>
+ * </ul>
+ */
+public class SociosRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] DTOS = {
+            SocioRequestDTO.class, SocioResponseDTO.class, PaginaSociosDTO.class, ResultadoBusquedaDTO.class,
+            ResultadoLoteDTO.class, ResultadoItemLoteDTO.class, ResultadoEliminacionLoteDTO.class,
+            ResultadoItemEliminacionDTO.class, ProgresoImportacionDTO.class, EstadisticasCacheDTO.class,
+            EventoSocioDTO.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), DTOS);
+        hints.reflection().registerType(SocioRequestDTO.class, MemberCategory.ACCESS_DECLARED_FIELDS);
+        hints.reflection().registerType(SocioResponseDTO.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        for (Class<?> proyeccion : new Class<?>[]{ClavesUnicasSocio.class, DatosBusquedaSocio.class}) {
+            hints.reflection().registerType(proyeccion, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.proxies().registerJdkProxy(proyeccion, TargetAware.class, SpringProxy.class, DecoratingProxy.class);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ec.fin.coacandes.socios.controller;
+
+import ec.fin.coacandes.socios.cache.CuentasActivasCache;
+import ec.fin.coacandes.socios.dto.EstadisticasCacheDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Endpoints internos para el servicio de cuentas; no forman parte de la API pública.
+ */
+@RestController
+@RequestMapping("/internal/cuentas-activas")
+@RequiredArgsConstructor
+@Tag(name = "Interno", description = "Caché de validación de cuentas activas")
+public class CuentasActivasController {
+
+    private final CuentasActivasCache cuentasActivasCache;
+
+    @DeleteMapping("/{socioId}")
+    @Operation(summary = "Invalidar la validación en caché de un socio al abrir o cerrar una cuenta")
+    public ResponseEntity<Void> invalidar(@PathVariable String socioId) {
+        cuentasActivasCache.invalidar(socioId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/estadisticas")
+    @Operation(summary = "Contadores de aciertos, fallos y desalojos de la caché de cuentas activas")
+    public ResponseEntity<EstadisticasCacheDTO> estadisticas() {
+        return ResponseEntity.ok(cuentasActivasCache.estadisticas());
+    }
+}
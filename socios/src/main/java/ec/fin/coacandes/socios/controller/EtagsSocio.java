@@ -0,0 +1,53 @@
+package ec.fin.coacandes.socios.controller;
+
+import ec.fin.coacandes.socios.dto.PaginaSociosDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.service.SocioModificadoException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ETags fuertes de socios y páginas, derivadas de la versión de cada socio.
+ */
+final class EtagsSocio {
+
+    private EtagsSocio() {
+    }
+
+    static String de(SocioResponseDTO socio) {
+        return "\"" + socio.getVersion() + "\"";
+    }
+
+    /**
+     * Resumen de los ids y versiones de la página y del cursor siguiente: cambia si se crea,
+     * modifica o elimina un socio de la página.
+     */
+    static String de(PaginaSociosDTO pagina) {
+        StringBuilder resumen = new StringBuilder();
+        for (SocioResponseDTO socio : pagina.getSocios()) {
+            resumen.append(socio.getId()).append(':').append(socio.getVersion()).append(';');
+        }
+        resumen.append(pagina.getSiguienteCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(resumen.toString().getBytes(StandardCharsets.US_ASCII)) + "\"";
+    }
+
+    /**
+     * Versión indicada en If-Match; null si no viene o es "*". Solo se acepta una ETag fuerte: una
+     * débil o una lista nunca coinciden.
+     */
+    static Long versionEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            try {
+                return Long.valueOf(etag.substring(1, etag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Cae al rechazo
+            }
+        }
+        throw new SocioModificadoException("If-Match no corresponde a ninguna versión del socio: " + ifMatch);
+    }
+}
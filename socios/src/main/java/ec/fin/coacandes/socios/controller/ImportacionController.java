@@ -0,0 +1,39 @@
+package ec.fin.coacandes.socios.controller;
+
+import ec.fin.coacandes.socios.dto.ProgresoImportacionDTO;
+import ec.fin.coacandes.socios.service.ImportacionSociosService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/socios/importaciones")
+@RequiredArgsConstructor
+@Tag(name = "Importación de socios", description = "Carga masiva de socios desde CSV")
+public class ImportacionController {
+
+    private final ImportacionSociosService importacionSociosService;
+
+    @PostMapping(consumes = {"text/csv", "text/plain", "application/octet-stream"})
+    @Operation(summary = "Iniciar la importación de un CSV con cabecera (identificacion, nombres, apellidos, "
+            + "tipoIdentificacion y opcionalmente email, telefono, direccion, activo)")
+    public ResponseEntity<ProgresoImportacionDTO> iniciar(HttpServletRequest request) throws IOException {
+        ProgresoImportacionDTO progreso = importacionSociosService.iniciar(request.getInputStream());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/socios/importaciones/" + progreso.getId()))
+                .body(progreso);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar el avance de una importación")
+    public ResponseEntity<ProgresoImportacionDTO> obtenerProgreso(@PathVariable UUID id) {
+        return ResponseEntity.ok(importacionSociosService.obtenerProgreso(id));
+    }
+}
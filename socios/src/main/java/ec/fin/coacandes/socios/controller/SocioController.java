@@ -1,18 +1,32 @@
 package ec.fin.coacandes.socios.controller;
 
 
+import ec.fin.coacandes.socios.cache.SocioCache;
+import ec.fin.coacandes.socios.dto.EstadisticasCacheDTO;
+import ec.fin.coacandes.socios.dto.PaginaSociosDTO;
+import ec.fin.coacandes.socios.dto.ResultadoBusquedaDTO;
+import ec.fin.coacandes.socios.dto.ResultadoEliminacionLoteDTO;
+import ec.fin.coacandes.socios.dto.ResultadoLoteDTO;
 import ec.fin.coacandes.socios.dto.SocioRequestDTO;
 import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.service.ExportacionSociosService;
+import ec.fin.coacandes.socios.service.FormatoExportacion;
 import ec.fin.coacandes.socios.service.SocioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/socios")
@@ -21,6 +35,8 @@ import java.util.UUID;
 public class SocioController {
 
     private final SocioService socioService;
+    private final ExportacionSociosService exportacionSociosService;
+    private final SocioCache socioCache;
 
     @PostMapping
     @Operation(summary = "Crear un nuevo socio")
@@ -28,37 +44,112 @@ public class SocioController {
         return new ResponseEntity<>(socioService.crearSocio(request), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Crear socios en lote con resultado por elemento")
+    public ResponseEntity<ResultadoLoteDTO> crearSociosEnLote(@RequestBody List<SocioRequestDTO> requests) {
+        return ResponseEntity.ok(socioService.crearSociosEnLote(requests));
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Actualizar socio existente")
+    @Operation(summary = "Actualizar socio existente; con If-Match responde 412 si la versión cambió")
     public ResponseEntity<SocioResponseDTO> actualizarSocio(
             @PathVariable UUID id,
-            @Valid @RequestBody SocioRequestDTO request) {
-        return ResponseEntity.ok(socioService.actualizarSocio(id, request));
+            @Valid @RequestBody SocioRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        SocioResponseDTO actualizado = socioService.actualizarSocio(id, request, EtagsSocio.versionEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(EtagsSocio.de(actualizado)).body(actualizado);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Obtener socio por ID")
-    public ResponseEntity<SocioResponseDTO> obtenerSocio(@PathVariable UUID id) {
-        return ResponseEntity.ok(socioService.obtenerSocioPorId(id));
+    @Operation(summary = "Obtener socio por ID; con If-None-Match responde 304 si no cambió")
+    public ResponseEntity<SocioResponseDTO> obtenerSocio(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "false") boolean incluirInactivos,
+            WebRequest webRequest) {
+        SocioResponseDTO socio = socioService.obtenerSocioPorId(id, incluirInactivos);
+        return condicional(socio, EtagsSocio.de(socio), webRequest);
     }
 
     @GetMapping
-    @Operation(summary = "Obtener todos los socios")
-    public ResponseEntity<List<SocioResponseDTO>> obtenerTodos() {
-        return ResponseEntity.ok(socioService.obtenerTodosLosSocios());
+    @Operation(summary = "Listar socios paginados por cursor; con If-None-Match responde 304 si no cambió")
+    public ResponseEntity<PaginaSociosDTO> obtenerTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano,
+            @RequestParam(defaultValue = "false") boolean incluirInactivos,
+            WebRequest webRequest) {
+        PaginaSociosDTO pagina = socioService.obtenerPaginaSocios(cursor, tamano, incluirInactivos);
+        return condicional(pagina, EtagsSocio.de(pagina), webRequest);
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Eliminar socio (lógico)")
+    @Operation(summary = "Eliminar socio (lógico: queda inactivo y deja de aparecer en las lecturas)")
     public ResponseEntity<Void> eliminarSocio(@PathVariable UUID id) {
         socioService.eliminarSocio(id);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/batch/eliminacion")
+    @Operation(summary = "Eliminar socios en lote (lógico) con resultado por ID")
+    public ResponseEntity<ResultadoEliminacionLoteDTO> eliminarSociosEnLote(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(socioService.eliminarSociosEnLote(ids));
+    }
+
     @GetMapping("/identificacion/{identificacion}")
     @Operation(summary = "Buscar socio por identificación")
     public ResponseEntity<SocioResponseDTO> buscarPorIdentificacion(
-            @PathVariable String identificacion) {
-        return ResponseEntity.ok(socioService.obtenerSocioPorIdentificacion(identificacion));
+            @PathVariable String identificacion,
+            @RequestParam(defaultValue = "false") boolean incluirInactivos,
+            WebRequest webRequest) {
+        SocioResponseDTO socio = socioService.obtenerSocioPorIdentificacion(identificacion, incluirInactivos);
+        return condicional(socio, EtagsSocio.de(socio), webRequest);
+    }
+
+    @GetMapping("/busqueda")
+    @Operation(summary = "Buscar socios por nombres, apellidos o email, sin distinguir tildes ni mayúsculas")
+    public ResponseEntity<ResultadoBusquedaDTO> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer pagina,
+            @RequestParam(required = false) Integer tamano,
+            @RequestParam(defaultValue = "false") boolean incluirInactivos) {
+        return ResponseEntity.ok(socioService.buscarSocios(q, pagina, tamano, incluirInactivos));
+    }
+
+    @GetMapping("/exportacion")
+    @Operation(summary = "Exportar todos los socios en streaming (NDJSON o CSV)")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacion formato,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        StreamingResponseBody cuerpo = salida -> {
+            if (gzip) {
+                try (GZIPOutputStream comprimido = new GZIPOutputStream(salida, true)) {
+                    exportacionSociosService.exportar(comprimido, formato);
+                }
+            } else {
+                exportacionSociosService.exportar(salida, formato);
+            }
+        };
+
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"socios." + formato.getExtension() + "\"");
+        if (gzip) {
+            respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return respuesta.body(cuerpo);
+    }
+
+    @GetMapping("/cache/estadisticas")
+    @Operation(summary = "Contadores de aciertos, fallos y desalojos de la caché de socios")
+    public ResponseEntity<EstadisticasCacheDTO> estadisticasCache() {
+        return ResponseEntity.ok(socioCache.estadisticas());
+    }
+
+    // Con 304 no se serializa el cuerpo
+    private static <T> ResponseEntity<T> condicional(T cuerpo, String etag, WebRequest webRequest) {
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(cuerpo);
     }
 }
@@ -0,0 +1,25 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Contadores acumulados de una caché")
+public class EstadisticasCacheDTO {
+
+    @Schema(example = "1520")
+    private long aciertos;
+
+    @Schema(example = "87")
+    private long fallos;
+
+    @Schema(description = "Entradas desalojadas por tamaño o expiración", example = "12")
+    private long desalojos;
+
+    @Schema(description = "Entradas actuales (aproximado)", example = "75")
+    private long entradas;
+}
@@ -0,0 +1,8 @@
+package ec.fin.coacandes.socios.dto;
+
+public enum EstadoEliminacion {
+    ELIMINADO,
+    NO_ENCONTRADO,
+    CUENTAS_ACTIVAS,
+    CUENTAS_NO_DISPONIBLE
+}
@@ -0,0 +1,8 @@
+package ec.fin.coacandes.socios.dto;
+
+public enum EstadoImportacion {
+    EN_COLA,
+    EN_PROCESO,
+    COMPLETADA,
+    FALLIDA
+}
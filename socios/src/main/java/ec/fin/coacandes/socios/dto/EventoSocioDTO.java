@@ -0,0 +1,34 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cambio de un socio publicado desde el outbox")
+public class EventoSocioDTO {
+
+    @Schema(description = "Identificador del evento; se repite si el evento se publica más de una vez")
+    private UUID id;
+
+    @Schema(example = "ACTUALIZADO")
+    private TipoEventoSocio tipo;
+
+    private UUID socioId;
+
+    @Schema(description = "Versión del socio tras el cambio; el consumidor descarta las menores a la que ya tiene",
+            example = "3")
+    private Long version;
+
+    @Schema(example = "2024-01-15T10:30:00")
+    private LocalDateTime ocurridoEn;
+
+    @Schema(description = "Estado del socio tras el cambio (activo = false en ELIMINADO)")
+    private SocioResponseDTO socio;
+}
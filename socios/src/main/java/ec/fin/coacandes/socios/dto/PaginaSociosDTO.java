@@ -0,0 +1,25 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de socios obtenida por cursor")
+public class PaginaSociosDTO {
+
+    @Schema(description = "Socios de la página, ordenados por fecha de creación")
+    private List<SocioResponseDTO> socios;
+
+    @Schema(description = "Token para solicitar la página siguiente; null si no hay más resultados",
+            example = "MjAyNC0wMS0xNVQxMDozMDowMHwxMjNlNDU2Ny1lODliLTEyZDMtYTQ1Ni00MjY2MTQxNzQwMDA")
+    private String siguienteCursor;
+
+    @Schema(description = "Tamaño de página aplicado", example = "50")
+    private int tamano;
+}
@@ -0,0 +1,42 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Avance de una importación masiva de socios")
+public class ProgresoImportacionDTO {
+
+    @Schema(description = "ID del trabajo de importación")
+    private UUID id;
+
+    @Schema(example = "EN_PROCESO")
+    private EstadoImportacion estado;
+
+    @Schema(description = "Registros de datos leídos del archivo (sin la cabecera)", example = "250000")
+    private long filasLeidas;
+
+    @Schema(example = "249870")
+    private long filasImportadas;
+
+    @Schema(example = "130")
+    private long filasRechazadas;
+
+    @Schema(description = "Filas importadas por segundo desde el inicio", example = "48000.5")
+    private double filasPorSegundo;
+
+    private LocalDateTime inicio;
+
+    private LocalDateTime fin;
+
+    @Schema(description = "Primeros errores encontrados, con el número de registro")
+    private List<String> errores;
+}
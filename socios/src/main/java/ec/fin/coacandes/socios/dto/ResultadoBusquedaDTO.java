@@ -0,0 +1,27 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de resultados de la búsqueda de socios")
+public class ResultadoBusquedaDTO {
+
+    @Schema(description = "Socios de la página: primero las coincidencias por prefijo y luego las aproximadas")
+    private List<SocioResponseDTO> socios;
+
+    @Schema(description = "Total de socios que coinciden", example = "137")
+    private long total;
+
+    @Schema(description = "Número de página, desde 0", example = "0")
+    private int pagina;
+
+    @Schema(description = "Tamaño de página aplicado", example = "20")
+    private int tamano;
+}
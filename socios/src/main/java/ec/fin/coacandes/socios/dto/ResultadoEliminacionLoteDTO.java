@@ -0,0 +1,24 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de la eliminación de socios en lote")
+public class ResultadoEliminacionLoteDTO {
+
+    @Schema(example = "48")
+    private int eliminados;
+
+    @Schema(example = "2")
+    private int rechazados;
+
+    @Schema(description = "Un resultado por ID distinto, en el orden de la solicitud")
+    private List<ResultadoItemEliminacionDTO> resultados;
+}
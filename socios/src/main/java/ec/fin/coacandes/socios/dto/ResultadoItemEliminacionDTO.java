@@ -0,0 +1,23 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de la eliminación de un socio del lote")
+public class ResultadoItemEliminacionDTO {
+
+    private UUID id;
+
+    @Schema(example = "ELIMINADO")
+    private EstadoEliminacion estado;
+
+    @Schema(description = "Motivo si el socio no fue eliminado")
+    private String mensaje;
+}
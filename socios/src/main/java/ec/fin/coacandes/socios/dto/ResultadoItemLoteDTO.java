@@ -0,0 +1,31 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de un elemento del lote, en la misma posición que en la solicitud")
+public class ResultadoItemLoteDTO {
+
+    @Schema(description = "Posición del elemento en la solicitud", example = "0")
+    private int indice;
+
+    @Schema(example = "1712345678")
+    private String identificacion;
+
+    @Schema(example = "CREADO")
+    private EstadoItemLote estado;
+
+    @Schema(description = "ID asignado si el socio fue creado")
+    private UUID id;
+
+    @Schema(description = "Motivos de rechazo")
+    private List<String> errores;
+}
@@ -0,0 +1,23 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de la creación de socios en lote")
+public class ResultadoLoteDTO {
+
+    @Schema(example = "998")
+    private int creados;
+
+    @Schema(example = "2")
+    private int rechazados;
+
+    private List<ResultadoItemLoteDTO> resultados;
+}
@@ -1,12 +1,16 @@
 package ec.fin.coacandes.socios.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // Lo usan las proyecciones de SocioRepository: el orden de los campos importa
 @Schema(description = "DTO para respuesta de socios")
 public class SocioResponseDTO {
 
@@ -42,4 +46,7 @@ public class SocioResponseDTO {
 
     @Schema(example = "2024-01-15T10:30:00")
     private LocalDateTime fechaActualizacion;
+
+    @Schema(description = "Versión para control de concurrencia; es la ETag del socio", example = "3")
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package ec.fin.coacandes.socios.dto;
+
+public enum TipoEventoSocio {
+    CREADO,
+    ACTUALIZADO,
+    ELIMINADO
+}
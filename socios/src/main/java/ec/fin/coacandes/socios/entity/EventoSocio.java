@@ -0,0 +1,46 @@
+package ec.fin.coacandes.socios.entity;
+
+import ec.fin.coacandes.socios.dto.TipoEventoSocio;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cambio de un socio pendiente de publicar (outbox). Se inserta en la misma transacción que el cambio
+ * y se borra cuando el relay lo publica.
+ */
+@Entity
+@Table(name = "socios_outbox")
+@Data
+public class EventoSocio {
+
+    // UUID v7: ordena por momento de creación sin secuencia ni IDENTITY (permite el batching)
+    @Id
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoEventoSocio tipo;
+
+    @Column(name = "socio_id", nullable = false)
+    private UUID socioId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "ocurrido_en", nullable = false)
+    private LocalDateTime ocurridoEn;
+
+    // SocioResponseDTO en JSON, tal como quedó el socio en esta transacción
+    @Column(nullable = false, length = 4000)
+    private String socio;
+}
@@ -2,6 +2,7 @@ package ec.fin.coacandes.socios.entity;
 
 
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,12 +11,16 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "socios")
+@Table(name = "socios", indexes = {
+        // Soporta la paginación por cursor (keyset) sobre fecha_creacion/id
+        @Index(name = "idx_socios_fecha_creacion_id", columnList = "fecha_creacion, id")
+})
 @Data
 public class Socio {
 
+    // UUID generado en memoria: a diferencia de IDENTITY, no impide el batching de inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(unique = true, nullable = false, length = 13)
@@ -49,4 +54,11 @@ public class Socio {
     @UpdateTimestamp
     @Column(name = "fecha_actualizacion")
     private LocalDateTime fechaActualizacion;
+
+    // Null hasta persistir: Spring Data lo usa para distinguir socios nuevos. El default rellena las
+    // filas existentes cuando ddl-auto=update agrega la columna
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
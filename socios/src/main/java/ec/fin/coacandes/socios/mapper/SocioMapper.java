@@ -0,0 +1,20 @@
+package ec.fin.coacandes.socios.mapper;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+
+/**
+ * Conversión entre la entidad {@link Socio} y sus DTOs.
+ */
+public interface SocioMapper {
+
+    Socio aEntidad(SocioRequestDTO request);
+
+    /**
+     * Copia los campos editables del request sobre una entidad existente.
+     */
+    void actualizarEntidad(SocioRequestDTO request, Socio socio);
+
+    SocioResponseDTO aResponse(Socio socio);
+}
@@ -0,0 +1,50 @@
+package ec.fin.coacandes.socios.mapper;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapeo escrito a mano: sin reflexión ni búsqueda de type maps en cada llamada,
+ * y una sola asignación de objeto por conversión.
+ */
+@Component
+public class SocioMapperImpl implements SocioMapper {
+
+    @Override
+    public Socio aEntidad(SocioRequestDTO request) {
+        Socio socio = new Socio();
+        actualizarEntidad(request, socio);
+        return socio;
+    }
+
+    @Override
+    public void actualizarEntidad(SocioRequestDTO request, Socio socio) {
+        socio.setIdentificacion(request.getIdentificacion());
+        socio.setNombres(request.getNombres());
+        socio.setApellidos(request.getApellidos());
+        socio.setEmail(request.getEmail());
+        socio.setTelefono(request.getTelefono());
+        socio.setDireccion(request.getDireccion());
+        socio.setTipoIdentificacion(request.getTipoIdentificacion());
+    }
+
+    @Override
+    public SocioResponseDTO aResponse(Socio socio) {
+        SocioResponseDTO response = new SocioResponseDTO();
+        response.setId(socio.getId());
+        response.setIdentificacion(socio.getIdentificacion());
+        response.setNombres(socio.getNombres());
+        response.setApellidos(socio.getApellidos());
+        response.setEmail(socio.getEmail());
+        response.setTelefono(socio.getTelefono());
+        response.setDireccion(socio.getDireccion());
+        response.setTipoIdentificacion(socio.getTipoIdentificacion());
+        response.setActivo(socio.getActivo());
+        response.setFechaCreacion(socio.getFechaCreacion());
+        response.setFechaActualizacion(socio.getFechaActualizacion());
+        response.setVersion(socio.getVersion());
+        return response;
+    }
+}
@@ -0,0 +1,21 @@
+package ec.fin.coacandes.socios.repository;
+
+import ec.fin.coacandes.socios.entity.Socio;
+
+import java.util.List;
+
+/**
+ * Inserción masiva de socios ya validados, sin pasar por el contexto de persistencia.
+ * Debe invocarse dentro de una transacción; los socios deben traer id y fechas asignados
+ * (la versión se inserta en 0).
+ */
+public interface CargadorSocios {
+
+    String COLUMNAS = "id, identificacion, nombres, apellidos, email, telefono, direccion, "
+            + "activo, tipo_identificacion, fecha_creacion, fecha_actualizacion, version";
+
+    /**
+     * @return número de filas insertadas
+     */
+    int cargar(List<Socio> socios);
+}
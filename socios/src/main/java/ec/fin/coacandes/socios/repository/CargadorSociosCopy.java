@@ -0,0 +1,73 @@
+package ec.fin.coacandes.socios.repository;
+
+import ec.fin.coacandes.socios.entity.Socio;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Carga mediante COPY ... FROM STDIN de PostgreSQL: un único comando por lote.
+ */
+public class CargadorSociosCopy implements CargadorSocios {
+
+    private static final String SQL = "COPY socios (" + COLUMNAS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+
+    public CargadorSociosCopy(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public int cargar(List<Socio> socios) {
+        if (socios.isEmpty()) {
+            return 0;
+        }
+        StringBuilder csv = new StringBuilder(socios.size() * 200);
+        for (Socio socio : socios) {
+            agregarFila(csv, socio);
+        }
+
+        // Conexión ligada a la transacción en curso
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            long filas = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(SQL, new StringReader(csv.toString()));
+            return (int) filas;
+        } catch (SQLException | IOException e) {
+            throw new DataAccessResourceFailureException("Error en COPY de socios: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    static void agregarFila(StringBuilder csv, Socio socio) {
+        csv.append(socio.getId()).append(',');
+        agregarTexto(csv, socio.getIdentificacion()).append(',');
+        agregarTexto(csv, socio.getNombres()).append(',');
+        agregarTexto(csv, socio.getApellidos()).append(',');
+        agregarTexto(csv, socio.getEmail()).append(',');
+        agregarTexto(csv, socio.getTelefono()).append(',');
+        agregarTexto(csv, socio.getDireccion()).append(',');
+        csv.append(socio.getActivo()).append(',');
+        agregarTexto(csv, socio.getTipoIdentificacion()).append(',');
+        csv.append(socio.getFechaCreacion()).append(',');
+        csv.append(socio.getFechaActualizacion()).append(',');
+        csv.append(0).append('\n');
+    }
+
+    // En FORMAT csv un campo vacío sin comillas es NULL; los textos siempre van entre comillas
+    private static StringBuilder agregarTexto(StringBuilder csv, String valor) {
+        if (valor == null) {
+            return csv;
+        }
+        return csv.append('"').append(valor.replace("\"", "\"\"")).append('"');
+    }
+}
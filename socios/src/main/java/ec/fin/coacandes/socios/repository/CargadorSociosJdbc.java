@@ -0,0 +1,46 @@
+package ec.fin.coacandes.socios.repository;
+
+import ec.fin.coacandes.socios.entity.Socio;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Carga mediante batch JDBC; alternativa para bases sin COPY (H2 en pruebas).
+ */
+public class CargadorSociosJdbc implements CargadorSocios {
+
+    private static final String SQL = "INSERT INTO socios (" + COLUMNAS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanoBatch;
+
+    public CargadorSociosJdbc(JdbcTemplate jdbcTemplate, int tamanoBatch) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanoBatch = tamanoBatch;
+    }
+
+    @Override
+    public int cargar(List<Socio> socios) {
+        int[][] resultados = jdbcTemplate.batchUpdate(SQL, socios, tamanoBatch, (ps, socio) -> {
+            ps.setObject(1, socio.getId());
+            ps.setString(2, socio.getIdentificacion());
+            ps.setString(3, socio.getNombres());
+            ps.setString(4, socio.getApellidos());
+            ps.setString(5, socio.getEmail());
+            ps.setString(6, socio.getTelefono());
+            ps.setString(7, socio.getDireccion());
+            ps.setBoolean(8, socio.getActivo());
+            ps.setString(9, socio.getTipoIdentificacion());
+            ps.setTimestamp(10, Timestamp.valueOf(socio.getFechaCreacion()));
+            ps.setTimestamp(11, Timestamp.valueOf(socio.getFechaActualizacion()));
+        });
+        int filas = 0;
+        for (int[] lote : resultados) {
+            filas += lote.length;
+        }
+        return filas;
+    }
+}
@@ -0,0 +1,11 @@
+package ec.fin.coacandes.socios.repository;
+
+/**
+ * Proyección con las columnas únicas de un socio, sin cargar la entidad.
+ */
+public interface ClavesUnicasSocio {
+
+    String getIdentificacion();
+
+    String getEmail();
+}
@@ -0,0 +1,17 @@
+package ec.fin.coacandes.socios.repository;
+
+import java.util.UUID;
+
+/**
+ * Proyección con los campos que indexa la búsqueda de socios.
+ */
+public interface DatosBusquedaSocio {
+
+    UUID getId();
+
+    String getNombres();
+
+    String getApellidos();
+
+    String getEmail();
+}
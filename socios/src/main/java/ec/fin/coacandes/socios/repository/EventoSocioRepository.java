@@ -0,0 +1,25 @@
+package ec.fin.coacandes.socios.repository;
+
+import ec.fin.coacandes.socios.entity.EventoSocio;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface EventoSocioRepository extends JpaRepository<EventoSocio, UUID> {
+
+    /**
+     * Eventos pendientes más antiguos, bloqueados hasta el fin de la transacción. Con varias
+     * instancias cada relay salta las filas que ya tomó otro (SKIP LOCKED en PostgreSQL).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EventoSocio e order by e.id")
+    List<EventoSocio> findPendientes(Limit limit);
+}
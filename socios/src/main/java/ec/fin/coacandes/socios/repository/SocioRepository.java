@@ -1,18 +1,153 @@
 package ec.fin.coacandes.socios.repository;
 
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
 import ec.fin.coacandes.socios.entity.Socio;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface SocioRepository extends JpaRepository<Socio, UUID> {
 
+    String FETCH_SIZE_EXPORTACION = "500";
+
+    /**
+     * Proyección directa a SocioResponseDTO para las lecturas por consulta: sin entidades en el contexto
+     * de persistencia ni mapeo posterior. La lectura por id sigue usando findById, que no compila JPQL y
+     * asigna menos. Los argumentos siguen el orden de los campos del DTO.
+     */
+    String SELECT_RESPONSE = "select new ec.fin.coacandes.socios.dto.SocioResponseDTO(s.id, s.identificacion, "
+            + "s.nombres, s.apellidos, s.email, s.telefono, s.direccion, s.tipoIdentificacion, s.activo, "
+            + "s.fechaCreacion, s.fechaActualizacion, s.version) from Socio s ";
+
     Optional<Socio> findByIdentificacion(String identificacion);
 
+    @Query(SELECT_RESPONSE + "where s.identificacion = :identificacion")
+    Optional<SocioResponseDTO> findResponseByIdentificacion(@Param("identificacion") String identificacion);
+
+    @Query(SELECT_RESPONSE + "where s.id in :ids")
+    List<SocioResponseDTO> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
+
     boolean existsByIdentificacion(String identificacion);
 
+    boolean existsByEmail(String email);
+
+    /**
+     * Con transacción propia como findById: la eliminación las llama fuera de transacción y, sin
+     * ella, el EntityManager quedaría ligado a la llamada y retendría la conexión mientras se
+     * consulta el servicio de cuentas.
+     */
+    @Transactional(readOnly = true)
     Optional<Socio> findByIdAndActivoTrue(UUID id);
+
+    @Transactional(readOnly = true)
+    List<Socio> findAllByIdInAndActivoTrue(Collection<UUID> ids);
+
+    /**
+     * Eliminación lógica en lote con un solo UPDATE; incrementa la versión como lo haría Hibernate
+     * al actualizar cada entidad, para que los ETags emitidos antes dejen de ser válidos.
+     */
+    @Modifying
+    @Query("update Socio s set s.activo = false, s.version = s.version + 1, s.fechaActualizacion = :fecha "
+            + "where s.id in :ids and s.activo = true")
+    int desactivar(@Param("ids") Collection<UUID> ids, @Param("fecha") LocalDateTime fecha);
+
+    @Query("select s.identificacion from Socio s where s.identificacion in :identificaciones")
+    Set<String> findIdentificacionesExistentes(@Param("identificaciones") Collection<String> identificaciones);
+
+    @Query("select s.email from Socio s where s.email in :emails")
+    Set<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    /**
+     * Primera página del listado ordenado por (fecha_creacion, id), incluidos los socios inactivos.
+     * Usa el índice idx_socios_fecha_creacion_id y no ejecuta COUNT(*).
+     */
+    @Query(SELECT_RESPONSE + "order by s.fechaCreacion asc, s.id asc")
+    List<SocioResponseDTO> findPrimeraPagina(Limit limit);
+
+    /**
+     * Primera página de socios activos. En PostgreSQL usa el índice parcial idx_socios_activos_fecha_creacion_id
+     * (ver IndiceSociosActivos), que no crece con los socios eliminados.
+     */
+    @Query(SELECT_RESPONSE + "where s.activo = true order by s.fechaCreacion asc, s.id asc")
+    List<SocioResponseDTO> findPrimeraPaginaActivos(Limit limit);
+
+    /**
+     * Página siguiente a la posición (fechaCreacion, id) indicada por el cursor.
+     */
+    @Query(SELECT_RESPONSE +
+            "where s.fechaCreacion > :fechaCreacion " +
+            "or (s.fechaCreacion = :fechaCreacion and s.id > :id) " +
+            "order by s.fechaCreacion asc, s.id asc")
+    List<SocioResponseDTO> findPaginaDespuesDe(@Param("fechaCreacion") LocalDateTime fechaCreacion,
+                                               @Param("id") UUID id,
+                                               Limit limit);
+
+    @Query(SELECT_RESPONSE +
+            "where s.activo = true and (s.fechaCreacion > :fechaCreacion " +
+            "or (s.fechaCreacion = :fechaCreacion and s.id > :id)) " +
+            "order by s.fechaCreacion asc, s.id asc")
+    List<SocioResponseDTO> findPaginaActivosDespuesDe(@Param("fechaCreacion") LocalDateTime fechaCreacion,
+                                                      @Param("id") UUID id,
+                                                      Limit limit);
+
+    /**
+     * Recorre toda la tabla con un cursor JDBC; debe consumirse dentro de una transacción
+     * y cerrarse al terminar.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Socio s")
+    Stream<Socio> streamAllBy();
+
+    /**
+     * Recorre identificación y email de todos los socios sin cargar entidades en el contexto de
+     * persistencia; debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION))
+    @Query("select s.identificacion as identificacion, s.email as email from Socio s")
+    Stream<ClavesUnicasSocio> streamClavesUnicasBy();
+
+    /**
+     * Campos del índice de búsqueda de los socios activos, con las mismas condiciones que
+     * {@link #streamClavesUnicasBy()}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION))
+    @Query("select s.id as id, s.nombres as nombres, s.apellidos as apellidos, s.email as email from Socio s "
+            + "where s.activo = true")
+    Stream<DatosBusquedaSocio> streamDatosBusquedaActivos();
+
+    String FILTRO_TEXTO = "lower(s.nombres) like :patron escape '\\' "
+            + "or lower(s.apellidos) like :patron escape '\\' or lower(s.email) like :patron escape '\\'";
+
+    /**
+     * Búsqueda por subcadena, sensible a tildes, mientras el índice en memoria no está disponible.
+     * El patrón debe venir en minúsculas con % y _ escapados con \.
+     */
+    @Query(value = SELECT_RESPONSE + "where " + FILTRO_TEXTO,
+            countQuery = "select count(s) from Socio s where " + FILTRO_TEXTO)
+    Page<SocioResponseDTO> buscarPorTexto(@Param("patron") String patron, Pageable pageable);
+
+    @Query(value = SELECT_RESPONSE + "where s.activo = true and (" + FILTRO_TEXTO + ")",
+            countQuery = "select count(s) from Socio s where s.activo = true and (" + FILTRO_TEXTO + ")")
+    Page<SocioResponseDTO> buscarPorTextoActivos(@Param("patron") String patron, Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package ec.fin.coacandes.socios.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posición opaca dentro del listado paginado por (fechaCreacion, id).
+ * El cliente solo recibe y devuelve el token codificado; su formato interno puede cambiar.
+ */
+public record CursorSocio(LocalDateTime fechaCreacion, UUID id) {
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        String valor = fechaCreacion + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException si el token no fue generado por {@link #codificar()}
+     */
+    public static CursorSocio decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            return new CursorSocio(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    UUID.fromString(valor.substring(separador + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
+}
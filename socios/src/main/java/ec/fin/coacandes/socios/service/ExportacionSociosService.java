@@ -0,0 +1,13 @@
+package ec.fin.coacandes.socios.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportacionSociosService {
+
+    /**
+     * Escribe todos los socios en el flujo indicado sin materializar la tabla en memoria.
+     * @return número de socios exportados
+     */
+    long exportar(OutputStream salida, FormatoExportacion formato) throws IOException;
+}
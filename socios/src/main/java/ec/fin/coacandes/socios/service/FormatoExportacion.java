@@ -0,0 +1,26 @@
+package ec.fin.coacandes.socios.service;
+
+/**
+ * Formatos soportados por la exportación completa de socios.
+ */
+public enum FormatoExportacion {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    FormatoExportacion(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
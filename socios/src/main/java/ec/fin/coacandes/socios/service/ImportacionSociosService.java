@@ -0,0 +1,17 @@
+package ec.fin.coacandes.socios.service;
+
+import ec.fin.coacandes.socios.dto.ProgresoImportacionDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface ImportacionSociosService {
+
+    /**
+     * Guarda el CSV recibido en un archivo temporal y encola su importación en segundo plano.
+     */
+    ProgresoImportacionDTO iniciar(InputStream csv) throws IOException;
+
+    ProgresoImportacionDTO obtenerProgreso(UUID id);
+}
@@ -0,0 +1,90 @@
+package ec.fin.coacandes.socios.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV (RFC 4180) que entrega un registro a la vez, sin cargar el archivo en memoria.
+ * Soporta campos entre comillas con comas, saltos de línea y comillas escapadas ("").
+ */
+public class LectorCsv implements Closeable {
+
+    private final Reader reader;
+    private final StringBuilder campo = new StringBuilder();
+    private long registros;
+    private boolean fin;
+
+    public LectorCsv(Reader reader) {
+        // mark/reset se usa para distinguir "" (comilla escapada) del cierre de un campo
+        this.reader = reader.markSupported() ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * @return los campos del siguiente registro, o null al final del archivo
+     */
+    public List<String> siguienteRegistro() throws IOException {
+        if (fin) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreComillas = false;
+        boolean leyoAlgo = false;
+
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                fin = true;
+                if (!leyoAlgo) {
+                    return null;
+                }
+                campos.add(campo.toString());
+                registros++;
+                return campos;
+            }
+            leyoAlgo = true;
+            char caracter = (char) c;
+
+            if (entreComillas) {
+                if (caracter == '"') {
+                    reader.mark(1);
+                    int siguiente = reader.read();
+                    if (siguiente == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        if (siguiente != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    campo.append(caracter);
+                }
+            } else if (caracter == '"') {
+                entreComillas = true;
+            } else if (caracter == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (caracter == '\n') {
+                campos.add(campo.toString());
+                registros++;
+                return campos;
+            } else if (caracter != '\r') {
+                campo.append(caracter);
+            }
+        }
+    }
+
+    public long getRegistrosLeidos() {
+        return registros;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
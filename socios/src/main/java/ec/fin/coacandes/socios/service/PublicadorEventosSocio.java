@@ -0,0 +1,19 @@
+package ec.fin.coacandes.socios.service;
+
+import ec.fin.coacandes.socios.dto.EventoSocioDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino de los eventos del outbox ({@code socios.outbox.destino}). Si lanza una excepción el lote
+ * queda pendiente y se reintenta completo: la entrega es al menos una vez y el consumidor descarta
+ * los eventos repetidos por id o por versión.
+ */
+public interface PublicadorEventosSocio {
+
+    /**
+     * Publica el lote en orden; debe volver solo cuando el destino lo haya guardado.
+     */
+    void publicar(List<EventoSocioDTO> eventos) throws IOException;
+}
@@ -0,0 +1,16 @@
+package ec.fin.coacandes.socios.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * La versión del socio no coincide con la esperada por el cliente (If-Match) o cambió durante la
+ * actualización.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class SocioModificadoException extends IllegalStateException {
+
+    public SocioModificadoException(String message) {
+        super(message);
+    }
+}
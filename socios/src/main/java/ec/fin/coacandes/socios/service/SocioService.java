@@ -1,5 +1,9 @@
 package ec.fin.coacandes.socios.service;
 
+import ec.fin.coacandes.socios.dto.PaginaSociosDTO;
+import ec.fin.coacandes.socios.dto.ResultadoBusquedaDTO;
+import ec.fin.coacandes.socios.dto.ResultadoEliminacionLoteDTO;
+import ec.fin.coacandes.socios.dto.ResultadoLoteDTO;
 import ec.fin.coacandes.socios.dto.SocioRequestDTO;
 import ec.fin.coacandes.socios.dto.SocioResponseDTO;
 
@@ -9,13 +13,49 @@ import java.util.UUID;
 public interface SocioService {
     SocioResponseDTO crearSocio(SocioRequestDTO request);
 
-    SocioResponseDTO actualizarSocio(UUID id, SocioRequestDTO request);
+    ResultadoLoteDTO crearSociosEnLote(List<SocioRequestDTO> requests);
 
-    SocioResponseDTO obtenerSocioPorId(UUID id);
+    default SocioResponseDTO actualizarSocio(UUID id, SocioRequestDTO request) {
+        return actualizarSocio(id, request, null);
+    }
 
-    List<SocioResponseDTO> obtenerTodosLosSocios();
+    /**
+     * @param versionEsperada versión que el cliente leyó (If-Match); null para no verificarla
+     * @throws SocioModificadoException si la versión actual es otra
+     */
+    SocioResponseDTO actualizarSocio(UUID id, SocioRequestDTO request, Long versionEsperada);
 
+    default SocioResponseDTO obtenerSocioPorId(UUID id) {
+        return obtenerSocioPorId(id, false);
+    }
+
+    /**
+     * @param incluirInactivos true para devolver también socios eliminados (lógicamente)
+     */
+    SocioResponseDTO obtenerSocioPorId(UUID id, boolean incluirInactivos);
+
+    default PaginaSociosDTO obtenerPaginaSocios(String cursor, Integer tamano) {
+        return obtenerPaginaSocios(cursor, tamano, false);
+    }
+
+    PaginaSociosDTO obtenerPaginaSocios(String cursor, Integer tamano, boolean incluirInactivos);
+
+    /**
+     * Eliminación lógica: marca el socio como inactivo si no tiene cuentas activas.
+     */
     void eliminarSocio(UUID id);
 
-    SocioResponseDTO obtenerSocioPorIdentificacion(String identificacion);
+    ResultadoEliminacionLoteDTO eliminarSociosEnLote(List<UUID> ids);
+
+    default SocioResponseDTO obtenerSocioPorIdentificacion(String identificacion) {
+        return obtenerSocioPorIdentificacion(identificacion, false);
+    }
+
+    SocioResponseDTO obtenerSocioPorIdentificacion(String identificacion, boolean incluirInactivos);
+
+    default ResultadoBusquedaDTO buscarSocios(String texto, Integer pagina, Integer tamano) {
+        return buscarSocios(texto, pagina, tamano, false);
+    }
+
+    ResultadoBusquedaDTO buscarSocios(String texto, Integer pagina, Integer tamano, boolean incluirInactivos);
 }
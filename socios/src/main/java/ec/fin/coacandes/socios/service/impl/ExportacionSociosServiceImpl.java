@@ -0,0 +1,116 @@
+package ec.fin.coacandes.socios.service.impl;
+
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.service.ExportacionSociosService;
+import ec.fin.coacandes.socios.service.FormatoExportacion;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportacionSociosServiceImpl implements ExportacionSociosService {
+
+    static final String CABECERA_CSV = "id,identificacion,nombres,apellidos,email,telefono,direccion,"
+            + "tipoIdentificacion,activo,fechaCreacion,fechaActualizacion";
+
+    // Cada cuántas filas se vacía el buffer hacia el cliente
+    private static final int FILAS_POR_FLUSH = 1000;
+
+    private final SocioRepository socioRepository;
+    private final SocioMapper socioMapper;
+    private final JsonMapper jsonMapper;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream salida, FormatoExportacion formato) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(salida);
+        Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+        long filas = 0;
+
+        try (Stream<Socio> socios = socioRepository.streamAllBy()) {
+            if (formato == FormatoExportacion.CSV) {
+                writer.write(CABECERA_CSV);
+                writer.write('\n');
+            }
+            // El primer byte sale de inmediato, sin esperar a llenar el buffer
+            writer.flush();
+
+            Iterator<Socio> iterador = socios.iterator();
+            while (iterador.hasNext()) {
+                Socio socio = iterador.next();
+                if (formato == FormatoExportacion.CSV) {
+                    escribirCsv(writer, socio);
+                } else {
+                    escribirNdjson(writer, socio);
+                }
+                // Evita que el contexto de persistencia crezca con la tabla
+                entityManager.detach(socio);
+                if (++filas % FILAS_POR_FLUSH == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        log.info("Exportación {} completada: {} socios", formato, filas);
+        return filas;
+    }
+
+    private void escribirNdjson(Writer writer, Socio socio) throws IOException {
+        writer.write(jsonMapper.writeValueAsString(socioMapper.aResponse(socio)));
+        writer.write('\n');
+    }
+
+    private void escribirCsv(Writer writer, Socio socio) throws IOException {
+        writer.write(String.valueOf(socio.getId()));
+        writer.write(',');
+        writer.write(escaparCsv(socio.getIdentificacion()));
+        writer.write(',');
+        writer.write(escaparCsv(socio.getNombres()));
+        writer.write(',');
+        writer.write(escaparCsv(socio.getApellidos()));
+        writer.write(',');
+        writer.write(escaparCsv(socio.getEmail()));
+        writer.write(',');
+        writer.write(escaparCsv(socio.getTelefono()));
+        writer.write(',');
+        writer.write(escaparCsv(socio.getDireccion()));
+        writer.write(',');
+        writer.write(escaparCsv(socio.getTipoIdentificacion()));
+        writer.write(',');
+        writer.write(String.valueOf(socio.getActivo()));
+        writer.write(',');
+        writer.write(socio.getFechaCreacion() == null ? "" : socio.getFechaCreacion().toString());
+        writer.write(',');
+        writer.write(socio.getFechaActualizacion() == null ? "" : socio.getFechaActualizacion().toString());
+        writer.write('\n');
+    }
+
+    static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0
+                && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
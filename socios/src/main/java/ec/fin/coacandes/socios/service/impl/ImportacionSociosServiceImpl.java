@@ -0,0 +1,366 @@
+package ec.fin.coacandes.socios.service.impl;
+
+import ec.fin.coacandes.socios.cache.FiltrosUnicidadSocios;
+import ec.fin.coacandes.socios.cache.IndiceBusquedaSocios;
+import ec.fin.coacandes.socios.dto.EstadoImportacion;
+import ec.fin.coacandes.socios.dto.ProgresoImportacionDTO;
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.TipoEventoSocio;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.repository.CargadorSocios;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.service.ImportacionSociosService;
+import ec.fin.coacandes.socios.service.LectorCsv;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importación masiva de socios desde CSV. El archivo se lee por lotes de
+ * {@code socios.importacion.tamano-lote} filas; cada lote se valida en paralelo, se descartan
+ * identificaciones y emails ya registrados con una consulta por columna y se inserta con
+ * {@link CargadorSocios} (COPY en PostgreSQL) en su propia transacción. El progreso de una
+ * importación terminada se conserva {@code socios.importacion.retencion} y se descarta al iniciar otra.
+ */
+@Service
+@Slf4j
+public class ImportacionSociosServiceImpl implements ImportacionSociosService {
+
+    static final int MAXIMO_ERRORES = 100;
+
+    private static final List<String> COLUMNAS_OBLIGATORIAS =
+            List.of("identificacion", "nombres", "apellidos", "tipoIdentificacion");
+
+    private final SocioRepository socioRepository;
+    private final CargadorSocios cargadorSocios;
+    private final SocioMapper socioMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor importacionExecutor;
+    private final FiltrosUnicidadSocios filtrosUnicidad;
+    private final IndiceBusquedaSocios indiceBusqueda;
+    private final RegistroEventosSocio registroEventos;
+    private final Map<UUID, Importacion> importaciones = new ConcurrentHashMap<>();
+
+    @Value("${socios.importacion.tamano-lote:5000}")
+    private int tamanoLote;
+
+    @Value("${socios.importacion.retencion:1h}")
+    private Duration retencion = Duration.ofHours(1);
+
+    public ImportacionSociosServiceImpl(SocioRepository socioRepository,
+                                        CargadorSocios cargadorSocios,
+                                        SocioMapper socioMapper,
+                                        Validator validator,
+                                        PlatformTransactionManager transactionManager,
+                                        @Qualifier("importacionExecutor") Executor importacionExecutor,
+                                        FiltrosUnicidadSocios filtrosUnicidad,
+                                        IndiceBusquedaSocios indiceBusqueda,
+                                        RegistroEventosSocio registroEventos) {
+        this.socioRepository = socioRepository;
+        this.cargadorSocios = cargadorSocios;
+        this.socioMapper = socioMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importacionExecutor = importacionExecutor;
+        this.filtrosUnicidad = filtrosUnicidad;
+        this.indiceBusqueda = indiceBusqueda;
+        this.registroEventos = registroEventos;
+    }
+
+    @Override
+    public ProgresoImportacionDTO iniciar(InputStream csv) throws IOException {
+        Path archivo = Files.createTempFile("socios-importacion-", ".csv");
+        try {
+            Files.copy(csv, archivo, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(archivo);
+            throw e;
+        }
+
+        descartarTerminadas();
+        Importacion importacion = new Importacion(UUID.randomUUID());
+        importaciones.put(importacion.id, importacion);
+        try {
+            importacionExecutor.execute(() -> procesar(importacion, archivo));
+        } catch (RejectedExecutionException e) {
+            importaciones.remove(importacion.id);
+            Files.deleteIfExists(archivo);
+            throw new IllegalStateException("Hay demasiadas importaciones en cola, intente más tarde", e);
+        }
+        return importacion.aDTO();
+    }
+
+    private void descartarTerminadas() {
+        long ahora = System.nanoTime();
+        importaciones.values().removeIf(importacion -> importacion.terminadaHace(ahora) > retencion.toNanos());
+    }
+
+    @Override
+    public ProgresoImportacionDTO obtenerProgreso(UUID id) {
+        Importacion importacion = importaciones.get(id);
+        if (importacion == null) {
+            throw new EntityNotFoundException("Importación no encontrada");
+        }
+        return importacion.aDTO();
+    }
+
+    void procesar(Importacion importacion, Path archivo) {
+        importacion.iniciar();
+        log.info("Importación {} iniciada", importacion.id);
+        try (LectorCsv lector = new LectorCsv(Files.newBufferedReader(archivo, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columnas = indexarCabecera(lector.siguienteRegistro());
+
+            List<FilaCsv> lote = new ArrayList<>(tamanoLote);
+            List<String> registro;
+            while ((registro = lector.siguienteRegistro()) != null) {
+                if (registro.size() == 1 && registro.get(0).isBlank()) {
+                    continue;
+                }
+                lote.add(aFila(lector.getRegistrosLeidos(), registro, columnas));
+                if (lote.size() == tamanoLote) {
+                    procesarLote(importacion, lote);
+                    lote = new ArrayList<>(tamanoLote);
+                }
+            }
+            procesarLote(importacion, lote);
+
+            importacion.terminar(EstadoImportacion.COMPLETADA);
+            ProgresoImportacionDTO progreso = importacion.aDTO();
+            log.info("Importación {} completada: {} importadas, {} rechazadas, {} filas/s",
+                    importacion.id, progreso.getFilasImportadas(), progreso.getFilasRechazadas(),
+                    Math.round(progreso.getFilasPorSegundo()));
+        } catch (Exception e) {
+            importacion.registrarError("Importación abortada: " + e.getMessage());
+            importacion.terminar(EstadoImportacion.FALLIDA);
+            log.error("Importación {} fallida: {}", importacion.id, e.getMessage(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                log.warn("No se pudo eliminar el archivo temporal {}: {}", archivo, e.getMessage());
+            }
+        }
+    }
+
+    private void procesarLote(Importacion importacion, List<FilaCsv> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        importacion.leidas.addAndGet(lote.size());
+
+        // Validación en paralelo: el Validator es thread-safe y es la parte más costosa por fila
+        List<List<String>> errores = lote.parallelStream().map(this::validar).toList();
+
+        List<FilaCsv> candidatos = new ArrayList<>(lote.size());
+        Set<String> identificaciones = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < lote.size(); i++) {
+            FilaCsv fila = lote.get(i);
+            SocioRequestDTO request = fila.request();
+            if (!errores.get(i).isEmpty()) {
+                importacion.rechazar(fila.registro(), String.join("; ", errores.get(i)));
+            } else if (identificaciones.contains(request.getIdentificacion())) {
+                importacion.rechazar(fila.registro(), "Identificación repetida en el archivo");
+            } else if (request.getEmail() != null && emails.contains(request.getEmail())) {
+                importacion.rechazar(fila.registro(), "Email repetido en el archivo");
+            } else {
+                identificaciones.add(request.getIdentificacion());
+                if (request.getEmail() != null) {
+                    emails.add(request.getEmail());
+                }
+                candidatos.add(fila);
+            }
+        }
+        if (candidatos.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Los lotes anteriores ya confirmaron, así que esto también cubre duplicados entre lotes
+            Set<String> identificacionesExistentes = filtrosUnicidad.identificacionesExistentes(identificaciones,
+                    socioRepository::findIdentificacionesExistentes);
+            Set<String> emailsExistentes = filtrosUnicidad.emailsExistentes(emails,
+                    socioRepository::findEmailsExistentes);
+
+            LocalDateTime ahora = LocalDateTime.now();
+            List<Socio> socios = new ArrayList<>(candidatos.size());
+            for (FilaCsv fila : candidatos) {
+                SocioRequestDTO request = fila.request();
+                if (identificacionesExistentes.contains(request.getIdentificacion())) {
+                    importacion.rechazar(fila.registro(), "Ya existe un socio con esta identificación");
+                } else if (request.getEmail() != null && emailsExistentes.contains(request.getEmail())) {
+                    importacion.rechazar(fila.registro(), "Ya existe un socio con este email");
+                } else {
+                    Socio socio = socioMapper.aEntidad(request);
+                    socio.setId(UUID.randomUUID());
+                    socio.setActivo(fila.activo());
+                    socio.setFechaCreacion(ahora);
+                    socio.setFechaActualizacion(ahora);
+                    socios.add(socio);
+                }
+            }
+            importacion.importadas.addAndGet(cargadorSocios.cargar(socios));
+            registroEventos.registrar(TipoEventoSocio.CREADO, socios);
+            socios.forEach(socio -> {
+                filtrosUnicidad.registrar(socio.getIdentificacion(), socio.getEmail());
+                indiceBusqueda.indexarDespuesDeCommit(socio);
+            });
+        });
+
+        ProgresoImportacionDTO progreso = importacion.aDTO();
+        log.info("Importación {}: {} leídas, {} importadas, {} rechazadas ({} filas/s)",
+                importacion.id, progreso.getFilasLeidas(), progreso.getFilasImportadas(),
+                progreso.getFilasRechazadas(), Math.round(progreso.getFilasPorSegundo()));
+    }
+
+    private List<String> validar(FilaCsv fila) {
+        Set<ConstraintViolation<SocioRequestDTO>> violaciones = validator.validate(fila.request());
+        List<String> errores = new ArrayList<>(violaciones.stream().map(ConstraintViolation::getMessage).sorted().toList());
+        if (fila.activo() == null) {
+            errores.add("El campo activo debe ser true/false, si/no o 1/0");
+        }
+        return errores;
+    }
+
+    private static Map<String, Integer> indexarCabecera(List<String> cabecera) {
+        if (cabecera == null) {
+            throw new IllegalArgumentException("El archivo está vacío");
+        }
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            columnas.put(cabecera.get(i).trim(), i);
+        }
+        for (String obligatoria : COLUMNAS_OBLIGATORIAS) {
+            if (!columnas.containsKey(obligatoria)) {
+                throw new IllegalArgumentException("Falta la columna obligatoria '" + obligatoria + "'");
+            }
+        }
+        return columnas;
+    }
+
+    private static FilaCsv aFila(long registro, List<String> valores, Map<String, Integer> columnas) {
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion(valor(valores, columnas, "identificacion"));
+        request.setNombres(valor(valores, columnas, "nombres"));
+        request.setApellidos(valor(valores, columnas, "apellidos"));
+        request.setEmail(valor(valores, columnas, "email"));
+        request.setTelefono(valor(valores, columnas, "telefono"));
+        request.setDireccion(valor(valores, columnas, "direccion"));
+        request.setTipoIdentificacion(valor(valores, columnas, "tipoIdentificacion"));
+        return new FilaCsv(registro, request, activo(valor(valores, columnas, "activo")));
+    }
+
+    // Sin valor el socio queda activo; un valor no reconocido se rechaza en vez de desactivarlo
+    private static Boolean activo(String valor) {
+        if (valor == null) {
+            return true;
+        }
+        return switch (valor.toLowerCase(Locale.ROOT)) {
+            case "true", "si", "sí", "1" -> true;
+            case "false", "no", "0" -> false;
+            default -> null;
+        };
+    }
+
+    // Columnas ausentes y celdas vacías se tratan como null
+    private static String valor(List<String> valores, Map<String, Integer> columnas, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // activo es null si la celda tiene un valor no reconocido
+    private record FilaCsv(long registro, SocioRequestDTO request, Boolean activo) {
+    }
+
+    static final class Importacion {
+
+        private final UUID id;
+        private final AtomicLong leidas = new AtomicLong();
+        private final AtomicLong importadas = new AtomicLong();
+        private final AtomicLong rechazadas = new AtomicLong();
+        private final List<String> errores = new ArrayList<>();
+        private volatile EstadoImportacion estado = EstadoImportacion.EN_COLA;
+        private volatile LocalDateTime inicio;
+        private volatile LocalDateTime fin;
+        private volatile long inicioNanos;
+        private volatile long finNanos;
+
+        Importacion(UUID id) {
+            this.id = id;
+        }
+
+        void iniciar() {
+            inicio = LocalDateTime.now();
+            inicioNanos = System.nanoTime();
+            estado = EstadoImportacion.EN_PROCESO;
+        }
+
+        void terminar(EstadoImportacion estadoFinal) {
+            // finNanos antes que fin: terminadaHace() lo lee cuando ve fin
+            finNanos = System.nanoTime();
+            fin = LocalDateTime.now();
+            estado = estadoFinal;
+        }
+
+        /**
+         * Nanosegundos desde que terminó; -1 si todavía no terminó.
+         */
+        long terminadaHace(long ahoraNanos) {
+            return fin == null ? -1 : ahoraNanos - finNanos;
+        }
+
+        void rechazar(long registro, String motivo) {
+            rechazadas.incrementAndGet();
+            registrarError("Registro " + registro + ": " + motivo);
+        }
+
+        synchronized void registrarError(String error) {
+            if (errores.size() < MAXIMO_ERRORES) {
+                errores.add(error);
+            }
+        }
+
+        synchronized ProgresoImportacionDTO aDTO() {
+            double filasPorSegundo = 0;
+            if (inicio != null) {
+                long nanos = (fin != null ? finNanos : System.nanoTime()) - inicioNanos;
+                filasPorSegundo = importadas.get() * 1_000_000_000d / Math.max(nanos, 1);
+            }
+            return new ProgresoImportacionDTO(id, estado, leidas.get(), importadas.get(), rechazadas.get(),
+                    filasPorSegundo, inicio, fin, List.copyOf(errores));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ec.fin.coacandes.socios.service.impl;
+
+import ec.fin.coacandes.socios.dto.EventoSocioDTO;
+import ec.fin.coacandes.socios.service.PublicadorEventosSocio;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Agrega cada evento como una línea JSON al final de un archivo y lo sincroniza a disco antes de
+ * confirmar el lote. Pensado para pruebas locales y para consumidores que leen el archivo.
+ */
+public class PublicadorEventosArchivo implements PublicadorEventosSocio {
+
+    private final Path archivo;
+    private final JsonMapper jsonMapper;
+
+    public PublicadorEventosArchivo(Path archivo, JsonMapper jsonMapper) {
+        this.archivo = archivo;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoSocioDTO> eventos) throws IOException {
+        StringBuilder lineas = new StringBuilder();
+        for (EventoSocioDTO evento : eventos) {
+            lineas.append(jsonMapper.writeValueAsString(evento)).append('\n');
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer contenido = ByteBuffer.wrap(lineas.toString().getBytes(StandardCharsets.UTF_8));
+            while (contenido.hasRemaining()) {
+                canal.write(contenido);
+            }
+            canal.force(false);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ec.fin.coacandes.socios.service.impl;
+
+import ec.fin.coacandes.socios.dto.EventoSocioDTO;
+import ec.fin.coacandes.socios.service.PublicadorEventosSocio;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Envía cada lote como un arreglo JSON en un POST. Cualquier respuesta que no sea 2xx deja el lote
+ * pendiente.
+ */
+public class PublicadorEventosHttp implements PublicadorEventosSocio {
+
+    private final URI url;
+    private final Duration timeout;
+    private final JsonMapper jsonMapper;
+    private final HttpClient http;
+
+    public PublicadorEventosHttp(URI url, Duration timeout, JsonMapper jsonMapper) {
+        this.url = url;
+        this.timeout = timeout;
+        this.jsonMapper = jsonMapper;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void publicar(List<EventoSocioDTO> eventos) throws IOException {
+        HttpRequest solicitud = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(eventos)))
+                .build();
+        HttpResponse<Void> respuesta;
+        try {
+            respuesta = http.send(solicitud, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Publicación de eventos interrumpida");
+        }
+        if (respuesta.statusCode() / 100 != 2) {
+            throw new IOException("El destino de eventos respondió " + respuesta.statusCode());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ec.fin.coacandes.socios.service.impl;
+
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.TipoEventoSocio;
+import ec.fin.coacandes.socios.entity.EventoSocio;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.repository.EventoSocioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Escribe en el outbox los cambios de socios. Debe llamarse dentro de la transacción del cambio, con
+ * el socio ya guardado (la versión del evento es la que quedó en la BD): si la transacción se
+ * revierte, el evento tampoco existe. Con {@code socios.outbox.destino=ninguno} no escribe nada.
+ */
+@Component
+public class RegistroEventosSocio {
+
+    private final EventoSocioRepository eventoSocioRepository;
+    private final SocioMapper socioMapper;
+    private final JsonMapper jsonMapper;
+    private final boolean habilitado;
+
+    public RegistroEventosSocio(EventoSocioRepository eventoSocioRepository, SocioMapper socioMapper,
+                                JsonMapper jsonMapper, @Value("${socios.outbox.destino:ninguno}") String destino) {
+        this.eventoSocioRepository = eventoSocioRepository;
+        this.socioMapper = socioMapper;
+        this.jsonMapper = jsonMapper;
+        this.habilitado = !"ninguno".equals(destino);
+    }
+
+    public void registrar(TipoEventoSocio tipo, Socio socio) {
+        registrar(tipo, List.of(socio));
+    }
+
+    public void registrar(TipoEventoSocio tipo, Collection<Socio> socios) {
+        if (!habilitado || socios.isEmpty()) {
+            return;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        eventoSocioRepository.saveAll(socios.stream()
+                .map(socio -> evento(tipo, socioMapper.aResponse(socio), ahora))
+                .toList());
+    }
+
+    /**
+     * Eventos ELIMINADO de socios desactivados con un UPDATE masivo, que no actualiza las entidades
+     * cargadas: el estado publicado se calcula como lo dejó el UPDATE (inactivo, versión + 1).
+     */
+    public void registrarDesactivados(Collection<Socio> socios, LocalDateTime fecha) {
+        if (!habilitado || socios.isEmpty()) {
+            return;
+        }
+        eventoSocioRepository.saveAll(socios.stream()
+                .map(socio -> {
+                    SocioResponseDTO desactivado = socioMapper.aResponse(socio);
+                    desactivado.setActivo(false);
+                    desactivado.setVersion(socio.getVersion() + 1);
+                    desactivado.setFechaActualizacion(fecha);
+                    return evento(TipoEventoSocio.ELIMINADO, desactivado, fecha);
+                })
+                .toList());
+    }
+
+    private EventoSocio evento(TipoEventoSocio tipo, SocioResponseDTO socio, LocalDateTime ahora) {
+        // Los socios importados se insertan con versión 0 sin pasar por Hibernate
+        socio.setVersion(Objects.requireNonNullElse(socio.getVersion(), 0L));
+        EventoSocio evento = new EventoSocio();
+        evento.setTipo(tipo);
+        evento.setSocioId(socio.getId());
+        evento.setVersion(socio.getVersion());
+        evento.setOcurridoEn(ahora);
+        evento.setSocio(jsonMapper.writeValueAsString(socio));
+        return evento;
+    }
+}
@@ -0,0 +1,163 @@
+package ec.fin.coacandes.socios.service.impl;
+
+import ec.fin.coacandes.socios.dto.EventoSocioDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.EventoSocio;
+import ec.fin.coacandes.socios.repository.EventoSocioRepository;
+import ec.fin.coacandes.socios.service.PublicadorEventosSocio;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica los eventos del outbox en lotes de {@code socios.outbox.tamano-lote}, del más antiguo al
+ * más nuevo, cada {@code socios.outbox.intervalo} y sin pausa mientras haya lotes completos. Cada
+ * lote se lee con bloqueo, se publica y se borra en la misma transacción: si el destino falla, el
+ * lote queda pendiente y se reintenta en el siguiente intervalo. La conexión queda tomada mientras
+ * se publica, por eso el lote es chico y el destino debe tener timeout.
+ */
+@Slf4j
+@Component
+public class RelayEventosSocio implements SmartLifecycle, MeterBinder {
+
+    private final EventoSocioRepository eventoSocioRepository;
+    private final PublicadorEventosSocio publicador;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transaccion;
+    private final boolean habilitado;
+    private final int tamanoLote;
+    private final Duration intervalo;
+
+    private final AtomicLong publicados = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private volatile boolean fallando;
+    private ScheduledExecutorService executor;
+
+    public RelayEventosSocio(EventoSocioRepository eventoSocioRepository, PublicadorEventosSocio publicador,
+                             JsonMapper jsonMapper, PlatformTransactionManager transactionManager,
+                             @Value("${socios.outbox.destino:ninguno}") String destino,
+                             @Value("${socios.outbox.tamano-lote:100}") int tamanoLote,
+                             @Value("${socios.outbox.intervalo:1s}") Duration intervalo) {
+        this.eventoSocioRepository = eventoSocioRepository;
+        this.publicador = publicador;
+        this.jsonMapper = jsonMapper;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.habilitado = !"ninguno".equals(destino);
+        this.tamanoLote = tamanoLote;
+        this.intervalo = intervalo;
+    }
+
+    /**
+     * Publica un lote de eventos pendientes.
+     *
+     * @return cantidad publicada; 0 si no había pendientes
+     * @throws UncheckedIOException si el destino falla; el lote queda pendiente
+     */
+    public int publicarLote() {
+        Integer cantidad;
+        try {
+            cantidad = transaccion.execute(estado -> {
+                List<EventoSocio> lote = eventoSocioRepository.findPendientes(Limit.of(tamanoLote));
+                if (lote.isEmpty()) {
+                    return 0;
+                }
+                try {
+                    publicador.publicar(lote.stream().map(this::aDTO).toList());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                eventoSocioRepository.deleteAllInBatch(lote);
+                return lote.size();
+            });
+        } catch (RuntimeException e) {
+            fallos.incrementAndGet();
+            throw e;
+        }
+        publicados.addAndGet(cantidad);
+        return cantidad;
+    }
+
+    /**
+     * Publica lotes mientras salgan completos. Un fallo se registra una sola vez hasta que la
+     * publicación se restablece; lo pendiente se reintenta en el siguiente intervalo.
+     */
+    public void publicarPendientes() {
+        try {
+            while (publicarLote() == tamanoLote) {
+                // Quedan más pendientes
+            }
+            if (fallando) {
+                fallando = false;
+                log.info("Publicación de eventos de socios restablecida");
+            }
+        } catch (RuntimeException e) {
+            if (!fallando) {
+                fallando = true;
+                log.warn("No se pudieron publicar los eventos de socios; se reintenta cada {}: {}",
+                        intervalo, e.getMessage());
+            }
+        }
+    }
+
+    private EventoSocioDTO aDTO(EventoSocio evento) {
+        return new EventoSocioDTO(evento.getId(), evento.getTipo(), evento.getSocioId(), evento.getVersion(),
+                evento.getOcurridoEn(), jsonMapper.readValue(evento.getSocio(), SocioResponseDTO.class));
+    }
+
+    @Override
+    public void start() {
+        if (!habilitado) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("outbox-socios").factory());
+        executor.scheduleWithFixedDelay(this::publicarPendientes, intervalo.toMillis(), intervalo.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            // Deja terminar el lote en curso; lo pendiente se publica al volver a arrancar
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("socios.outbox.publicados", publicados, AtomicLong::get)
+                .description("Eventos de socios publicados desde el outbox")
+                .register(registry);
+        FunctionCounter.builder("socios.outbox.fallos", fallos, AtomicLong::get)
+                .description("Intentos de publicación del outbox que fallaron")
+                .register(registry);
+    }
+}
@@ -1,79 +1,359 @@
 package ec.fin.coacandes.socios.service.impl;
 
+import ec.fin.coacandes.socios.cache.FiltrosUnicidadSocios;
+import ec.fin.coacandes.socios.cache.IndiceBusquedaSocios;
+import ec.fin.coacandes.socios.cache.SocioCache;
 import ec.fin.coacandes.socios.client.CuentasClientService;
+import ec.fin.coacandes.socios.config.EnrutamientoReplica;
+import ec.fin.coacandes.socios.dto.EstadoEliminacion;
+import ec.fin.coacandes.socios.dto.EstadoItemLote;
+import ec.fin.coacandes.socios.dto.PaginaSociosDTO;
+import ec.fin.coacandes.socios.dto.ResultadoBusquedaDTO;
+import ec.fin.coacandes.socios.dto.ResultadoEliminacionLoteDTO;
+import ec.fin.coacandes.socios.dto.ResultadoItemEliminacionDTO;
+import ec.fin.coacandes.socios.dto.ResultadoItemLoteDTO;
+import ec.fin.coacandes.socios.dto.ResultadoLoteDTO;
 import ec.fin.coacandes.socios.dto.SocioRequestDTO;
 import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.TipoEventoSocio;
 import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
 import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.service.CursorSocio;
+import ec.fin.coacandes.socios.service.SocioModificadoException;
 import ec.fin.coacandes.socios.service.SocioService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
+@Observed(name = "socios.servicio")
 public class SocioServiceImpl implements SocioService {
 
     private final SocioRepository socioRepository;
-    private final ModelMapper modelMapper;
+    private final SocioMapper socioMapper;
     private final CuentasClientService cuentasClientService;
+    private final SocioCache socioCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final FiltrosUnicidadSocios filtrosUnicidad;
+    private final IndiceBusquedaSocios indiceBusqueda;
+    private final RegistroEventosSocio registroEventos;
 
+    @Value("${socios.paginacion.tamano-defecto:50}")
+    private int tamanoPaginaDefecto;
+
+    @Value("${socios.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo;
+
+    @Value("${socios.lote.tamano-maximo:1000}")
+    private int tamanoLoteMaximo;
+
+    @Value("${socios.eliminacion.paralelismo-cuentas:8}")
+    private int paralelismoCuentas;
 
     @Override
     public SocioResponseDTO crearSocio(SocioRequestDTO request) {
-        // Validar identificación única
-        if (socioRepository.existsByIdentificacion(request.getIdentificacion())) {
+        // Validar identificación y email únicos; el filtro de Bloom evita la consulta si el valor no existe
+        if (filtrosUnicidad.existeIdentificacion(request.getIdentificacion(), socioRepository::existsByIdentificacion)) {
             throw new IllegalArgumentException("Ya existe un socio con esta identificación");
         }
+        if (request.getEmail() != null && filtrosUnicidad.existeEmail(request.getEmail(), socioRepository::existsByEmail)) {
+            throw new IllegalArgumentException("Ya existe un socio con este email");
+        }
 
-        Socio socio = modelMapper.map(request, Socio.class);
+        Socio socio = socioMapper.aEntidad(request);
 
-        Socio guardado = socioRepository.save(socio);
-        return modelMapper.map(guardado, SocioResponseDTO.class);
+        Socio guardado;
+        try {
+            guardado = socioRepository.save(socio);
+            // Un valor creado por otra instancia puede faltar en el filtro: lo rechaza la restricción única
+            socioRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Ya existe un socio con esta identificación o email");
+        }
+        registroEventos.registrar(TipoEventoSocio.CREADO, guardado);
+        filtrosUnicidad.registrar(guardado.getIdentificacion(), guardado.getEmail());
+        indiceBusqueda.indexarDespuesDeCommit(guardado);
+        socioCache.invalidarDespuesDeCommit(guardado.getId(), guardado.getIdentificacion());
+        return socioMapper.aResponse(guardado);
     }
 
     @Override
-    public SocioResponseDTO actualizarSocio(UUID id, SocioRequestDTO request) {
-        Socio socio = socioRepository.findById(id)
+    public ResultadoLoteDTO crearSociosEnLote(List<SocioRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("El lote no contiene socios");
+        }
+        if (requests.size() > tamanoLoteMaximo) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + tamanoLoteMaximo + " socios");
+        }
+
+        ResultadoItemLoteDTO[] resultados = new ResultadoItemLoteDTO[requests.size()];
+        List<Integer> candidatos = new ArrayList<>(requests.size());
+        Set<String> identificaciones = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+
+        // 1. Validación de cada elemento y de duplicados dentro del propio lote
+        for (int i = 0; i < requests.size(); i++) {
+            SocioRequestDTO request = requests.get(i);
+            if (request == null) {
+                resultados[i] = rechazado(i, null, EstadoItemLote.INVALIDO, "El socio es obligatorio");
+                continue;
+            }
+            Set<ConstraintViolation<SocioRequestDTO>> violaciones = validator.validate(request);
+            if (!violaciones.isEmpty()) {
+                resultados[i] = new ResultadoItemLoteDTO(i, request.getIdentificacion(), EstadoItemLote.INVALIDO,
+                        null, violaciones.stream().map(ConstraintViolation::getMessage).sorted().toList());
+            } else if (identificaciones.contains(request.getIdentificacion())) {
+                resultados[i] = rechazado(i, request.getIdentificacion(), EstadoItemLote.DUPLICADO,
+                        "Identificación repetida en el lote");
+            } else if (request.getEmail() != null && emails.contains(request.getEmail())) {
+                resultados[i] = rechazado(i, request.getIdentificacion(), EstadoItemLote.DUPLICADO,
+                        "Email repetido en el lote");
+            } else {
+                identificaciones.add(request.getIdentificacion());
+                if (request.getEmail() != null) {
+                    emails.add(request.getEmail());
+                }
+                candidatos.add(i);
+            }
+        }
+
+        // 2. Una sola consulta por columna única contra la BD, solo con los valores que el filtro no descarta
+        Set<String> identificacionesExistentes = filtrosUnicidad.identificacionesExistentes(identificaciones,
+                socioRepository::findIdentificacionesExistentes);
+        Set<String> emailsExistentes = filtrosUnicidad.emailsExistentes(emails, socioRepository::findEmailsExistentes);
+
+        List<Integer> indicesNuevos = new ArrayList<>(candidatos.size());
+        List<Socio> nuevos = new ArrayList<>(candidatos.size());
+        for (int i : candidatos) {
+            SocioRequestDTO request = requests.get(i);
+            if (identificacionesExistentes.contains(request.getIdentificacion())) {
+                resultados[i] = rechazado(i, request.getIdentificacion(), EstadoItemLote.DUPLICADO,
+                        "Ya existe un socio con esta identificación");
+            } else if (request.getEmail() != null && emailsExistentes.contains(request.getEmail())) {
+                resultados[i] = rechazado(i, request.getIdentificacion(), EstadoItemLote.DUPLICADO,
+                        "Ya existe un socio con este email");
+            } else {
+                indicesNuevos.add(i);
+                nuevos.add(socioMapper.aEntidad(request));
+            }
+        }
+
+        // 3. Inserción con batching JDBC (hibernate.jdbc.batch_size). Un valor que otra instancia insertó
+        //    después de la consulta lo rechaza la restricción única: el flush lo detecta aquí
+        List<Socio> guardados;
+        try {
+            guardados = socioRepository.saveAll(nuevos);
+            socioRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Otro socio del lote ya fue registrado con la misma identificación o email");
+        }
+        registroEventos.registrar(TipoEventoSocio.CREADO, guardados);
+        for (int j = 0; j < guardados.size(); j++) {
+            Socio guardado = guardados.get(j);
+            filtrosUnicidad.registrar(guardado.getIdentificacion(), guardado.getEmail());
+            indiceBusqueda.indexarDespuesDeCommit(guardado);
+            int i = indicesNuevos.get(j);
+            resultados[i] = new ResultadoItemLoteDTO(i, guardado.getIdentificacion(), EstadoItemLote.CREADO,
+                    guardado.getId(), List.of());
+        }
+
+        return new ResultadoLoteDTO(guardados.size(), requests.size() - guardados.size(), List.of(resultados));
+    }
+
+    private static ResultadoItemLoteDTO rechazado(int indice, String identificacion, EstadoItemLote estado,
+                                                  String error) {
+        return new ResultadoItemLoteDTO(indice, identificacion, estado, null, List.of(error));
+    }
+
+    @Override
+    public SocioResponseDTO actualizarSocio(UUID id, SocioRequestDTO request, Long versionEsperada) {
+        Socio socio = socioRepository.findByIdAndActivoTrue(id)
                 .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"));
+        if (versionEsperada != null && !versionEsperada.equals(socio.getVersion())) {
+            throw new SocioModificadoException("El socio fue modificado; versión actual " + socio.getVersion());
+        }
 
-        // Validar si cambia la identificación
+        // Validar si cambia la identificación o el email
         if (!socio.getIdentificacion().equals(request.getIdentificacion()) &&
-                socioRepository.existsByIdentificacion(request.getIdentificacion())) {
+                filtrosUnicidad.existeIdentificacion(request.getIdentificacion(), socioRepository::existsByIdentificacion)) {
             throw new IllegalArgumentException("La nueva identificación ya está registrada");
         }
+        if (request.getEmail() != null && !request.getEmail().equals(socio.getEmail()) &&
+                filtrosUnicidad.existeEmail(request.getEmail(), socioRepository::existsByEmail)) {
+            throw new IllegalArgumentException("El nuevo email ya está registrado");
+        }
 
-        modelMapper.map(request, socio);
+        String identificacionAnterior = socio.getIdentificacion();
+        socioMapper.actualizarEntidad(request, socio);
 
-        Socio actualizado = socioRepository.save(socio);
-        return modelMapper.map(actualizado, SocioResponseDTO.class);
+        // Flush para obtener la versión nueva y detectar aquí una actualización concurrente
+        Socio actualizado;
+        try {
+            actualizado = socioRepository.saveAndFlush(socio);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new SocioModificadoException("El socio fue modificado por otra operación");
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("La nueva identificación o email ya está registrado");
+        }
+        registroEventos.registrar(TipoEventoSocio.ACTUALIZADO, actualizado);
+        filtrosUnicidad.registrar(actualizado.getIdentificacion(), actualizado.getEmail());
+        indiceBusqueda.indexarDespuesDeCommit(actualizado);
+        socioCache.invalidarDespuesDeCommit(id, identificacionAnterior, actualizado.getIdentificacion());
+        return socioMapper.aResponse(actualizado);
     }
 
     @Override
-    public SocioResponseDTO obtenerSocioPorId(UUID id) {
-        Socio socio = socioRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"));
-        return modelMapper.map(socio, SocioResponseDTO.class);
+    @Transactional(readOnly = true)
+    public SocioResponseDTO obtenerSocioPorId(UUID id, boolean incluirInactivos) {
+        // La caché guarda el socio activo o no; el filtro se aplica al leerla. Se carga desde la
+        // primaria: una réplica atrasada dejaría en la caché la versión anterior a una actualización
+        return visible(socioCache.obtenerPorId(id, clave -> EnrutamientoReplica.enPrimaria(() -> socioRepository
+                .findById(clave)
+                .map(socioMapper::aResponse)
+                .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado")))), incluirInactivos);
+    }
+
+    private static SocioResponseDTO visible(SocioResponseDTO socio, boolean incluirInactivos) {
+        if (!incluirInactivos && !Boolean.TRUE.equals(socio.getActivo())) {
+            throw new EntityNotFoundException("Socio no encontrado");
+        }
+        return socio;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaSociosDTO obtenerPaginaSocios(String cursor, Integer tamano, boolean incluirInactivos) {
+        int tamanoPagina = resolverTamanoPagina(tamano);
+        // Se pide un registro extra para saber si existe página siguiente sin COUNT(*)
+        Limit limite = Limit.of(tamanoPagina + 1);
+
+        List<SocioResponseDTO> socios;
+        if (cursor == null || cursor.isBlank()) {
+            socios = incluirInactivos
+                    ? socioRepository.findPrimeraPagina(limite)
+                    : socioRepository.findPrimeraPaginaActivos(limite);
+        } else {
+            CursorSocio posicion = CursorSocio.decodificar(cursor);
+            socios = incluirInactivos
+                    ? socioRepository.findPaginaDespuesDe(posicion.fechaCreacion(), posicion.id(), limite)
+                    : socioRepository.findPaginaActivosDespuesDe(posicion.fechaCreacion(), posicion.id(), limite);
+        }
+
+        String siguienteCursor = null;
+        if (socios.size() > tamanoPagina) {
+            socios = socios.subList(0, tamanoPagina);
+            SocioResponseDTO ultimo = socios.get(tamanoPagina - 1);
+            siguienteCursor = new CursorSocio(ultimo.getFechaCreacion(), ultimo.getId()).codificar();
+        }
+
+        return new PaginaSociosDTO(new ArrayList<>(socios), siguienteCursor, tamanoPagina);
     }
 
+    /**
+     * Sin el índice en memoria (deshabilitado o aún en construcción) se busca el texto completo como
+     * subcadena en la BD, sin ignorar tildes. El índice solo contiene socios activos, así que la
+     * búsqueda que incluye inactivos también se resuelve en la BD.
+     */
     @Override
-    public List<SocioResponseDTO> obtenerTodosLosSocios() {
-        return socioRepository.findAll().stream()
-                .map(socio -> modelMapper.map(socio, SocioResponseDTO.class))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ResultadoBusquedaDTO buscarSocios(String texto, Integer pagina, Integer tamano, boolean incluirInactivos) {
+        int tamanoPagina = resolverTamanoPagina(tamano);
+        int numeroPagina = pagina == null ? 0 : pagina;
+        if (numeroPagina < 0) {
+            throw new IllegalArgumentException("El número de página no puede ser negativo");
+        }
+        List<String> terminos = IndiceBusquedaSocios.terminos(texto);
+        if (terminos.isEmpty()) {
+            throw new IllegalArgumentException("La búsqueda requiere al menos una palabra de "
+                    + IndiceBusquedaSocios.LONGITUD_MINIMA_TERMINO + " caracteres");
+        }
+
+        IndiceBusquedaSocios.Coincidencias coincidencias = incluirInactivos
+                ? null
+                // Sin desbordar int en páginas muy altas: más allá del último socio la página sale vacía
+                : indiceBusqueda.buscar(terminos, (int) Math.min((long) numeroPagina * tamanoPagina,
+                        Integer.MAX_VALUE), tamanoPagina);
+        if (coincidencias == null) {
+            String patron = "%" + texto.trim().toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            PageRequest paginacion = PageRequest.of(numeroPagina, tamanoPagina);
+            Page<SocioResponseDTO> resultado = incluirInactivos
+                    ? socioRepository.buscarPorTexto(patron, paginacion)
+                    : socioRepository.buscarPorTextoActivos(patron, paginacion);
+            return new ResultadoBusquedaDTO(resultado.getContent(),
+                    resultado.getTotalElements(), numeroPagina, tamanoPagina);
+        }
+
+        // Una sola consulta por página; se conserva el orden del índice. Otra instancia pudo haber
+        // desactivado un socio que este índice aún tiene
+        Map<UUID, SocioResponseDTO> porId = socioRepository.findResponsesByIdIn(coincidencias.ids()).stream()
+                .filter(socio -> Boolean.TRUE.equals(socio.getActivo()))
+                .collect(Collectors.toMap(SocioResponseDTO::getId, Function.identity()));
+        List<SocioResponseDTO> socios = coincidencias.ids().stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new ResultadoBusquedaDTO(socios, coincidencias.total(), numeroPagina, tamanoPagina);
+    }
+
+    private int resolverTamanoPagina(Integer tamano) {
+        if (tamano == null) {
+            return tamanoPaginaDefecto;
+        }
+        if (tamano < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a cero");
+        }
+        return Math.min(tamano, tamanoPaginaMaximo);
     }
 
+    /**
+     * Eliminación lógica (activo = false). Sin transacción propia: la llamada a cuentas puede tardar
+     * segundos y no debe retener una conexión del pool. La lectura previa usa la transacción corta del
+     * repositorio y la desactivación se hace en otra, volviendo a leer el socio.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void eliminarSocio(UUID id) {
-        Socio socio = socioRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"));
+        // En la primaria: con la réplica atrasada un socio recién creado parecería no existir
+        if (EnrutamientoReplica.enPrimaria(() -> socioRepository.findByIdAndActivoTrue(id)).isEmpty()) {
+            throw new EntityNotFoundException("Socio no encontrado");
+        }
 
         // VALIDACIÓN CROSS-SERVICE: Verificar que no tenga cuentas activas
         boolean tieneCuentasActivas = cuentasClientService.socioTieneCuentasActivas(id.toString());
@@ -85,13 +365,108 @@ public class SocioServiceImpl implements SocioService {
             );
         }
 
-        socioRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(estado -> {
+            Socio socio = socioRepository.findByIdAndActivoTrue(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"));
+            // El UPDATE sale del dirty checking; el flush lo adelanta para publicar la versión incrementada
+            socio.setActivo(false);
+            socioRepository.flush();
+            registroEventos.registrar(TipoEventoSocio.ELIMINADO, socio);
+            indiceBusqueda.eliminarDespuesDeCommit(List.of(id));
+            socioCache.invalidarDespuesDeCommit(id, socio.getIdentificacion());
+        });
     }
 
     @Override
-    public SocioResponseDTO obtenerSocioPorIdentificacion(String identificacion) {
-        Socio socio = socioRepository.findByIdentificacion(identificacion)
-                .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"));
-        return modelMapper.map(socio, SocioResponseDTO.class);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoEliminacionLoteDTO eliminarSociosEnLote(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("El lote no contiene socios");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("El lote contiene IDs nulos");
+        }
+        Set<UUID> distintos = new LinkedHashSet<>(ids);
+        if (distintos.size() > tamanoLoteMaximo) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + tamanoLoteMaximo + " socios");
+        }
+
+        // 1. Una sola consulta para todos los socios del lote (transacción corta del repositorio, en
+        //    la primaria)
+        Map<UUID, Socio> socios = EnrutamientoReplica.enPrimaria(() -> socioRepository
+                        .findAllByIdInAndActivoTrue(distintos)).stream()
+                .collect(Collectors.toMap(Socio::getId, Function.identity()));
+
+        // 2. Validación cross-service fuera de transacción, en paralelo y acotada para no copar el
+        //    bulkhead de cuentas
+        Map<UUID, Future<Boolean>> validaciones = new HashMap<>();
+        if (!socios.isEmpty()) {
+            int hilos = Math.min(paralelismoCuentas, socios.size());
+            try (ExecutorService executor = Executors.newFixedThreadPool(hilos,
+                    Thread.ofVirtual().name("eliminacion-cuentas-", 0).factory())) {
+                for (UUID id : socios.keySet()) {
+                    validaciones.put(id, executor.submit(
+                            () -> cuentasClientService.socioTieneCuentasActivas(id.toString())));
+                }
+            }
+        }
+
+        List<ResultadoItemEliminacionDTO> resultados = new ArrayList<>(distintos.size());
+        Map<UUID, ResultadoItemEliminacionDTO> elegibles = new HashMap<>();
+        for (UUID id : distintos) {
+            Future<Boolean> validacion = validaciones.get(id);
+            if (validacion == null) {
+                resultados.add(new ResultadoItemEliminacionDTO(id, EstadoEliminacion.NO_ENCONTRADO,
+                        "Socio no encontrado"));
+            } else if (validacion.state() == Future.State.FAILED) {
+                // El motivo para el cliente es fijo: el mensaje de la causa puede ser nulo o interno
+                log.warn("No se pudieron verificar las cuentas del socio {} al eliminarlo en lote: {}",
+                        id, String.valueOf(validacion.exceptionNow()));
+                resultados.add(new ResultadoItemEliminacionDTO(id, EstadoEliminacion.CUENTAS_NO_DISPONIBLE,
+                        "No se pudo verificar las cuentas del socio"));
+            } else if (validacion.resultNow()) {
+                resultados.add(new ResultadoItemEliminacionDTO(id, EstadoEliminacion.CUENTAS_ACTIVAS,
+                        "El socio tiene cuentas activas"));
+            } else {
+                ResultadoItemEliminacionDTO resultado =
+                        new ResultadoItemEliminacionDTO(id, EstadoEliminacion.ELIMINADO, null);
+                elegibles.put(id, resultado);
+                resultados.add(resultado);
+            }
+        }
+
+        // 3. Transacción corta: se vuelven a leer los elegibles y se desactivan con un solo
+        //    UPDATE ... WHERE id IN (...)
+        Set<UUID> eliminados = elegibles.isEmpty() ? Set.of() : transactionTemplate.execute(estado -> {
+            List<Socio> vigentes = socioRepository.findAllByIdInAndActivoTrue(elegibles.keySet());
+            if (vigentes.isEmpty()) {
+                return Set.of();
+            }
+            List<UUID> idsVigentes = vigentes.stream().map(Socio::getId).toList();
+            // Con la precisión de la columna, para que el evento publique la fecha que quedó guardada
+            LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            socioRepository.desactivar(idsVigentes, ahora);
+            registroEventos.registrarDesactivados(vigentes, ahora);
+            indiceBusqueda.eliminarDespuesDeCommit(idsVigentes);
+            vigentes.forEach(socio -> socioCache.invalidarDespuesDeCommit(socio.getId(), socio.getIdentificacion()));
+            return Set.copyOf(idsVigentes);
+        });
+        elegibles.forEach((id, resultado) -> {
+            if (!eliminados.contains(id)) {
+                resultado.setEstado(EstadoEliminacion.NO_ENCONTRADO);
+                resultado.setMensaje("Socio no encontrado");
+            }
+        });
+
+        return new ResultadoEliminacionLoteDTO(eliminados.size(), resultados.size() - eliminados.size(),
+                resultados);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SocioResponseDTO obtenerSocioPorIdentificacion(String identificacion, boolean incluirInactivos) {
+        return visible(socioCache.obtenerPorIdentificacion(identificacion, clave -> EnrutamientoReplica.enPrimaria(
+                () -> socioRepository.findResponseByIdentificacion(clave)
+                        .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado")))), incluirInactivos);
     }
 }
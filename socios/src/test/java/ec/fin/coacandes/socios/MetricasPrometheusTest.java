@@ -0,0 +1,75 @@
+package ec.fin.coacandes.socios;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasPrometheusTest {
+
+    private static ConfigurableApplicationContext context;
+    private static HttpClient http;
+    private static String base;
+
+    @BeforeAll
+    static void setUp() {
+        context = new SpringApplicationBuilder(SociosApplication.class).run(
+                "--server.port=0",
+                "--spring.devtools.restart.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:metricas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false");
+        http = HttpClient.newHttpClient();
+        base = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        http.close();
+        context.close();
+    }
+
+    private HttpResponse<String> get(String ruta) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(base + ruta)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void prometheus_exponePercentilesDeEndpointsServicioYRepositorio() throws Exception {
+        assertEquals(200, get("/api/socios?tamano=5").statusCode());
+        // EntityNotFoundException no tiene @ResponseStatus: el socio inexistente responde 500
+        assertEquals(500, get("/api/socios/" + UUID.randomUUID()).statusCode());
+
+        HttpResponse<String> respuesta = get("/actuator/prometheus");
+
+        assertEquals(200, respuesta.statusCode());
+        String metricas = respuesta.body();
+        // Percentil por plantilla de ruta, no por id, y el error contado aparte
+        assertTrue(metricas.matches("(?s).*http_server_requests_seconds\\{[^}]*uri=\"/api/socios/\\{id}\"[^}]*"
+                + "quantile=\"0\\.999\".*"), "Sin p999 por plantilla de ruta");
+        assertTrue(metricas.matches("(?s).*http_server_requests_seconds_count\\{[^}]*outcome=\"SERVER_ERROR\"[^}]*"
+                + "status=\"500\".*"), "Sin contador de errores");
+        assertTrue(metricas.contains("http_server_requests_active_seconds_count{"), "Sin solicitudes en curso");
+        assertFalse(metricas.matches("(?s).*_active_seconds\\{[^}]*quantile=.*"), "Percentiles en solicitudes en curso");
+        assertTrue(metricas.matches("(?s).*socios_servicio_seconds\\{[^}]*method=\"obtenerPaginaSocios\"[^}]*"
+                + "quantile=\"0\\.99\".*"), "Sin percentiles del servicio");
+        assertTrue(metricas.matches("(?s).*socios_servicio_seconds_count\\{[^}]*error=\"EntityNotFoundException\".*"),
+                "Sin errores del servicio");
+        assertTrue(metricas.matches("(?s).*spring_data_repository_invocations_seconds\\{[^}]*"
+                + "method=\"findPrimeraPaginaActivos\".*"), "Sin percentiles del repositorio");
+        assertFalse(metricas.contains(base), "Las URIs no deben incluir host ni identificadores");
+    }
+}
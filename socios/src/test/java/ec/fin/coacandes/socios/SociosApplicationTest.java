@@ -1,10 +1,12 @@
 package ec.fin.coacandes.socios;
 
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.slf4j.LoggerFactory;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 class SociosApplicationTest {
 
@@ -13,13 +15,6 @@ class SociosApplicationTest {
         SociosApplication.close();
     }
 
-    @Test
-    void modelMapperBean_seCrea() {
-        SociosApplication application = new SociosApplication();
-        ModelMapper mapper = application.modelMapper();
-        assertNotNull(mapper);
-    }
-
     @Test
     void main_arrancaYSeCierra() {
         System.setProperty("spring.main.web-application-type", "none");
@@ -31,6 +26,12 @@ class SociosApplicationTest {
         System.setProperty("spring.jpa.hibernate.ddl-auto", "create-drop");
 
         SociosApplication.main(new String[]{});
+
+        // logback-spring.xml: la consola queda detrás del appender asíncrono
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        assertInstanceOf(AsyncAppender.class, root.getAppender("ASYNC_CONSOLE"));
+        assertNull(root.getAppender("CONSOLE"));
+
         SociosApplication.close();
     }
 }
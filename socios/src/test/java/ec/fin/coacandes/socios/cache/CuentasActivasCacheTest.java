@@ -0,0 +1,80 @@
+package ec.fin.coacandes.socios.cache;
+
+import ec.fin.coacandes.socios.dto.EstadisticasCacheDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CuentasActivasCacheTest {
+
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    private boolean consultar(boolean resultado) {
+        consultas.incrementAndGet();
+        return resultado;
+    }
+
+    @Test
+    void obtener_consultaUnaVezYLuegoAcierta() {
+        CuentasActivasCache cache = new CuentasActivasCache(100, Duration.ofMinutes(1));
+
+        assertTrue(cache.obtener("socio-1", id -> consultar(true)));
+        assertTrue(cache.obtener("socio-1", id -> consultar(false)));
+
+        assertEquals(1, consultas.get());
+        EstadisticasCacheDTO estadisticas = cache.estadisticas();
+        assertEquals(1, estadisticas.getAciertos());
+        assertEquals(1, estadisticas.getFallos());
+        assertEquals(1, estadisticas.getEntradas());
+    }
+
+    @Test
+    void invalidar_obligaANuevaConsulta() {
+        CuentasActivasCache cache = new CuentasActivasCache(100, Duration.ofMinutes(1));
+        cache.obtener("socio-1", id -> consultar(false));
+
+        cache.invalidar("socio-1");
+
+        assertTrue(cache.obtener("socio-1", id -> consultar(true)));
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void invalidarDuranteLaConsulta_noGuardaElResultadoAnterior() {
+        CuentasActivasCache cache = new CuentasActivasCache(100, Duration.ofMinutes(1));
+
+        // Cuentas abre una cuenta y notifica mientras la consulta anterior sigue en curso
+        assertFalse(cache.obtener("socio-1", id -> {
+            cache.invalidar(id);
+            return consultar(false);
+        }));
+
+        assertTrue(cache.obtener("socio-1", id -> consultar(true)));
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void obtener_noGuardaErroresDelCargador() {
+        CuentasActivasCache cache = new CuentasActivasCache(100, Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class, () -> cache.obtener("socio-1", id -> {
+            throw new IllegalStateException("cuentas no disponible");
+        }));
+
+        assertFalse(cache.obtener("socio-1", id -> consultar(false)));
+        assertEquals(1, consultas.get());
+    }
+
+    @Test
+    void obtener_ttlCeroSiempreConsulta() {
+        CuentasActivasCache cache = new CuentasActivasCache(100, Duration.ZERO);
+
+        cache.obtener("socio-1", id -> consultar(false));
+        cache.obtener("socio-1", id -> consultar(false));
+
+        assertEquals(2, consultas.get());
+    }
+}
@@ -0,0 +1,64 @@
+package ec.fin.coacandes.socios.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    private static final int CAPACIDAD = 20_000;
+
+    @Test
+    void puedeContener_noDaFalsosNegativos() {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDAD, 0.01);
+        for (int i = 0; i < CAPACIDAD; i++) {
+            filtro.agregar(identificacion(i));
+        }
+
+        for (int i = 0; i < CAPACIDAD; i++) {
+            assertTrue(filtro.puedeContener(identificacion(i)), identificacion(i));
+        }
+        assertEquals(CAPACIDAD, filtro.getAgregados());
+    }
+
+    @Test
+    void puedeContener_mantieneLosFalsosPositivosCercaDeLoConfigurado() {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDAD, 0.01);
+        for (int i = 0; i < CAPACIDAD; i++) {
+            filtro.agregar(identificacion(i));
+        }
+
+        int falsosPositivos = 0;
+        int pruebas = 100_000;
+        for (int i = CAPACIDAD; i < CAPACIDAD + pruebas; i++) {
+            if (filtro.puedeContener(identificacion(i))) {
+                falsosPositivos++;
+            }
+        }
+
+        double tasa = (double) falsosPositivos / pruebas;
+        assertTrue(tasa < 0.02, "Tasa de falsos positivos: " + tasa);
+        assertEquals(0.01, filtro.probabilidadFalsoPositivo(), 0.002);
+    }
+
+    @Test
+    void constructor_dimensionaBitsYHashesSegunCapacidadYProbabilidad() {
+        FiltroBloom filtro = new FiltroBloom(1_000_000, 0.01);
+
+        // 9.585.059 bits óptimos redondeados a palabras de 64 y 7 hashes
+        assertEquals(9_585_088, filtro.getNumeroBits());
+        assertEquals(7, filtro.getNumeroHashes());
+        assertEquals(0.0, filtro.probabilidadFalsoPositivo());
+    }
+
+    @Test
+    void constructor_rechazaParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 1));
+    }
+
+    private static String identificacion(int i) {
+        return String.valueOf(1_700_000_000L + i);
+    }
+}
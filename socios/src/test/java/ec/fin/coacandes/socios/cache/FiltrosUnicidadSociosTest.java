@@ -0,0 +1,181 @@
+package ec.fin.coacandes.socios.cache;
+
+import ec.fin.coacandes.socios.repository.ClavesUnicasSocio;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FiltrosUnicidadSociosTest {
+
+    private final SocioRepository socioRepository = mock(SocioRepository.class);
+    private final AtomicInteger consultas = new AtomicInteger();
+    private final Set<String> enBd = new HashSet<>(Set.of("1711111111", "uno@test.com"));
+
+    private FiltrosUnicidadSocios filtros;
+
+    @BeforeEach
+    void setUp() {
+        filtros = nuevosFiltros(true);
+        when(socioRepository.streamClavesUnicasBy()).thenReturn(Stream.of(
+                clave("1711111111", "uno@test.com"), clave("1722222222", null)));
+    }
+
+    private FiltrosUnicidadSocios nuevosFiltros(boolean habilitado) {
+        return new FiltrosUnicidadSocios(socioRepository, mock(PlatformTransactionManager.class),
+                habilitado, 1000, 0.01);
+    }
+
+    private boolean consultar(String valor) {
+        consultas.incrementAndGet();
+        return enBd.contains(valor);
+    }
+
+    private Set<String> consultarVarios(Collection<String> valores) {
+        consultas.incrementAndGet();
+        Set<String> existentes = new HashSet<>(valores);
+        existentes.retainAll(enBd);
+        return existentes;
+    }
+
+    @Test
+    void antesDeReconstruir_consultaSiempreLaBd() {
+        assertFalse(filtros.existeIdentificacion("1799999999", this::consultar));
+        assertTrue(filtros.existeEmail("uno@test.com", this::consultar));
+
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void reconstruir_descartaValoresQueNoExistenSinConsultar() {
+        filtros.reconstruir();
+
+        assertFalse(filtros.existeIdentificacion("1799999999", this::consultar));
+        assertFalse(filtros.existeEmail("nuevo@test.com", this::consultar));
+        assertEquals(0, consultas.get());
+
+        assertTrue(filtros.existeIdentificacion("1711111111", this::consultar));
+        assertTrue(filtros.existeEmail("uno@test.com", this::consultar));
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void registrar_agregaElValorAlFiltro() {
+        filtros.reconstruir();
+        filtros.registrar("1733333333", "tres@test.com");
+        enBd.addAll(List.of("1733333333", "tres@test.com"));
+
+        assertTrue(filtros.existeIdentificacion("1733333333", this::consultar));
+        assertTrue(filtros.existeEmail("tres@test.com", this::consultar));
+    }
+
+    @Test
+    void registrarDuranteLaReconstruccion_quedaEnElFiltroNuevo() {
+        when(socioRepository.streamClavesUnicasBy()).thenAnswer(invocacion -> {
+            filtros.registrar("1733333333", null);
+            return Stream.of(clave("1711111111", "uno@test.com"));
+        });
+
+        filtros.reconstruir();
+        enBd.add("1733333333");
+
+        assertTrue(filtros.existeIdentificacion("1733333333", this::consultar));
+    }
+
+    @Test
+    void identificacionesExistentes_consultaSoloLosCandidatos() {
+        filtros.reconstruir();
+        List<Collection<String>> consultados = new ArrayList<>();
+
+        Set<String> existentes = filtros.identificacionesExistentes(List.of("1711111111", "1799999999"), valores -> {
+            consultados.add(valores);
+            return consultarVarios(valores);
+        });
+
+        assertEquals(Set.of("1711111111"), existentes);
+        assertEquals(List.of(List.of("1711111111")), consultados);
+    }
+
+    @Test
+    void emailsExistentes_sinCandidatosNoConsulta() {
+        filtros.reconstruir();
+
+        assertEquals(Set.of(), filtros.emailsExistentes(List.of("nuevo@test.com"), this::consultarVarios));
+        assertEquals(0, consultas.get());
+    }
+
+    @Test
+    void deshabilitado_noConstruyeFiltrosYConsultaLaBd() {
+        FiltrosUnicidadSocios deshabilitados = nuevosFiltros(false);
+
+        deshabilitados.reconstruir();
+
+        assertFalse(deshabilitados.existeIdentificacion("1799999999", this::consultar));
+        assertEquals(1, consultas.get());
+        verify(socioRepository, never()).streamClavesUnicasBy();
+    }
+
+    @Test
+    void bindTo_publicaDescartesConsultasYFalsosPositivos() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filtros.bindTo(registry);
+        filtros.reconstruir();
+
+        filtros.existeIdentificacion("1799999999", this::consultar);
+        filtros.existeIdentificacion("1711111111", this::consultar);
+        // Eliminado después de construir el filtro: positivo del filtro que la BD desmiente
+        enBd.remove("1711111111");
+        filtros.existeIdentificacion("1711111111", this::consultar);
+
+        assertEquals(1, contador(registry, "socios.unicidad.bloom.descartados", "identificacion"));
+        assertEquals(2, contador(registry, "socios.unicidad.bloom.consultados", "identificacion"));
+        assertEquals(1, contador(registry, "socios.unicidad.bloom.falsos.positivos", "identificacion"));
+        assertEquals(2, registry.get("socios.unicidad.bloom.elementos").tag("columna", "identificacion")
+                .gauge().value());
+        assertEquals(1, registry.get("socios.unicidad.bloom.elementos").tag("columna", "email")
+                .gauge().value());
+        assertTrue(registry.get("socios.unicidad.bloom.probabilidad.falso.positivo")
+                .tag("columna", "identificacion").gauge().value() < 0.01);
+    }
+
+    @Test
+    void bindTo_antesDeConstruirPublicaFiltrosVacios() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filtros.bindTo(registry);
+
+        assertEquals(0, registry.get("socios.unicidad.bloom.elementos").tag("columna", "identificacion")
+                .gauge().value());
+        assertTrue(Double.isNaN(registry.get("socios.unicidad.bloom.probabilidad.falso.positivo")
+                .tag("columna", "email").gauge().value()));
+    }
+
+    private static double contador(SimpleMeterRegistry registry, String nombre, String columna) {
+        return registry.get(nombre).tag("columna", columna).functionCounter().count();
+    }
+
+    private static ClavesUnicasSocio clave(String identificacion, String email) {
+        return new ClavesUnicasSocio() {
+            @Override
+            public String getIdentificacion() {
+                return identificacion;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
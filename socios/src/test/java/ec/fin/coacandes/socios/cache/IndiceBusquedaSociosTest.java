@@ -0,0 +1,351 @@
+package ec.fin.coacandes.socios.cache;
+
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.DatosBusquedaSocio;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IndiceBusquedaSociosTest {
+
+    private final SocioRepository socioRepository = mock(SocioRepository.class);
+    private final AtomicLong ahora = new AtomicLong();
+    private final IndiceBusquedaSocios indice = new IndiceBusquedaSocios(
+            socioRepository, mock(PlatformTransactionManager.class), true, Duration.ofMinutes(5), ahora::get);
+
+    private final UUID perez = UUID.randomUUID();
+    private final UUID gonzalez = UUID.randomUUID();
+    private final UUID perezGonzalez = UUID.randomUUID();
+
+    @AfterEach
+    void limpiarSincronizacion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void construir(DatosBusquedaSocio... datos) {
+        when(socioRepository.streamDatosBusquedaActivos()).thenReturn(Stream.of(datos));
+        indice.reconstruir();
+    }
+
+    private void construirEjemplo() {
+        construir(datos(perez, "Juan Carlos", "Pérez Álvarez", "jperez@correo.ec"),
+                datos(gonzalez, "María José", "González", null),
+                datos(perezGonzalez, "Ñusta", "Perez Gonzalez", "nusta.pg@correo.ec"));
+    }
+
+    private List<UUID> buscar(String texto) {
+        return indice.buscar(IndiceBusquedaSocios.terminos(texto), 0, 10).ids();
+    }
+
+    @Test
+    void terminos_normalizaSinTildesYDescartaLosCortos() {
+        assertEquals(List.of("perez", "nunez", "jp"), IndiceBusquedaSocios.terminos("  PÉREZ  Núñez j JP pérez"));
+        assertEquals(List.of("juan", "perez", "correo", "ec"), IndiceBusquedaSocios.terminos("juan.perez@correo.ec"));
+        assertEquals(List.of("jperez", "87", "correo"), IndiceBusquedaSocios.terminos("jPérez87@correo"));
+        assertEquals(List.of(), IndiceBusquedaSocios.terminos(" a "));
+        assertEquals(List.of(), IndiceBusquedaSocios.terminos(null));
+        assertEquals(List.of(), IndiceBusquedaSocios.terminos("   "));
+    }
+
+    @Test
+    void buscar_antesDeConstruirRetornaNull() {
+        assertNull(indice.buscar(List.of("perez"), 0, 10));
+    }
+
+    @Test
+    void buscar_sinTerminosNoTieneCoincidencias() {
+        construirEjemplo();
+
+        IndiceBusquedaSocios.Coincidencias coincidencias = indice.buscar(List.of(), 0, 10);
+
+        assertEquals(List.of(), coincidencias.ids());
+        assertEquals(0, coincidencias.total());
+    }
+
+    @Test
+    void buscar_porPrefijoSinDistinguirTildes() {
+        construirEjemplo();
+
+        assertEquals(List.of(perez, perezGonzalez), buscar("Perez"));
+        assertEquals(List.of(perez, perezGonzalez), buscar("pé"));
+        assertEquals(List.of(perezGonzalez), buscar("nusta"));
+        assertEquals(List.of(perez), buscar("alvarez"));
+        // perez está a distancia 1 de jperez
+        assertEquals(List.of(perez, perezGonzalez), buscar("jperez@correo"));
+        // Los números solo se buscan por prefijo
+        assertEquals(List.of(), buscar("2024"));
+    }
+
+    @Test
+    void buscar_exigeTodosLosTerminos() {
+        construirEjemplo();
+
+        assertEquals(List.of(perezGonzalez), buscar("gonz pere"));
+        assertEquals(List.of(), buscar("juan gonzalez"));
+    }
+
+    @Test
+    void buscar_aceptaErroresDeTipeoDespuesDeLasCoincidenciasExactas() {
+        UUID perezExacto = UUID.randomUUID();
+        construir(datos(perez, "Juan", "Peres", null), datos(perezExacto, "Ana", "Perezoso", null));
+
+        IndiceBusquedaSocios.Coincidencias coincidencias =
+                indice.buscar(IndiceBusquedaSocios.terminos("perez"), 0, 10);
+
+        assertEquals(List.of(perezExacto, perez), coincidencias.ids());
+        assertEquals(2, coincidencias.total());
+    }
+
+    @Test
+    void buscar_paginaYCuentaElTotal() {
+        DatosBusquedaSocio[] datos = new DatosBusquedaSocio[25];
+        for (int i = 0; i < datos.length; i++) {
+            datos[i] = datos(UUID.randomUUID(), "Socio", "Apellido" + i, null);
+        }
+        construir(datos);
+
+        IndiceBusquedaSocios.Coincidencias pagina = indice.buscar(List.of("socio"), 20, 10);
+
+        assertEquals(25, pagina.total());
+        assertEquals(List.of(datos[20].getId(), datos[21].getId(), datos[22].getId(), datos[23].getId(),
+                datos[24].getId()), pagina.ids());
+    }
+
+    @Test
+    void indexar_reemplazaLasPalabrasAnterioresYEliminarLasQuita() {
+        construirEjemplo();
+
+        indice.indexarDespuesDeCommit(socio(perez, "Juan", "Quishpe", null));
+        assertEquals(List.of(perezGonzalez), buscar("perez"));
+        assertEquals(List.of(perez), buscar("quishpe"));
+
+        indice.eliminarDespuesDeCommit(List.of(perez, gonzalez));
+        assertEquals(List.of(), buscar("quishpe"));
+        assertEquals(List.of(perezGonzalez), buscar("gonzalez"));
+    }
+
+    @Test
+    void buscar_aceptaDosErroresEnLosExtremosDePalabrasLargas() {
+        UUID otro = UUID.randomUUID();
+        construir(datos(perez, "Juan", "Bonzalex", null), datos(gonzalez, "Ana", "Agonzale", null),
+                datos(otro, "Luis", "Bonzalxy", null));
+
+        assertEquals(List.of(perez, gonzalez), buscar("gonzalez"));
+    }
+
+    @Test
+    void eliminar_compactaLasPosicionesLibresConservandoElOrden() {
+        DatosBusquedaSocio[] datos = new DatosBusquedaSocio[3000];
+        for (int i = 0; i < datos.length; i++) {
+            datos[i] = datos(UUID.randomUUID(), "Socio", "Apellido", null);
+        }
+        construir(datos);
+        List<UUID> quedan = new ArrayList<>();
+        for (int i = 0; i < datos.length; i++) {
+            if (i % 10 == 0) {
+                quedan.add(datos[i].getId());
+            } else {
+                indice.eliminarDespuesDeCommit(List.of(datos[i].getId()));
+            }
+        }
+        UUID nuevo = UUID.randomUUID();
+        indice.indexarDespuesDeCommit(socio(nuevo, "Socio", "Nuevo", null));
+        quedan.add(nuevo);
+
+        IndiceBusquedaSocios.Coincidencias coincidencias = indice.buscar(List.of("socio"), 0, 1000);
+        assertEquals(quedan, coincidencias.ids());
+        assertEquals(List.of(nuevo), buscar("nuevo"));
+        Object vigente = ReflectionTestUtils.getField(indice, "vigente");
+        assertTrue((int) ReflectionTestUtils.getField(vigente, "siguiente") < 1000);
+    }
+
+    @Test
+    void indexar_quitaAlSocioInactivo() {
+        construirEjemplo();
+        Socio inactivo = socio(perez, "Juan Carlos", "Pérez Álvarez", "jperez@correo.ec");
+        inactivo.setActivo(false);
+
+        indice.indexarDespuesDeCommit(inactivo);
+
+        assertEquals(List.of(perezGonzalez), buscar("perez"));
+        assertEquals(List.of(), buscar("alvarez"));
+    }
+
+    @Test
+    void indexar_esperaAlCommitDeLaTransaccion() {
+        construirEjemplo();
+        TransactionSynchronizationManager.initSynchronization();
+
+        UUID nuevo = UUID.randomUUID();
+        indice.indexarDespuesDeCommit(socio(nuevo, "Pedro", "Quishpe", null));
+        assertEquals(List.of(), buscar("quishpe"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(nuevo), buscar("quishpe"));
+    }
+
+    @Test
+    void escriturasDuranteLaConstruccion_noSeSobrescribenConValoresAnteriores() {
+        when(socioRepository.streamDatosBusquedaActivos()).thenAnswer(invocacion -> {
+            indice.indexarDespuesDeCommit(socio(perez, "Juan", "Quishpe", null));
+            indice.eliminarDespuesDeCommit(List.of(gonzalez));
+            // El recorrido empezó antes de esas escrituras y trae los valores anteriores
+            return Stream.of(datos(perez, "Juan", "Pérez", null), datos(gonzalez, "María", "González", null));
+        });
+
+        indice.reconstruir();
+
+        assertEquals(List.of(perez), buscar("quishpe"));
+        assertEquals(List.of(), buscar("perez"));
+        assertEquals(List.of(), buscar("gonzalez"));
+    }
+
+    @Test
+    void deshabilitado_noConstruyeElIndice() {
+        IndiceBusquedaSocios deshabilitado = new IndiceBusquedaSocios(
+                socioRepository, mock(PlatformTransactionManager.class), false, Duration.ofMinutes(5));
+
+        deshabilitado.reconstruir();
+
+        assertNull(deshabilitado.buscar(List.of("perez"), 0, 10));
+        verify(socioRepository, never()).streamDatosBusquedaActivos();
+    }
+
+    @Test
+    void buscar_sinReconstruirEnDosIntervalosRetornaNull() {
+        construirEjemplo();
+
+        ahora.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertEquals(List.of(perez, perezGonzalez), buscar("perez"));
+
+        ahora.incrementAndGet();
+        assertNull(indice.buscar(List.of("perez"), 0, 10));
+
+        // Otra instancia dio de alta un socio: aparece al reconstruir
+        UUID quishpe = UUID.randomUUID();
+        construir(datos(perez, "Juan Carlos", "Pérez Álvarez", "jperez@correo.ec"),
+                datos(quishpe, "Rosa", "Quishpe", null));
+        assertEquals(List.of(quishpe), buscar("quishpe"));
+    }
+
+    @Test
+    void reconstruir_fallidoConservaElIndiceAnterior() {
+        construirEjemplo();
+        when(socioRepository.streamDatosBusquedaActivos()).thenThrow(new IllegalStateException("BD no disponible"));
+
+        indice.reconstruir();
+        UUID quishpe = UUID.randomUUID();
+        indice.indexarDespuesDeCommit(socio(quishpe, "Rosa", "Quishpe", null));
+
+        assertEquals(List.of(perez, perezGonzalez), buscar("perez"));
+        assertEquals(List.of(quishpe), buscar("quishpe"));
+    }
+
+    @Test
+    void start_deshabilitadoNoProgramaLaReconstruccion() {
+        IndiceBusquedaSocios deshabilitado = new IndiceBusquedaSocios(
+                socioRepository, mock(PlatformTransactionManager.class), false, Duration.ofMillis(10));
+
+        deshabilitado.start();
+
+        assertFalse(deshabilitado.isRunning());
+    }
+
+    @Test
+    void stop_sinIniciarNoHaceNada() {
+        indice.stop();
+
+        assertFalse(indice.isRunning());
+    }
+
+    @Test
+    void start_reconstruyeCadaIntervaloYStopInterrumpidoNoEspera() throws Exception {
+        CountDownLatch reconstruyendo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(socioRepository.streamDatosBusquedaActivos()).thenAnswer(invocacion -> {
+            reconstruyendo.countDown();
+            // Ignora la interrupción de stop() para que siga en curso mientras se detiene
+            while (true) {
+                try {
+                    liberar.await();
+                    return Stream.empty();
+                } catch (InterruptedException e) {
+                    // Sigue esperando
+                }
+            }
+        });
+        IndiceBusquedaSocios programado = new IndiceBusquedaSocios(
+                socioRepository, mock(PlatformTransactionManager.class), true, Duration.ofMillis(10));
+
+        programado.start();
+        assertTrue(programado.isRunning());
+        assertTrue(reconstruyendo.await(5, TimeUnit.SECONDS));
+        Thread.currentThread().interrupt();
+        try {
+            programado.stop();
+            assertTrue(Thread.interrupted());
+        } finally {
+            liberar.countDown();
+        }
+        assertFalse(programado.isRunning());
+    }
+
+    @Test
+    void distancia_cortaAlSuperarElMaximo() {
+        assertEquals(1, IndiceBusquedaSocios.distancia("perez", "peres", 1));
+        assertEquals(1, IndiceBusquedaSocios.distancia("gonzalez", "gonzales", 2));
+        assertEquals(3, IndiceBusquedaSocios.distancia("perez", "gomez", 2));
+        assertEquals(2, IndiceBusquedaSocios.distancia("perez", "lopez", 1));
+    }
+
+    private static Socio socio(UUID id, String nombres, String apellidos, String email) {
+        Socio socio = new Socio();
+        socio.setId(id);
+        socio.setNombres(nombres);
+        socio.setApellidos(apellidos);
+        socio.setEmail(email);
+        return socio;
+    }
+
+    private static DatosBusquedaSocio datos(UUID id, String nombres, String apellidos, String email) {
+        return new DatosBusquedaSocio() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getNombres() {
+                return nombres;
+            }
+
+            @Override
+            public String getApellidos() {
+                return apellidos;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package ec.fin.coacandes.socios.cache;
+
+import ec.fin.coacandes.socios.dto.EstadisticasCacheDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocioCacheTest {
+
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private SocioResponseDTO cargar(UUID id, String identificacion) {
+        cargas.incrementAndGet();
+        SocioResponseDTO dto = new SocioResponseDTO();
+        dto.setId(id);
+        dto.setIdentificacion(identificacion);
+        return dto;
+    }
+
+    @Test
+    void obtenerPorId_cargaUnaVezYLuegoAcierta() {
+        SocioCache cache = new SocioCache(100, Duration.ofMinutes(5));
+        UUID id = UUID.randomUUID();
+
+        SocioResponseDTO primero = cache.obtenerPorId(id, clave -> cargar(clave, "1712345678"));
+        SocioResponseDTO segundo = cache.obtenerPorId(id, clave -> cargar(clave, "1712345678"));
+
+        assertSame(primero, segundo);
+        assertEquals(1, cargas.get());
+        EstadisticasCacheDTO estadisticas = cache.estadisticas();
+        assertEquals(1, estadisticas.getAciertos());
+        assertEquals(1, estadisticas.getFallos());
+    }
+
+    @Test
+    void obtenerPorId_tambienPueblaLaClavePorIdentificacion() {
+        SocioCache cache = new SocioCache(100, Duration.ofMinutes(5));
+        UUID id = UUID.randomUUID();
+
+        cache.obtenerPorId(id, clave -> cargar(clave, "1712345678"));
+        SocioResponseDTO porIdentificacion = cache.obtenerPorIdentificacion("1712345678",
+                clave -> cargar(UUID.randomUUID(), clave));
+
+        assertEquals(id, porIdentificacion.getId());
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    void obtener_noGuardaResultadosFallidos() {
+        SocioCache cache = new SocioCache(100, Duration.ofMinutes(5));
+
+        assertThrows(EntityNotFoundException.class, () -> cache.obtenerPorIdentificacion("1712345678", clave -> {
+            throw new EntityNotFoundException("Socio no encontrado");
+        }));
+        cache.obtenerPorIdentificacion("1712345678", clave -> cargar(UUID.randomUUID(), clave));
+
+        assertEquals(1, cargas.get());
+        assertEquals(2, cache.estadisticas().getFallos());
+    }
+
+    @Test
+    void obtener_noGuardaLoLeidoAntesDeUnaInvalidacion() {
+        SocioCache cache = new SocioCache(100, Duration.ofMinutes(5));
+        UUID id = UUID.randomUUID();
+
+        // El commit de una actualización invalida mientras la lectura todavía tiene el valor anterior
+        SocioResponseDTO anterior = cache.obtenerPorId(id, clave -> {
+            SocioResponseDTO leido = cargar(clave, "1712345678");
+            cache.invalidarDespuesDeCommit(clave, "1712345678");
+            return leido;
+        });
+        SocioResponseDTO siguiente = cache.obtenerPorId(id, clave -> cargar(clave, "1712345678"));
+        cache.obtenerPorIdentificacion("1712345678", clave -> cargar(id, clave));
+
+        assertNotSame(anterior, siguiente);
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void invalidarDespuesDeCommit_sinTransaccionInvalidaDeInmediato() {
+        SocioCache cache = new SocioCache(100, Duration.ofMinutes(5));
+        UUID id = UUID.randomUUID();
+        cache.obtenerPorId(id, clave -> cargar(clave, "1712345678"));
+
+        cache.invalidarDespuesDeCommit(id, "1712345678", null);
+        cache.obtenerPorId(id, clave -> cargar(clave, "1712345678"));
+        cache.obtenerPorIdentificacion("1712345678", clave -> cargar(id, clave));
+
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void invalidarDespuesDeCommit_esperaAlCommitDeLaTransaccion() {
+        SocioCache cache = new SocioCache(100, Duration.ofMinutes(5));
+        UUID id = UUID.randomUUID();
+        cache.obtenerPorId(id, clave -> cargar(clave, "1712345678"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidarDespuesDeCommit(id, "1712345678");
+        cache.obtenerPorId(id, clave -> cargar(clave, "1712345678"));
+        assertEquals(1, cargas.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.obtenerPorId(id, clave -> cargar(clave, "1712345678"));
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void invalidarDespuesDeCommit_toleraIdNulo() {
+        SocioCache cache = new SocioCache(100, Duration.ofMinutes(5));
+
+        assertDoesNotThrow(() -> cache.invalidarDespuesDeCommit(null, "1712345678"));
+    }
+
+    @Test
+    void estadisticas_cuentaDesalojosPorTamano() {
+        SocioCache cache = new SocioCache(1, Duration.ofMinutes(5));
+        for (int i = 0; i < 5; i++) {
+            cache.obtenerPorId(UUID.randomUUID(), clave -> cargar(clave, null));
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> cache.estadisticas().getDesalojos() >= 4);
+        assertTrue(cache.estadisticas().getEntradas() <= 1);
+    }
+}
@@ -1,10 +1,25 @@
 package ec.fin.coacandes.socios.client;
 
+import ec.fin.coacandes.socios.cache.CuentasActivasCache;
+import ec.fin.coacandes.socios.config.CuentasResilienciaConfig;
+import ec.fin.coacandes.socios.config.LogsMuestreados;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -12,42 +27,49 @@ import static org.mockito.Mockito.*;
 
 class CuentasClientServiceTest {
 
+    // TTL cero: cada validación llega al servicio de cuentas
+    private static CuentasActivasCache sinCache() {
+        return new CuentasActivasCache(100, Duration.ZERO);
+    }
+
+    private static CuentasClientService servicio(RestTemplate restTemplate) {
+        return new CuentasClientService(restTemplate, CircuitBreaker.ofDefaults("cuentas"),
+                Bulkhead.ofDefaults("cuentas"), sinCache(), new LogsMuestreados(10));
+    }
+
     @Test
     void socioTieneCuentasActivas_retornaTrueCuandoRespuestaLoIndica() {
-        CuentasClientService service = new CuentasClientService();
         RestTemplate restTemplate = mock(RestTemplate.class);
+        CuentasClientService service = servicio(restTemplate);
         CuentasValidacionResponse response = new CuentasValidacionResponse("socio-1", true, 2);
 
-        ReflectionTestUtils.setField(service, "restTemplate", restTemplate);
         ReflectionTestUtils.setField(service, "cuentasServiceUrl", "http://localhost:3000");
 
-        when(restTemplate.getForObject(anyString(), eq(CuentasValidacionResponse.class))).thenReturn(response);
+        when(restTemplate.getForObject(anyString(), eq(CuentasValidacionResponse.class), eq("socio-1"))).thenReturn(response);
 
         assertTrue(service.socioTieneCuentasActivas("socio-1"));
     }
 
     @Test
     void socioTieneCuentasActivas_retornaFalseCuandoRespuestaEsNull() {
-        CuentasClientService service = new CuentasClientService();
         RestTemplate restTemplate = mock(RestTemplate.class);
+        CuentasClientService service = servicio(restTemplate);
 
-        ReflectionTestUtils.setField(service, "restTemplate", restTemplate);
         ReflectionTestUtils.setField(service, "cuentasServiceUrl", "http://localhost:3000");
 
-        when(restTemplate.getForObject(anyString(), eq(CuentasValidacionResponse.class))).thenReturn(null);
+        when(restTemplate.getForObject(anyString(), eq(CuentasValidacionResponse.class), eq("socio-1"))).thenReturn(null);
 
         assertFalse(service.socioTieneCuentasActivas("socio-1"));
     }
 
     @Test
     void socioTieneCuentasActivas_retornaFalseSiEndpointNoExiste() {
-        CuentasClientService service = new CuentasClientService();
         RestTemplate restTemplate = mock(RestTemplate.class);
+        CuentasClientService service = servicio(restTemplate);
 
-        ReflectionTestUtils.setField(service, "restTemplate", restTemplate);
         ReflectionTestUtils.setField(service, "cuentasServiceUrl", "http://localhost:3000");
 
-        when(restTemplate.getForObject(anyString(), eq(CuentasValidacionResponse.class)))
+        when(restTemplate.getForObject(anyString(), eq(CuentasValidacionResponse.class), eq("socio-1")))
             .thenThrow(HttpClientErrorException.create(
                 org.springframework.http.HttpStatus.NOT_FOUND,
                 "Not Found",
@@ -60,15 +82,211 @@ class CuentasClientServiceTest {
 
     @Test
     void socioTieneCuentasActivas_lanzaErrorCuandoServicioNoDisponible() {
-        CuentasClientService service = new CuentasClientService();
         RestTemplate restTemplate = mock(RestTemplate.class);
+        CuentasClientService service = servicio(restTemplate);
 
-        ReflectionTestUtils.setField(service, "restTemplate", restTemplate);
         ReflectionTestUtils.setField(service, "cuentasServiceUrl", "http://localhost:3000");
 
-        when(restTemplate.getForObject(anyString(), eq(CuentasValidacionResponse.class)))
+        when(restTemplate.getForObject(anyString(), eq(CuentasValidacionResponse.class), eq("socio-1")))
             .thenThrow(new RuntimeException("down"));
 
         assertThrows(IllegalStateException.class, () -> service.socioTieneCuentasActivas("socio-1"));
     }
+
+    @Test
+    void obtenerCuentasPorSocio_retornaLista() {
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        CuentasClientService service = servicio(restTemplate);
+        ReflectionTestUtils.setField(service, "cuentasServiceUrl", "http://localhost:3000");
+        UUID socioId = UUID.randomUUID();
+
+        when(restTemplate.getForEntity("http://localhost:3000/cuentas/socio/{socioId}", Object[].class, socioId))
+            .thenReturn(new ResponseEntity<>(new Object[] { new Object(), new Object() }, HttpStatus.OK));
+
+        assertEquals(2, service.obtenerCuentasPorSocio(socioId).size());
+    }
+
+    @Test
+    void obtenerCuentasPorSocio_retornaVacioSiNoOk() {
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        CuentasClientService service = servicio(restTemplate);
+        ReflectionTestUtils.setField(service, "cuentasServiceUrl", "http://localhost:3000");
+
+        when(restTemplate.getForEntity(anyString(), eq(Object[].class), any(UUID.class)))
+            .thenReturn(new ResponseEntity<>((HttpHeaders) null, HttpStatus.NO_CONTENT));
+
+        assertTrue(service.obtenerCuentasPorSocio(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void obtenerCuentasPorSocio_retornaVacioSiOkSinCuerpo() {
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        CuentasClientService service = servicio(restTemplate);
+        ReflectionTestUtils.setField(service, "cuentasServiceUrl", "http://localhost:3000");
+
+        when(restTemplate.getForEntity(anyString(), eq(Object[].class), any(UUID.class)))
+            .thenReturn(new ResponseEntity<>((HttpHeaders) null, HttpStatus.OK));
+
+        assertTrue(service.obtenerCuentasPorSocio(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void obtenerCuentasPorSocio_lanzaErrorSiFalla() {
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        CuentasClientService service = servicio(restTemplate);
+        ReflectionTestUtils.setField(service, "cuentasServiceUrl", "http://localhost:3000");
+
+        when(restTemplate.getForEntity(anyString(), eq(Object[].class), any(UUID.class)))
+            .thenThrow(new RuntimeException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> service.obtenerCuentasPorSocio(UUID.randomUUID()));
+    }
+
+    // Circuito con ventana de 4 llamadas, 50 % de fallos y 200 ms abierto antes de probar de nuevo
+    private static CircuitBreaker circuito() {
+        CuentasResilienciaConfig config = new CuentasResilienciaConfig();
+        return config.cuentasCircuitBreaker(config.cuentasCircuitBreakerRegistry(
+                4, 4, 50, Duration.ofSeconds(2), 100, Duration.ofMillis(200), 2));
+    }
+
+    private static Bulkhead bulkhead(int maximoConcurrente) {
+        CuentasResilienciaConfig config = new CuentasResilienciaConfig();
+        return config.cuentasBulkhead(config.cuentasBulkheadRegistry(maximoConcurrente));
+    }
+
+    private static CuentasClientService servicio(CuentasStubServer cuentas, CircuitBreaker circuito, Bulkhead bulkhead) {
+        return servicio(cuentas, circuito, bulkhead, sinCache());
+    }
+
+    private static CuentasClientService servicio(CuentasStubServer cuentas, CircuitBreaker circuito, Bulkhead bulkhead,
+                                                 CuentasActivasCache cache) {
+        CuentasClientService service = new CuentasClientService(new RestTemplate(), circuito, bulkhead, cache,
+                new LogsMuestreados(10));
+        ReflectionTestUtils.setField(service, "cuentasServiceUrl", cuentas.url());
+        return service;
+    }
+
+    private static void abrirCircuito(CuentasClientService service, CircuitBreaker circuito) {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(CuentasNoDisponibleException.class, () -> service.socioTieneCuentasActivas("socio-1"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuito.getState());
+    }
+
+    @Test
+    void circuitoAbierto_rechazaSinLlamarAlServicioDeCuentas() {
+        CircuitBreaker circuito = circuito();
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar().conStatus(500)) {
+            CuentasClientService service = servicio(cuentas, circuito, bulkhead(10));
+            abrirCircuito(service, circuito);
+
+            CuentasNoDisponibleException error = assertThrows(CuentasNoDisponibleException.class,
+                    () -> service.socioTieneCuentasActivas("socio-1"));
+
+            assertInstanceOf(CallNotPermittedException.class, error.getCause());
+            assertEquals(4, cuentas.getSolicitudes());
+            assertEquals(1, circuito.getMetrics().getNumberOfNotPermittedCalls());
+        }
+    }
+
+    @Test
+    void circuitoSemiabierto_seCierraSiLasPruebasResponden() throws InterruptedException {
+        CircuitBreaker circuito = circuito();
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar().conStatus(500)) {
+            CuentasClientService service = servicio(cuentas, circuito, bulkhead(10));
+            abrirCircuito(service, circuito);
+
+            cuentas.conStatus(200).conCuentasActivas(true);
+            Thread.sleep(300);
+
+            assertTrue(service.socioTieneCuentasActivas("socio-1"));
+            assertEquals(CircuitBreaker.State.HALF_OPEN, circuito.getState());
+            assertTrue(service.socioTieneCuentasActivas("socio-1"));
+            assertEquals(CircuitBreaker.State.CLOSED, circuito.getState());
+        }
+    }
+
+    @Test
+    void circuitoSemiabierto_vuelveAAbrirseSiLasPruebasFallan() throws InterruptedException {
+        CircuitBreaker circuito = circuito();
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar().conStatus(500)) {
+            CuentasClientService service = servicio(cuentas, circuito, bulkhead(10));
+            abrirCircuito(service, circuito);
+
+            Thread.sleep(300);
+            for (int i = 0; i < 2; i++) {
+                assertThrows(CuentasNoDisponibleException.class, () -> service.socioTieneCuentasActivas("socio-1"));
+            }
+
+            assertEquals(CircuitBreaker.State.OPEN, circuito.getState());
+            assertEquals(6, cuentas.getSolicitudes());
+        }
+    }
+
+    @Test
+    void respuesta404_noCuentaComoFalloDelCircuito() {
+        CircuitBreaker circuito = circuito();
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar().conStatus(404)) {
+            CuentasClientService service = servicio(cuentas, circuito, bulkhead(10));
+
+            for (int i = 0; i < 6; i++) {
+                assertFalse(service.socioTieneCuentasActivas("socio-1"));
+            }
+
+            assertEquals(CircuitBreaker.State.CLOSED, circuito.getState());
+            assertEquals(0, circuito.getMetrics().getNumberOfFailedCalls());
+        }
+    }
+
+    @Test
+    void bulkheadLleno_rechazaDeInmediatoSinEncolar() throws InterruptedException {
+        Bulkhead bulkhead = bulkhead(1);
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar().conDemora(Duration.ofMillis(500))) {
+            CuentasClientService service = servicio(cuentas, circuito(), bulkhead);
+            Thread enCurso = Thread.ofVirtual().start(() -> service.socioTieneCuentasActivas("socio-1"));
+            await().atMost(Duration.ofSeconds(2)).until(() -> cuentas.getSolicitudes() == 1);
+
+            long inicio = System.nanoTime();
+            CuentasNoDisponibleException error = assertThrows(CuentasNoDisponibleException.class,
+                    () -> service.socioTieneCuentasActivas("socio-2"));
+
+            assertInstanceOf(BulkheadFullException.class, error.getCause());
+            assertTrue(Duration.ofNanos(System.nanoTime() - inicio).toMillis() < 200);
+            enCurso.join();
+            assertEquals(1, cuentas.getSolicitudes());
+            assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        }
+    }
+
+    @Test
+    void validacionRepetida_saleDeCacheHastaQueCuentasLaInvalida() {
+        CuentasActivasCache cache = new CuentasActivasCache(100, Duration.ofMinutes(1));
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar()) {
+            CuentasClientService service = servicio(cuentas, circuito(), bulkhead(10), cache);
+
+            assertFalse(service.socioTieneCuentasActivas("socio-1"));
+            assertFalse(service.socioTieneCuentasActivas("socio-1"));
+            assertEquals(1, cuentas.getSolicitudes());
+
+            cuentas.conCuentasActivas(true);
+            cache.invalidar("socio-1");
+
+            assertTrue(service.socioTieneCuentasActivas("socio-1"));
+            assertEquals(2, cuentas.getSolicitudes());
+        }
+    }
+
+    @Test
+    void validacionFallida_noSeGuardaEnCache() {
+        CuentasActivasCache cache = new CuentasActivasCache(100, Duration.ofMinutes(1));
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar().conStatus(500)) {
+            CuentasClientService service = servicio(cuentas, circuito(), bulkhead(10), cache);
+
+            assertThrows(CuentasNoDisponibleException.class, () -> service.socioTieneCuentasActivas("socio-1"));
+            cuentas.conStatus(200);
+
+            assertFalse(service.socioTieneCuentasActivas("socio-1"));
+            assertEquals(2, cuentas.getSolicitudes());
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package ec.fin.coacandes.socios.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CuentasResilienciaConfigTest {
+
+    private final CuentasResilienciaConfig config = new CuentasResilienciaConfig();
+
+    @Test
+    void cuentasCircuitBreaker_aplicaLaConfiguracion() {
+        CircuitBreakerRegistry registry = config.cuentasCircuitBreakerRegistry(
+                20, 10, 50, Duration.ofSeconds(3), 80, Duration.ofSeconds(10), 3);
+        CircuitBreaker circuitBreaker = config.cuentasCircuitBreaker(registry);
+
+        assertEquals("cuentas", circuitBreaker.getName());
+        assertEquals(20, circuitBreaker.getCircuitBreakerConfig().getSlidingWindowSize());
+        assertEquals(3, circuitBreaker.getCircuitBreakerConfig().getPermittedNumberOfCallsInHalfOpenState());
+        assertEquals(Duration.ofSeconds(3), circuitBreaker.getCircuitBreakerConfig().getSlowCallDurationThreshold());
+    }
+
+    @Test
+    void cuentasBulkhead_noEsperaCupo() {
+        Bulkhead bulkhead = config.cuentasBulkhead(config.cuentasBulkheadRegistry(40));
+
+        assertEquals(40, bulkhead.getBulkheadConfig().getMaxConcurrentCalls());
+        assertEquals(Duration.ZERO, bulkhead.getBulkheadConfig().getMaxWaitDuration());
+    }
+
+    @Test
+    void metricas_publicanEstadoDelCircuitoYRechazosDelBulkhead() {
+        CircuitBreakerRegistry circuitos = config.cuentasCircuitBreakerRegistry(
+                20, 10, 50, Duration.ofSeconds(3), 80, Duration.ofSeconds(10), 3);
+        CircuitBreaker circuitBreaker = config.cuentasCircuitBreaker(circuitos);
+        BulkheadRegistry bulkheads = config.cuentasBulkheadRegistry(1);
+        Bulkhead bulkhead = config.cuentasBulkhead(bulkheads);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        config.cuentasCircuitBreakerMetrics(circuitos).bindTo(registry);
+        config.cuentasBulkheadMetrics(bulkheads, bulkhead).bindTo(registry);
+        circuitBreaker.transitionToOpenState();
+        assertTrue(bulkhead.tryAcquirePermission());
+        assertFalse(bulkhead.tryAcquirePermission());
+
+        assertEquals(1, registry.get("resilience4j.circuitbreaker.state")
+                .tags("name", "cuentas", "state", "open").gauge().value());
+        assertEquals(1, registry.get("resilience4j.bulkhead.rejected").tag("name", "cuentas").counter().count());
+        assertEquals(0, registry.get("resilience4j.bulkhead.available.concurrent.calls").gauge().value());
+    }
+}
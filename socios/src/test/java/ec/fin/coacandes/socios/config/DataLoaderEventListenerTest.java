@@ -1,9 +1,16 @@
 package ec.fin.coacandes.socios.config;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
 import ec.fin.coacandes.socios.entity.Socio;
 import ec.fin.coacandes.socios.repository.SocioRepository;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,7 +27,7 @@ class DataLoaderEventListenerTest {
         private int generatedCount;
 
         TestDataLoader(SocioRepository socioRepository, List<Socio> base) {
-            super(socioRepository);
+            super(socioRepository, mock(PlatformTransactionManager.class));
             this.base = base;
         }
 
@@ -53,12 +60,27 @@ class DataLoaderEventListenerTest {
         assertEquals(19, loader.generatedCount);
     }
 
+    @Test
+    void cargarDatosIniciales_completaConAleatoriosHastaLaCantidadConfigurada() {
+        SocioRepository repo = mock(SocioRepository.class);
+        when(repo.count()).thenReturn(0L);
+        TestDataLoader loader = new TestDataLoader(repo,
+                new DataLoaderEventListener(repo, mock(PlatformTransactionManager.class)).crearSociosBase());
+        ReflectionTestUtils.setField(loader, "cantidad", 120);
+
+        loader.cargarDatosIniciales(mock(ApplicationReadyEvent.class));
+
+        assertTrue(loader.generated);
+        assertEquals(100, loader.generatedCount);
+    }
+
     @Test
     void cargarDatosIniciales_noGeneraAleatoriosSiListaCompleta() {
         SocioRepository repo = mock(SocioRepository.class);
         when(repo.count()).thenReturn(0L);
 
-        TestDataLoader loader = new TestDataLoader(repo, new DataLoaderEventListener(repo).crearSociosBase());
+        TestDataLoader loader = new TestDataLoader(repo,
+                new DataLoaderEventListener(repo, mock(PlatformTransactionManager.class)).crearSociosBase());
 
         assertDoesNotThrow(() -> loader.cargarDatosIniciales(mock(ApplicationReadyEvent.class)));
         assertFalse(loader.generated);
@@ -68,12 +90,44 @@ class DataLoaderEventListenerTest {
     void cargarDatosIniciales_noHaceNadaSiYaExistenSocios() {
         SocioRepository repo = mock(SocioRepository.class);
         when(repo.count()).thenReturn(5L);
-        when(repo.findAll()).thenReturn(List.of(new Socio()));
 
-        DataLoaderEventListener loader = new DataLoaderEventListener(repo);
+        DataLoaderEventListener loader = new DataLoaderEventListener(repo, mock(PlatformTransactionManager.class));
 
         assertDoesNotThrow(() -> loader.cargarDatosIniciales(mock(ApplicationReadyEvent.class)));
         verify(repo, never()).saveAll(any());
+        // Sin DEBUG no se leen socios de muestra; nunca se carga la tabla completa
+        verify(repo, never()).findAll();
+        verify(repo, never()).findPrimeraPagina(any());
+    }
+
+    @Test
+    void cargarDatosIniciales_conDebugRegistraSoloUnaMuestraDeSocios() {
+        SocioRepository repo = mock(SocioRepository.class);
+        when(repo.count()).thenReturn(5L);
+        SocioResponseDTO socio = new SocioResponseDTO();
+        socio.setIdentificacion("1712345678");
+        when(repo.findPrimeraPagina(Limit.of(5))).thenReturn(List.of(socio));
+        Logger log = (Logger) LoggerFactory.getLogger(DataLoaderEventListener.class);
+        log.setLevel(Level.DEBUG);
+        try {
+            new DataLoaderEventListener(repo, mock(PlatformTransactionManager.class)).cargarDatosIniciales(mock(ApplicationReadyEvent.class));
+        } finally {
+            log.setLevel(null);
+        }
+
+        verify(repo).findPrimeraPagina(Limit.of(5));
+        verify(repo, never()).findAll();
+    }
+
+    @Test
+    void cargarDatosIniciales_deshabilitadoNoConsultaLaBd() {
+        SocioRepository repo = mock(SocioRepository.class);
+        DataLoaderEventListener loader = new DataLoaderEventListener(repo, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(loader, "habilitado", false);
+
+        loader.cargarDatosIniciales(mock(ApplicationReadyEvent.class));
+
+        verifyNoInteractions(repo);
     }
 
     @Test
@@ -82,7 +136,7 @@ class DataLoaderEventListenerTest {
         when(repo.count()).thenReturn(0L);
         when(repo.saveAll(any())).thenThrow(new RuntimeException("boom"));
 
-        DataLoaderEventListener loader = new DataLoaderEventListener(repo);
+        DataLoaderEventListener loader = new DataLoaderEventListener(repo, mock(PlatformTransactionManager.class));
 
         assertDoesNotThrow(() -> loader.cargarDatosIniciales(mock(ApplicationReadyEvent.class)));
     }
@@ -90,20 +144,34 @@ class DataLoaderEventListenerTest {
     @Test
     void generarSociosAleatorios_guardaYManejaErrores() {
         SocioRepository repo = mock(SocioRepository.class);
-        DataLoaderEventListener loader = new DataLoaderEventListener(repo);
+        DataLoaderEventListener loader = new DataLoaderEventListener(repo, mock(PlatformTransactionManager.class));
 
-        when(repo.save(any())).thenReturn(new Socio());
-        assertDoesNotThrow(() -> loader.generarSociosAleatorios(1));
-        verify(repo, atLeastOnce()).save(any());
+        assertDoesNotThrow(() -> loader.generarSociosAleatorios(3));
+        verify(repo).saveAllAndFlush(argThat(socios -> socios instanceof List<?> lista && lista.size() == 3));
+        verify(repo, never()).save(any());
 
-        when(repo.save(any())).thenThrow(new RuntimeException("boom"));
+        when(repo.saveAllAndFlush(any())).thenThrow(new RuntimeException("boom"));
         assertDoesNotThrow(() -> loader.generarSociosAleatorios(1));
     }
 
+    @Test
+    void generarSociosAleatorios_unLoteFallidoNoDescartaLosDemas() {
+        SocioRepository repo = mock(SocioRepository.class);
+        when(repo.saveAllAndFlush(any()))
+                .thenThrow(new RuntimeException("boom"))
+                .thenReturn(List.of());
+        DataLoaderEventListener loader = new DataLoaderEventListener(repo, mock(PlatformTransactionManager.class));
+
+        assertDoesNotThrow(() -> loader.generarSociosAleatorios(120));
+
+        verify(repo, times(2)).saveAllAndFlush(argThat(socios -> socios instanceof List<?> lista && lista.size() == 50));
+        verify(repo).saveAllAndFlush(argThat(socios -> socios instanceof List<?> lista && lista.size() == 20));
+    }
+
     @Test
     void crearSocioYBase_cubreCampos() {
         SocioRepository repo = mock(SocioRepository.class);
-        DataLoaderEventListener loader = new DataLoaderEventListener(repo);
+        DataLoaderEventListener loader = new DataLoaderEventListener(repo, mock(PlatformTransactionManager.class));
 
         Socio socio = loader.crearSocio("1712345678", "Juan", "Perez",
                 "juan@test.com", "0999999999", "Calle 1", "CEDULA", true);
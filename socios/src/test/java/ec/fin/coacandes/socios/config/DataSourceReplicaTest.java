@@ -0,0 +1,174 @@
+package ec.fin.coacandes.socios.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DataSourceReplicaTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+    private final JdbcDataSource primaria = h2("primaria");
+    private final JdbcDataSource replica = h2("replica");
+
+    private static JdbcDataSource h2(String nombre) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nombre + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        ejecutar(replica, "create table estado_replica (retraso double)", "insert into estado_replica values (0)");
+    }
+
+    private static void ejecutar(DataSource dataSource, String... sentencias) throws SQLException {
+        try (Connection conexion = dataSource.getConnection(); Statement sentencia = conexion.createStatement()) {
+            for (String sql : sentencias) {
+                sentencia.execute(sql);
+            }
+        }
+    }
+
+    private DataSourceReplica enrutador(DataSource replica) {
+        return new DataSourceReplica(replica, primaria, "select retraso from estado_replica",
+                Duration.ofSeconds(5), Duration.ofSeconds(5), reloj::get);
+    }
+
+    private static String bd(DataSource dataSource) throws SQLException {
+        try (Connection conexion = dataSource.getConnection()) {
+            return conexion.getMetaData().getURL().contains("replica") ? "replica" : "primaria";
+        }
+    }
+
+    @Test
+    void getConnection_usaLaReplicaSiRespondeYEstaAlDia() throws SQLException {
+        DataSourceReplica dataSource = enrutador(replica);
+
+        assertEquals("replica", bd(dataSource));
+        assertEquals("replica", bd(dataSource));
+        assertTrue(dataSource.isDisponible());
+        assertEquals(0, dataSource.getLecturasEnPrimaria());
+    }
+
+    @Test
+    void getConnection_usaLaPrimariaSiLaReplicaEstaAtrasadaHastaLaSiguienteVerificacion() throws SQLException {
+        ejecutar(replica, "update estado_replica set retraso = 12.5");
+        DataSourceReplica dataSource = enrutador(replica);
+
+        assertEquals("primaria", bd(dataSource));
+        assertFalse(dataSource.isDisponible());
+
+        ejecutar(replica, "update estado_replica set retraso = 0.2");
+        reloj.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals("primaria", bd(dataSource));
+
+        reloj.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals("replica", bd(dataSource));
+        assertTrue(dataSource.isDisponible());
+        assertEquals(2, dataSource.getLecturasEnPrimaria());
+    }
+
+    @Test
+    void getConnection_usaLaPrimariaSiLaReplicaNoRespondeSinReintentarHastaLaVerificacion() throws SQLException {
+        DataSource caida = mock(DataSource.class);
+        when(caida.getConnection()).thenThrow(new SQLTransientConnectionException("Connection refused"));
+        DataSourceReplica dataSource = enrutador(caida);
+
+        assertEquals("primaria", bd(dataSource));
+        assertEquals("primaria", bd(dataSource));
+        verify(caida, times(1)).getConnection();
+
+        reloj.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals("primaria", bd(dataSource));
+        verify(caida, times(2)).getConnection();
+        assertFalse(dataSource.isDisponible());
+        assertEquals(3, dataSource.getLecturasEnPrimaria());
+    }
+
+    @Test
+    void getConnection_detectaLaCaidaEntreVerificaciones() throws SQLException {
+        DataSource intermitente = mock(DataSource.class);
+        when(intermitente.getConnection())
+                .thenAnswer(invocacion -> replica.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection refused"));
+        DataSourceReplica dataSource = enrutador(intermitente);
+
+        assertEquals("replica", bd(dataSource));
+        assertEquals("primaria", bd(dataSource));
+        assertFalse(dataSource.isDisponible());
+    }
+
+    @Test
+    void getConnection_vaALaPrimariaSiSeFuerza() throws SQLException {
+        DataSourceReplica dataSource = enrutador(replica);
+
+        assertEquals("primaria", EnrutamientoReplica.enPrimaria(() -> {
+            try {
+                return bd(dataSource);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertEquals("replica", bd(dataSource));
+        // Forzar la primaria no es un desvío por la réplica
+        assertEquals(0, dataSource.getLecturasEnPrimaria());
+    }
+
+    @Test
+    void getConnection_sinConsultaDeRetrasoSoloVerificaQueResponda() throws SQLException {
+        ejecutar(replica, "update estado_replica set retraso = 12.5");
+        DataSourceReplica dataSource = new DataSourceReplica(replica, primaria, "",
+                Duration.ofSeconds(5), Duration.ofSeconds(5), reloj::get);
+
+        assertEquals("replica", bd(dataSource));
+        assertTrue(dataSource.isDisponible());
+    }
+
+    @Test
+    void getConnection_consultaSinFilasCuentaComoAlDia() throws SQLException {
+        ejecutar(replica, "delete from estado_replica");
+
+        assertEquals("replica", bd(enrutador(replica)));
+    }
+
+    @Test
+    void getConnection_usaLaPrimariaSiNoSePuedeMedirElRetraso() throws SQLException {
+        ejecutar(replica, "drop table estado_replica");
+        DataSourceReplica dataSource = enrutador(replica);
+
+        assertEquals("primaria", bd(dataSource));
+        assertFalse(dataSource.isDisponible());
+        assertEquals(1, dataSource.getLecturasEnPrimaria());
+    }
+
+    @Test
+    void getConnection_usaLaPrimariaSiLaConexionDeLaReplicaNoAceptaSentencias() throws SQLException {
+        Connection rota = mock(Connection.class);
+        when(rota.createStatement()).thenThrow(new SQLException("Connection is closed"));
+        DataSource conConexionRota = mock(DataSource.class);
+        when(conConexionRota.getConnection()).thenReturn(rota);
+        DataSourceReplica dataSource = enrutador(conConexionRota);
+
+        assertEquals("primaria", bd(dataSource));
+        assertFalse(dataSource.isDisponible());
+        verify(rota).close();
+    }
+
+    @Test
+    void getConnection_conUsuarioNoSeAdmite() {
+        assertThrows(SQLException.class, () -> enrutador(replica).getConnection("otro", "clave"));
+    }
+}
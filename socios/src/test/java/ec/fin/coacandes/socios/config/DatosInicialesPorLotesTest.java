@@ -0,0 +1,70 @@
+package ec.fin.coacandes.socios.config;
+
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Carga de socios aleatorios por lotes contra H2: un lote que viola la unicidad se pierde solo.
+ * La carga al arrancar está deshabilitada para que la tabla empiece vacía.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:datos-iniciales;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "socios.busqueda.indice-memoria=false",
+        "socios.datos-iniciales.habilitado=false"
+})
+class DatosInicialesPorLotesTest {
+
+    @Autowired
+    private DataLoaderEventListener dataLoader;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Socio socio(String identificacion) {
+        Socio socio = new Socio();
+        socio.setIdentificacion(identificacion);
+        socio.setNombres("Socio");
+        socio.setApellidos("Aleatorio");
+        socio.setTipoIdentificacion("CEDULA");
+        socio.setActivo(true);
+        return socio;
+    }
+
+    @Test
+    void guardarPorLotes_unLoteFallidoNoRevierteLosDemas() {
+        List<Socio> socios = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            socios.add(socio(String.valueOf(1700000000L + i)));
+        }
+        // El segundo lote (51-100) repite una identificación
+        socios.set(75, socio("1700000060"));
+
+        // Aunque se llame dentro de otra transacción, cada lote confirma por separado
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> dataLoader.guardarPorLotes(socios));
+
+        assertEquals(70, socioRepository.count());
+        assertTrue(socioRepository.existsByIdentificacion("1700000049"));
+        assertFalse(socioRepository.existsByIdentificacion("1700000050"));
+        assertTrue(socioRepository.existsByIdentificacion("1700000100"));
+    }
+}
@@ -0,0 +1,85 @@
+package ec.fin.coacandes.socios.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class EnrutamientoReplicaTest {
+
+    private static EnrutamientoReplica enrutamiento(String url) {
+        return new EnrutamientoReplica(url, "sa", "", 2, Duration.ofSeconds(1), Duration.ofSeconds(5),
+                Duration.ofSeconds(5), "");
+    }
+
+    @Test
+    void postProcess_sinUrlNoCambiaElDataSource() {
+        DataSource dataSource = mock(DataSource.class);
+
+        assertSame(dataSource, enrutamiento("").postProcessAfterInitialization(dataSource, "dataSource"));
+    }
+
+    @Test
+    void postProcess_conUrlEnvuelveSoloElDataSourcePrincipal() {
+        EnrutamientoReplica enrutamiento = enrutamiento("jdbc:h2:mem:replica-enrutamiento");
+        DataSource dataSource = mock(DataSource.class);
+        DataSource otro = mock(DataSource.class);
+        try {
+            Object envuelto = enrutamiento.postProcessAfterInitialization(dataSource, "dataSource");
+
+            LazyConnectionDataSourceProxy proxy = assertInstanceOf(LazyConnectionDataSourceProxy.class, envuelto);
+            assertSame(dataSource, proxy.getTargetDataSource());
+            assertSame(otro, enrutamiento.postProcessAfterInitialization(otro, "otroDataSource"));
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            enrutamiento.bindTo(registry);
+            assertEquals(1.0, registry.get("socios.replica.disponible").gauge().value());
+        } finally {
+            enrutamiento.destroy();
+        }
+    }
+
+    @Test
+    void postProcess_ignoraUnBeanDataSourceQueNoEsDataSource() {
+        Object bean = new Object();
+
+        assertSame(bean, enrutamiento("jdbc:h2:mem:replica-otro").postProcessAfterInitialization(bean, "dataSource"));
+    }
+
+    @Test
+    void bindTo_conElPoolIniciadoPublicaLaReplicaCaida() throws SQLException {
+        // IFEXISTS impide crear la base: la réplica nunca responde
+        EnrutamientoReplica enrutamiento = enrutamiento("jdbc:h2:mem:replica-inexistente;IFEXISTS=TRUE");
+        try {
+            enrutamiento.postProcessAfterInitialization(mock(DataSource.class), "dataSource");
+            DataSourceReplica replica = (DataSourceReplica) ReflectionTestUtils.getField(enrutamiento, "replica");
+            replica.getConnection();
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            enrutamiento.bindTo(registry);
+            assertEquals(0.0, registry.get("socios.replica.disponible").gauge().value());
+            assertEquals(1.0, registry.get("socios.replica.lecturas.primaria").functionCounter().count());
+        } finally {
+            enrutamiento.destroy();
+        }
+    }
+
+    @Test
+    void enPrimaria_restauraElEstadoAnteriorAlSalir() {
+        assertFalse(EnrutamientoReplica.primariaForzada());
+
+        EnrutamientoReplica.enPrimaria(() -> {
+            EnrutamientoReplica.enPrimaria(() -> assertTrue(EnrutamientoReplica.primariaForzada()));
+            assertTrue(EnrutamientoReplica.primariaForzada());
+        });
+
+        assertFalse(EnrutamientoReplica.primariaForzada());
+    }
+}
@@ -0,0 +1,74 @@
+package ec.fin.coacandes.socios.config;
+
+import ec.fin.coacandes.socios.repository.CargadorSociosCopy;
+import ec.fin.coacandes.socios.repository.CargadorSociosJdbc;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImportacionConfigTest {
+
+    private final ImportacionConfig config = new ImportacionConfig();
+
+    private static DataSource dataSource(String producto) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(producto);
+        return dataSource;
+    }
+
+    @Test
+    void cargadorSocios_usaCopyEnPostgres() throws SQLException {
+        assertInstanceOf(CargadorSociosCopy.class,
+                config.cargadorSocios(dataSource("PostgreSQL"), mock(JdbcTemplate.class), 50));
+    }
+
+    @Test
+    void cargadorSocios_usaBatchJdbcEnOtrasBases() throws SQLException {
+        assertInstanceOf(CargadorSociosJdbc.class,
+                config.cargadorSocios(dataSource("H2"), mock(JdbcTemplate.class), 50));
+    }
+
+    @Test
+    void cargadorSocios_usaBatchJdbcSiNoHayConexion() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("sin conexión"));
+
+        assertInstanceOf(CargadorSociosJdbc.class, config.cargadorSocios(dataSource, mock(JdbcTemplate.class), 50));
+    }
+
+    @Test
+    void importacionExecutor_procesaUnTrabajoALaVez() {
+        ThreadPoolTaskExecutor executor = config.importacionExecutor();
+
+        assertEquals(1, executor.getCorePoolSize());
+        assertEquals(1, executor.getMaxPoolSize());
+        assertEquals(10, executor.getQueueCapacity());
+        assertEquals("importacion-", executor.getThreadNamePrefix());
+    }
+
+    @Test
+    void importacionExecutor_usaHilosVirtualesSiEstanHabilitados() throws Exception {
+        ReflectionTestUtils.setField(config, "hilosVirtuales", true);
+        ThreadPoolTaskExecutor executor = config.importacionExecutor();
+        executor.initialize();
+        try {
+            assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
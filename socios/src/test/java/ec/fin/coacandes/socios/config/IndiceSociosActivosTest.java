@@ -0,0 +1,53 @@
+package ec.fin.coacandes.socios.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IndiceSociosActivosTest {
+
+    private static DataSource dataSource(String producto) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(producto);
+        return dataSource;
+    }
+
+    @Test
+    void crear_ejecutaElIndiceParcialEnPostgres() throws SQLException {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+        new IndiceSociosActivos(dataSource("PostgreSQL"), jdbcTemplate).crear();
+
+        verify(jdbcTemplate).execute(IndiceSociosActivos.CREAR_INDICE);
+        assertTrue(IndiceSociosActivos.CREAR_INDICE.endsWith("where activo"));
+    }
+
+    @Test
+    void crear_noHaceNadaEnOtrasBases() throws SQLException {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+        new IndiceSociosActivos(dataSource("H2"), jdbcTemplate).crear();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void crear_noImpideElArranqueSiFalla() throws SQLException {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doThrow(new DataAccessResourceFailureException("sin permisos")).when(jdbcTemplate).execute(anyString());
+
+        assertDoesNotThrow(() -> new IndiceSociosActivos(dataSource("PostgreSQL"), jdbcTemplate).crear());
+    }
+}
@@ -0,0 +1,88 @@
+package ec.fin.coacandes.socios.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogsMuestreadosTest {
+
+    private final Logger log = (Logger) LoggerFactory.getLogger(LogsMuestreadosTest.class);
+    private final ListAppender<ILoggingEvent> eventos = new ListAppender<>();
+    private final AtomicLong reloj = new AtomicLong();
+    private final LogsMuestreados logs = new LogsMuestreados(2, reloj::get);
+
+    @BeforeEach
+    void setUp() {
+        eventos.start();
+        log.addAppender(eventos);
+        log.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.detachAppender(eventos);
+        log.setLevel(null);
+    }
+
+    private List<String> mensajes() {
+        return eventos.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    @Test
+    void info_limitaPorSegundoYReportaLosOmitidos() {
+        for (int i = 1; i <= 5; i++) {
+            logs.info(log, "Validando socio {}", i);
+        }
+        reloj.set(1_000_000_000L);
+        logs.info(log, "Validando socio {}", 6);
+
+        assertEquals(List.of("Validando socio 1", "Validando socio 2", "Validando socio 6 (3 similares omitidos)"),
+                mensajes());
+    }
+
+    @Test
+    void limite_esIndependientePorMensaje() {
+        logs.info(log, "Validando socio {}", 1);
+        logs.info(log, "Validando socio {}", 2);
+        logs.info(log, "Validando socio {}", 3);
+        logs.warn(log, "Circuito abierto para {}", 4);
+
+        assertEquals(List.of("Validando socio 1", "Validando socio 2", "Circuito abierto para 4"), mensajes());
+        assertEquals(Level.WARN, eventos.list.get(2).getLevel());
+    }
+
+    @Test
+    void info_noCuentaSiElNivelEstaDeshabilitado() {
+        log.setLevel(Level.WARN);
+        for (int i = 0; i < 5; i++) {
+            logs.info(log, "Validando socio {}", i);
+        }
+        log.setLevel(Level.INFO);
+        logs.info(log, "Validando socio {}", 5);
+
+        assertEquals(List.of("Validando socio 5"), mensajes());
+    }
+
+    @Test
+    void warn_noEscribeSiElNivelEstaDeshabilitado() {
+        log.setLevel(Level.ERROR);
+        logs.warn(log, "Circuito abierto para {}", 1);
+
+        assertTrue(mensajes().isEmpty());
+    }
+
+    @Test
+    void constructor_rechazaLimiteMenorAUno() {
+        assertThrows(IllegalArgumentException.class, () -> new LogsMuestreados(0));
+    }
+}
@@ -1,16 +1,98 @@
 package ec.fin.coacandes.socios.config;
 
+import ec.fin.coacandes.socios.cache.CuentasActivasCache;
+import ec.fin.coacandes.socios.client.CuentasClientService;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class RestTemplateConfigTest {
 
+    private final RestTemplateConfig config = new RestTemplateConfig();
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    private RestTemplate restTemplate(Duration timeoutRespuesta) {
+        connectionManager = config.cuentasConnectionManager(10, 5, Duration.ofSeconds(1), timeoutRespuesta);
+        httpClient = config.cuentasHttpClient(connectionManager, Duration.ofMillis(500), timeoutRespuesta,
+                Duration.ofSeconds(4));
+        return config.restTemplate(httpClient, ObservationRegistry.NOOP);
+    }
+
+    private static CuentasClientService cliente(RestTemplate restTemplate, CuentasStubServer cuentas) {
+        CuentasClientService service = new CuentasClientService(restTemplate,
+                CircuitBreaker.ofDefaults("cuentas"), Bulkhead.ofDefaults("cuentas"),
+                new CuentasActivasCache(100, Duration.ZERO), new LogsMuestreados(10));
+        ReflectionTestUtils.setField(service, "cuentasServiceUrl", cuentas.url());
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+    }
+
+    @Test
+    void restTemplateBean_usaElPoolConfigurado() {
+        RestTemplate template = restTemplate(Duration.ofSeconds(5));
+
+        assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, template.getRequestFactory());
+        assertEquals(10, connectionManager.getMaxTotal());
+        assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+    }
+
     @Test
-    void restTemplateBean_seCrea() {
-        RestTemplateConfig config = new RestTemplateConfig();
-        RestTemplate template = config.restTemplate();
-        assertNotNull(template);
+    void llamadasSecuenciales_reutilizanLaMismaConexion() {
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar().conCuentasActivas(true)) {
+            CuentasClientService service = cliente(restTemplate(Duration.ofSeconds(5)), cuentas);
+
+            for (int i = 0; i < 5; i++) {
+                assertTrue(service.socioTieneCuentasActivas("socio-" + i));
+            }
+
+            assertEquals(5, cuentas.getSolicitudes());
+            assertEquals(1, connectionManager.getTotalStats().getAvailable());
+            assertEquals(0, connectionManager.getTotalStats().getLeased());
+        }
+    }
+
+    @Test
+    void cuentasLento_fallaAlVencerElTimeoutDeRespuesta() {
+        try (CuentasStubServer cuentas = CuentasStubServer.iniciar().conDemora(Duration.ofSeconds(2))) {
+            CuentasClientService service = cliente(restTemplate(Duration.ofMillis(200)), cuentas);
+
+            long inicio = System.nanoTime();
+            assertThrows(IllegalStateException.class, () -> service.socioTieneCuentasActivas("socio-1"));
+
+            assertTrue(Duration.ofNanos(System.nanoTime() - inicio).compareTo(Duration.ofSeconds(1)) < 0);
+            assertEquals(0, connectionManager.getTotalStats().getLeased());
+        }
+    }
+
+    @Test
+    void cuentasPoolMetrics_publicaElEstadoDelPool() {
+        restTemplate(Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        config.cuentasPoolMetrics(connectionManager).bindTo(registry);
+
+        assertEquals(10, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "cuentas").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value());
     }
 }
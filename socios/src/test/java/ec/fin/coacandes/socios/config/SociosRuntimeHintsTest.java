@@ -0,0 +1,55 @@
+package ec.fin.coacandes.socios.config;
+
+import ec.fin.coacandes.socios.dto.ResultadoBusquedaDTO;
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.repository.ClavesUnicasSocio;
+import ec.fin.coacandes.socios.repository.DatosBusquedaSocio;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SociosRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    SociosRuntimeHintsTest() {
+        new SociosRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registraElConstructorDeLasProyeccionesSelectNew() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructorInvocation(SocioResponseDTO.class.getConstructor(UUID.class, String.class, String.class,
+                        String.class, String.class, String.class, String.class, String.class, Boolean.class,
+                        LocalDateTime.class, LocalDateTime.class, Long.class))
+                .test(hints));
+    }
+
+    @Test
+    void registraLosDtoParaJacksonYLaValidacion() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethodInvocation(SocioResponseDTO.class.getMethod("getIdentificacion")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethodInvocation(ResultadoBusquedaDTO.class, "getSocios").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onFieldAccess(SocioRequestDTO.class.getDeclaredField("identificacion")).test(hints));
+    }
+
+    @Test
+    void registraLosProxiesDeLasProyecciones() {
+        for (Class<?> proyeccion : new Class<?>[]{ClavesUnicasSocio.class, DatosBusquedaSocio.class}) {
+            assertTrue(RuntimeHintsPredicates.proxies()
+                    .forInterfaces(proyeccion, TargetAware.class, SpringProxy.class, DecoratingProxy.class)
+                    .test(hints));
+        }
+    }
+}
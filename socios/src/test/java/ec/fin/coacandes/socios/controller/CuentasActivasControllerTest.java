@@ -0,0 +1,44 @@
+package ec.fin.coacandes.socios.controller;
+
+import ec.fin.coacandes.socios.cache.CuentasActivasCache;
+import ec.fin.coacandes.socios.dto.EstadisticasCacheDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CuentasActivasControllerTest {
+
+    @Mock
+    private CuentasActivasCache cuentasActivasCache;
+
+    @InjectMocks
+    private CuentasActivasController controller;
+
+    @Test
+    void invalidar_respondeNoContent() {
+        ResponseEntity<Void> result = controller.invalidar("socio-1");
+
+        assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+        verify(cuentasActivasCache).invalidar("socio-1");
+    }
+
+    @Test
+    void estadisticas_retornaContadoresDeLaCache() {
+        EstadisticasCacheDTO estadisticas = new EstadisticasCacheDTO(3, 1, 0, 1);
+        when(cuentasActivasCache.estadisticas()).thenReturn(estadisticas);
+
+        ResponseEntity<EstadisticasCacheDTO> result = controller.estadisticas();
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(estadisticas, result.getBody());
+    }
+}
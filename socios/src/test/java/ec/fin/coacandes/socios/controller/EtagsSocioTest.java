@@ -0,0 +1,52 @@
+package ec.fin.coacandes.socios.controller;
+
+import ec.fin.coacandes.socios.dto.PaginaSociosDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.service.SocioModificadoException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EtagsSocioTest {
+
+    private static SocioResponseDTO socio(UUID id, long version) {
+        SocioResponseDTO socio = new SocioResponseDTO();
+        socio.setId(id);
+        socio.setVersion(version);
+        return socio;
+    }
+
+    @Test
+    void de_socioUsaLaVersionComoEtagFuerte() {
+        assertEquals("\"7\"", EtagsSocio.de(socio(UUID.randomUUID(), 7)));
+    }
+
+    @Test
+    void de_paginaCambiaConVersionesYCursor() {
+        UUID id = UUID.randomUUID();
+        String base = EtagsSocio.de(new PaginaSociosDTO(List.of(socio(id, 1)), "c1", 50));
+
+        assertEquals(base, EtagsSocio.de(new PaginaSociosDTO(List.of(socio(id, 1)), "c1", 50)));
+        assertNotEquals(base, EtagsSocio.de(new PaginaSociosDTO(List.of(socio(id, 2)), "c1", 50)));
+        assertNotEquals(base, EtagsSocio.de(new PaginaSociosDTO(List.of(socio(id, 1)), "c2", 50)));
+        assertNotEquals(base, EtagsSocio.de(new PaginaSociosDTO(List.of(), "c1", 50)));
+        assertTrue(base.matches("\"[0-9a-f]{32}\""));
+    }
+
+    @Test
+    void versionEsperada_interpretaIfMatch() {
+        assertNull(EtagsSocio.versionEsperada(null));
+        assertNull(EtagsSocio.versionEsperada("*"));
+        assertNull(EtagsSocio.versionEsperada("  "));
+        assertEquals(3L, EtagsSocio.versionEsperada(" \"3\" "));
+        assertThrows(SocioModificadoException.class, () -> EtagsSocio.versionEsperada("W/\"3\""));
+        assertThrows(SocioModificadoException.class, () -> EtagsSocio.versionEsperada("\"3\", \"4\""));
+        assertThrows(SocioModificadoException.class, () -> EtagsSocio.versionEsperada("3"));
+        assertThrows(SocioModificadoException.class, () -> EtagsSocio.versionEsperada("\"33"));
+        assertThrows(SocioModificadoException.class, () -> EtagsSocio.versionEsperada("\"\""));
+        assertThrows(SocioModificadoException.class, () -> EtagsSocio.versionEsperada("\"tres\""));
+    }
+}
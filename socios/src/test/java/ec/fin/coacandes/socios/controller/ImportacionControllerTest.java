@@ -0,0 +1,59 @@
+package ec.fin.coacandes.socios.controller;
+
+import ec.fin.coacandes.socios.dto.EstadoImportacion;
+import ec.fin.coacandes.socios.dto.ProgresoImportacionDTO;
+import ec.fin.coacandes.socios.service.ImportacionSociosService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacionControllerTest {
+
+    @Mock
+    private ImportacionSociosService importacionSociosService;
+
+    @InjectMocks
+    private ImportacionController importacionController;
+
+    @Test
+    void iniciar_respondeAcceptedConLocation() throws Exception {
+        UUID id = UUID.randomUUID();
+        ProgresoImportacionDTO progreso = new ProgresoImportacionDTO();
+        progreso.setId(id);
+        progreso.setEstado(EstadoImportacion.EN_COLA);
+        when(importacionSociosService.iniciar(any(InputStream.class))).thenReturn(progreso);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/socios/importaciones");
+        request.setContent("identificacion\n".getBytes());
+        ResponseEntity<ProgresoImportacionDTO> response = importacionController.iniciar(request);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("/api/socios/importaciones/" + id, response.getHeaders().getLocation().toString());
+        assertSame(progreso, response.getBody());
+    }
+
+    @Test
+    void obtenerProgreso_devuelveElAvance() {
+        UUID id = UUID.randomUUID();
+        ProgresoImportacionDTO progreso = new ProgresoImportacionDTO();
+        when(importacionSociosService.obtenerProgreso(id)).thenReturn(progreso);
+
+        ResponseEntity<ProgresoImportacionDTO> response = importacionController.obtenerProgreso(id);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(progreso, response.getBody());
+    }
+}
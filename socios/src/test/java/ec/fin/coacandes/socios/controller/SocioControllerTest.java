@@ -1,21 +1,45 @@
 package ec.fin.coacandes.socios.controller;
 
+import ec.fin.coacandes.socios.cache.SocioCache;
+import ec.fin.coacandes.socios.dto.EstadisticasCacheDTO;
+import ec.fin.coacandes.socios.dto.PaginaSociosDTO;
+import ec.fin.coacandes.socios.dto.ResultadoBusquedaDTO;
+import ec.fin.coacandes.socios.dto.ResultadoEliminacionLoteDTO;
+import ec.fin.coacandes.socios.dto.ResultadoLoteDTO;
 import ec.fin.coacandes.socios.dto.SocioRequestDTO;
 import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.service.ExportacionSociosService;
+import ec.fin.coacandes.socios.service.FormatoExportacion;
+import ec.fin.coacandes.socios.service.SocioModificadoException;
 import ec.fin.coacandes.socios.service.SocioService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,9 +48,23 @@ class SocioControllerTest {
     @Mock
     private SocioService socioService;
 
+    @Mock
+    private ExportacionSociosService exportacionSociosService;
+
+    @Mock
+    private SocioCache socioCache;
+
     @InjectMocks
     private SocioController controller;
 
+    private static ServletWebRequest solicitud(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/socios");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
     @Test
     void crearSocio_retornaCreated() {
         SocioRequestDTO request = new SocioRequestDTO();
@@ -41,19 +79,69 @@ class SocioControllerTest {
         assertEquals(response, result.getBody());
     }
 
+    @Test
+    void crearSociosEnLote_retornaOk() {
+        List<SocioRequestDTO> requests = List.of(new SocioRequestDTO());
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO(1, 0, List.of());
+
+        when(socioService.crearSociosEnLote(requests)).thenReturn(resultado);
+
+        ResponseEntity<ResultadoLoteDTO> result = controller.crearSociosEnLote(requests);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(resultado, result.getBody());
+    }
+
+    @Test
+    void eliminarSociosEnLote_retornaOk() {
+        List<UUID> ids = List.of(UUID.randomUUID());
+        ResultadoEliminacionLoteDTO resultado = new ResultadoEliminacionLoteDTO(1, 0, List.of());
+
+        when(socioService.eliminarSociosEnLote(ids)).thenReturn(resultado);
+
+        ResponseEntity<ResultadoEliminacionLoteDTO> result = controller.eliminarSociosEnLote(ids);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(resultado, result.getBody());
+    }
+
     @Test
     void actualizarSocio_retornaOk() {
         UUID id = UUID.randomUUID();
         SocioRequestDTO request = new SocioRequestDTO();
         SocioResponseDTO response = new SocioResponseDTO();
         response.setId(id);
+        response.setVersion(4L);
 
-        when(socioService.actualizarSocio(id, request)).thenReturn(response);
+        when(socioService.actualizarSocio(id, request, 3L)).thenReturn(response);
 
-        ResponseEntity<SocioResponseDTO> result = controller.actualizarSocio(id, request);
+        ResponseEntity<SocioResponseDTO> result = controller.actualizarSocio(id, request, "\"3\"");
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertEquals(response, result.getBody());
+        assertEquals("\"4\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void actualizarSocio_sinIfMatchNoVerificaVersion() {
+        UUID id = UUID.randomUUID();
+        SocioRequestDTO request = new SocioRequestDTO();
+        SocioResponseDTO response = new SocioResponseDTO();
+        response.setVersion(1L);
+        when(socioService.actualizarSocio(id, request, null)).thenReturn(response);
+
+        assertEquals(HttpStatus.OK, controller.actualizarSocio(id, request, null).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.actualizarSocio(id, request, "*").getStatusCode());
+    }
+
+    @Test
+    void actualizarSocio_ifMatchDebilOInvalidoNuncaCoincide() {
+        UUID id = UUID.randomUUID();
+        SocioRequestDTO request = new SocioRequestDTO();
+
+        assertThrows(SocioModificadoException.class, () -> controller.actualizarSocio(id, request, "W/\"3\""));
+        assertThrows(SocioModificadoException.class, () -> controller.actualizarSocio(id, request, "\"abc\""));
+        verifyNoInteractions(socioService);
     }
 
     @Test
@@ -61,23 +149,91 @@ class SocioControllerTest {
         UUID id = UUID.randomUUID();
         SocioResponseDTO response = new SocioResponseDTO();
         response.setId(id);
+        response.setVersion(2L);
 
-        when(socioService.obtenerSocioPorId(id)).thenReturn(response);
+        when(socioService.obtenerSocioPorId(id, false)).thenReturn(response);
 
-        ResponseEntity<SocioResponseDTO> result = controller.obtenerSocio(id);
+        ResponseEntity<SocioResponseDTO> result = controller.obtenerSocio(id, false, solicitud(null));
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertEquals(response, result.getBody());
+        assertEquals("\"2\"", result.getHeaders().getETag());
     }
 
     @Test
-    void obtenerTodos_retornaLista() {
-        when(socioService.obtenerTodosLosSocios()).thenReturn(List.of());
+    void obtenerSocio_pasaLaOpcionDeIncluirInactivos() {
+        UUID id = UUID.randomUUID();
+        SocioResponseDTO response = new SocioResponseDTO();
+        response.setActivo(false);
+        response.setVersion(4L);
+        when(socioService.obtenerSocioPorId(id, true)).thenReturn(response);
 
-        ResponseEntity<List<SocioResponseDTO>> result = controller.obtenerTodos();
+        ResponseEntity<SocioResponseDTO> result = controller.obtenerSocio(id, true, solicitud(null));
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertNotNull(result.getBody());
+        assertFalse(result.getBody().getActivo());
+    }
+
+    @Test
+    void obtenerSocio_retornaNotModifiedSiLaEtagCoincide() {
+        UUID id = UUID.randomUUID();
+        SocioResponseDTO response = new SocioResponseDTO();
+        response.setVersion(2L);
+        when(socioService.obtenerSocioPorId(id, false)).thenReturn(response);
+
+        ResponseEntity<SocioResponseDTO> result = controller.obtenerSocio(id, false, solicitud("\"2\""));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
+        assertEquals("\"2\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void obtenerSocio_retornaCuerpoSiLaVersionCambio() {
+        UUID id = UUID.randomUUID();
+        SocioResponseDTO response = new SocioResponseDTO();
+        response.setVersion(3L);
+        when(socioService.obtenerSocioPorId(id, false)).thenReturn(response);
+
+        ResponseEntity<SocioResponseDTO> result = controller.obtenerSocio(id, false, solicitud("\"2\""));
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(response, result.getBody());
+    }
+
+    @Test
+    void obtenerTodos_retornaPagina() {
+        PaginaSociosDTO pagina = new PaginaSociosDTO(List.of(), null, 50);
+        when(socioService.obtenerPaginaSocios("cursor", 50, false)).thenReturn(pagina);
+
+        ResponseEntity<PaginaSociosDTO> result = controller.obtenerTodos("cursor", 50, false, solicitud(null));
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(pagina, result.getBody());
+        assertNotNull(result.getHeaders().getETag());
+    }
+
+    @Test
+    void obtenerTodos_retornaNotModifiedSiLaPaginaNoCambio() {
+        PaginaSociosDTO pagina = new PaginaSociosDTO(List.of(), null, 50);
+        when(socioService.obtenerPaginaSocios(null, 50, false)).thenReturn(pagina);
+        String etag = controller.obtenerTodos(null, 50, false, solicitud(null)).getHeaders().getETag();
+
+        ResponseEntity<PaginaSociosDTO> result = controller.obtenerTodos(null, 50, false, solicitud(etag));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
+    }
+
+    @Test
+    void buscar_retornaResultado() {
+        ResultadoBusquedaDTO resultado = new ResultadoBusquedaDTO(List.of(), 0, 0, 20);
+        when(socioService.buscarSocios("perez", 0, 20, false)).thenReturn(resultado);
+
+        ResponseEntity<ResultadoBusquedaDTO> result = controller.buscar("perez", 0, 20, false);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(resultado, result.getBody());
     }
 
     @Test
@@ -94,11 +250,51 @@ class SocioControllerTest {
         SocioResponseDTO response = new SocioResponseDTO();
         response.setId(UUID.randomUUID());
 
-        when(socioService.obtenerSocioPorIdentificacion("1712345678")).thenReturn(response);
+        when(socioService.obtenerSocioPorIdentificacion("1712345678", false)).thenReturn(response);
 
-        ResponseEntity<SocioResponseDTO> result = controller.buscarPorIdentificacion("1712345678");
+        ResponseEntity<SocioResponseDTO> result = controller.buscarPorIdentificacion("1712345678", false, solicitud(null));
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertEquals(response, result.getBody());
     }
+
+    @Test
+    void exportar_escribeSinComprimir() throws Exception {
+        ResponseEntity<StreamingResponseBody> result = controller.exportar(FormatoExportacion.CSV, false);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        result.getBody().writeTo(salida);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", result.getHeaders().getContentType().toString());
+        assertNull(result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        verify(exportacionSociosService).exportar(salida, FormatoExportacion.CSV);
+    }
+
+    @Test
+    void exportar_comprimeConGzip() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportacionSociosService).exportar(any(), eq(FormatoExportacion.NDJSON));
+
+        ResponseEntity<StreamingResponseBody> result = controller.exportar(FormatoExportacion.NDJSON, true);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        result.getBody().writeTo(salida);
+
+        assertEquals("gzip", result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(salida.toByteArray()))) {
+            assertEquals("{}\n", new String(entrada.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void estadisticasCache_retornaContadores() {
+        EstadisticasCacheDTO estadisticas = new EstadisticasCacheDTO(10, 2, 1, 5);
+        when(socioCache.estadisticas()).thenReturn(estadisticas);
+
+        ResponseEntity<EstadisticasCacheDTO> result = controller.estadisticasCache();
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(estadisticas, result.getBody());
+    }
 }
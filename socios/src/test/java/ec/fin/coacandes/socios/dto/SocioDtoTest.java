@@ -3,6 +3,7 @@ package ec.fin.coacandes.socios.dto;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -45,4 +46,77 @@ class SocioDtoTest {
         assertEquals("1712345678", dto.getIdentificacion());
         assertEquals(true, dto.getActivo());
     }
+
+    @Test
+    void paginaSociosDto_gettersSetters() {
+        PaginaSociosDTO dto = new PaginaSociosDTO();
+        dto.setSocios(List.of(new SocioResponseDTO()));
+        dto.setSiguienteCursor("abc");
+        dto.setTamano(50);
+
+        assertEquals(1, dto.getSocios().size());
+        assertEquals("abc", dto.getSiguienteCursor());
+        assertEquals(50, dto.getTamano());
+    }
+
+    @Test
+    void estadisticasCacheDto_gettersSetters() {
+        EstadisticasCacheDTO dto = new EstadisticasCacheDTO();
+        dto.setAciertos(10);
+        dto.setFallos(2);
+        dto.setDesalojos(1);
+        dto.setEntradas(5);
+
+        assertEquals(10, dto.getAciertos());
+        assertEquals(2, dto.getFallos());
+        assertEquals(1, dto.getDesalojos());
+        assertEquals(5, dto.getEntradas());
+    }
+
+    @Test
+    void resultadoLoteDto_gettersSetters() {
+        ResultadoItemLoteDTO item = new ResultadoItemLoteDTO();
+        UUID id = UUID.randomUUID();
+        item.setIndice(3);
+        item.setIdentificacion("1712345678");
+        item.setEstado(EstadoItemLote.CREADO);
+        item.setId(id);
+        item.setErrores(List.of());
+        ResultadoLoteDTO dto = new ResultadoLoteDTO();
+        dto.setCreados(1);
+        dto.setRechazados(0);
+        dto.setResultados(List.of(item));
+
+        assertEquals(3, dto.getResultados().get(0).getIndice());
+        assertEquals(id, dto.getResultados().get(0).getId());
+        assertEquals(EstadoItemLote.CREADO, dto.getResultados().get(0).getEstado());
+        assertEquals(1, dto.getCreados());
+        assertEquals(0, dto.getRechazados());
+    }
+
+    @Test
+    void progresoImportacionDto_gettersSetters() {
+        ProgresoImportacionDTO dto = new ProgresoImportacionDTO();
+        UUID id = UUID.randomUUID();
+        LocalDateTime ahora = LocalDateTime.now();
+        dto.setId(id);
+        dto.setEstado(EstadoImportacion.EN_PROCESO);
+        dto.setFilasLeidas(10);
+        dto.setFilasImportadas(8);
+        dto.setFilasRechazadas(2);
+        dto.setFilasPorSegundo(1500.5);
+        dto.setInicio(ahora);
+        dto.setFin(ahora);
+        dto.setErrores(List.of("Registro 2: Identificación inválida"));
+
+        assertEquals(id, dto.getId());
+        assertEquals(EstadoImportacion.EN_PROCESO, dto.getEstado());
+        assertEquals(10, dto.getFilasLeidas());
+        assertEquals(8, dto.getFilasImportadas());
+        assertEquals(2, dto.getFilasRechazadas());
+        assertEquals(1500.5, dto.getFilasPorSegundo());
+        assertEquals(ahora, dto.getInicio());
+        assertEquals(ahora, dto.getFin());
+        assertEquals(1, dto.getErrores().size());
+    }
 }
@@ -0,0 +1,86 @@
+package ec.fin.coacandes.socios.mapper;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocioMapperImplTest {
+
+    private final SocioMapperImpl mapper = new SocioMapperImpl();
+
+    private SocioRequestDTO buildRequest() {
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion("1712345678");
+        request.setNombres("Juan");
+        request.setApellidos("Perez");
+        request.setEmail("juan@test.com");
+        request.setTelefono("0999999999");
+        request.setDireccion("Calle 1");
+        request.setTipoIdentificacion("CEDULA");
+        return request;
+    }
+
+    @Test
+    void aEntidad_copiaCamposDelRequest() {
+        Socio socio = mapper.aEntidad(buildRequest());
+
+        assertNull(socio.getId());
+        assertEquals("1712345678", socio.getIdentificacion());
+        assertEquals("Juan", socio.getNombres());
+        assertEquals("Perez", socio.getApellidos());
+        assertEquals("juan@test.com", socio.getEmail());
+        assertEquals("0999999999", socio.getTelefono());
+        assertEquals("Calle 1", socio.getDireccion());
+        assertEquals("CEDULA", socio.getTipoIdentificacion());
+        assertTrue(socio.getActivo());
+    }
+
+    @Test
+    void actualizarEntidad_conservaIdEstadoYFechas() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime creacion = LocalDateTime.of(2024, 1, 15, 10, 30);
+        Socio socio = new Socio();
+        socio.setId(id);
+        socio.setActivo(false);
+        socio.setFechaCreacion(creacion);
+        SocioRequestDTO request = buildRequest();
+        request.setNombres("Pedro");
+
+        mapper.actualizarEntidad(request, socio);
+
+        assertEquals(id, socio.getId());
+        assertFalse(socio.getActivo());
+        assertEquals(creacion, socio.getFechaCreacion());
+        assertEquals("Pedro", socio.getNombres());
+    }
+
+    @Test
+    void aResponse_copiaTodosLosCampos() {
+        Socio socio = mapper.aEntidad(buildRequest());
+        socio.setId(UUID.randomUUID());
+        socio.setFechaCreacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+        socio.setFechaActualizacion(LocalDateTime.of(2024, 2, 1, 8, 0));
+        socio.setVersion(5L);
+
+        SocioResponseDTO response = mapper.aResponse(socio);
+
+        assertEquals(socio.getId(), response.getId());
+        assertEquals(socio.getIdentificacion(), response.getIdentificacion());
+        assertEquals(socio.getNombres(), response.getNombres());
+        assertEquals(socio.getApellidos(), response.getApellidos());
+        assertEquals(socio.getEmail(), response.getEmail());
+        assertEquals(socio.getTelefono(), response.getTelefono());
+        assertEquals(socio.getDireccion(), response.getDireccion());
+        assertEquals(socio.getTipoIdentificacion(), response.getTipoIdentificacion());
+        assertEquals(socio.getActivo(), response.getActivo());
+        assertEquals(socio.getFechaCreacion(), response.getFechaCreacion());
+        assertEquals(socio.getFechaActualizacion(), response.getFechaActualizacion());
+        assertEquals(5L, response.getVersion());
+    }
+}
@@ -0,0 +1,115 @@
+package ec.fin.coacandes.socios.repository;
+
+import ec.fin.coacandes.socios.entity.Socio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class CargadorSociosTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    private Socio buildSocio(int indice) {
+        LocalDateTime ahora = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+        Socio socio = new Socio();
+        socio.setId(UUID.randomUUID());
+        socio.setIdentificacion(String.format("17%08d", indice));
+        socio.setNombres("Socio " + indice);
+        socio.setApellidos("Prueba");
+        socio.setEmail(indice % 2 == 0 ? "socio" + indice + "@test.com" : null);
+        socio.setTipoIdentificacion("CEDULA");
+        socio.setActivo(true);
+        socio.setFechaCreacion(ahora);
+        socio.setFechaActualizacion(ahora);
+        return socio;
+    }
+
+    @Test
+    void cargadorJdbc_insertaEnVariosBatches() {
+        List<Socio> socios = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            socios.add(buildSocio(i));
+        }
+
+        int filas = new CargadorSociosJdbc(jdbcTemplate, 3).cargar(socios);
+
+        assertEquals(7, filas);
+        assertEquals(7, socioRepository.count());
+        Socio guardado = socioRepository.findByIdentificacion("1700000002").orElseThrow();
+        assertEquals("socio2@test.com", guardado.getEmail());
+        assertEquals(socios.get(2).getId(), guardado.getId());
+        assertEquals(0L, guardado.getVersion());
+    }
+
+    @Test
+    void cargadorCopy_listaVaciaNoAbreConexion() {
+        assertEquals(0, new CargadorSociosCopy(null).cargar(List.of()));
+    }
+
+    @Test
+    void cargadorCopy_enviaUnSoloCopyPorLote() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenReturn(2L);
+
+        int filas = new CargadorSociosCopy(dataSource).cargar(List.of(buildSocio(1), buildSocio(2)));
+
+        assertEquals(2, filas);
+        verify(copyManager).copyIn(startsWith("COPY socios (id, identificacion"), any(Reader.class));
+    }
+
+    @Test
+    void cargadorCopy_errorDelDriverSeTraduce() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenThrow(new SQLException("no es PostgreSQL"));
+
+        CargadorSociosCopy cargador = new CargadorSociosCopy(dataSource);
+        List<Socio> socios = List.of(buildSocio(1));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> cargador.cargar(socios));
+    }
+
+    @Test
+    void cargadorCopy_formatoCsvDistingueNullDeTextoYEscapaComillas() {
+        Socio socio = buildSocio(1);
+        socio.setNombres("Juan \"JJ\"");
+        socio.setDireccion("Calle 1, Quito");
+        StringBuilder csv = new StringBuilder();
+
+        CargadorSociosCopy.agregarFila(csv, socio);
+
+        assertEquals(socio.getId() + ",\"1700000001\",\"Juan \"\"JJ\"\"\",\"Prueba\",,,\"Calle 1, Quito\",true,"
+                + "\"CEDULA\",2025-01-02T03:04:05,2025-01-02T03:04:05,0\n", csv.toString());
+    }
+}
@@ -0,0 +1,188 @@
+package ec.fin.coacandes.socios.repository;
+
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class SocioRepositoryTest {
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    private Socio buildSocio(int indice) {
+        Socio socio = new Socio();
+        socio.setIdentificacion(String.format("17%08d", indice));
+        socio.setNombres("Socio " + indice);
+        socio.setApellidos("Prueba");
+        socio.setEmail("socio" + indice + "@test.com");
+        socio.setTipoIdentificacion("CEDULA");
+        return socio;
+    }
+
+    @Test
+    void paginacionPorCursor_recorreTodosLosSociosSinRepetir() {
+        for (int i = 0; i < 7; i++) {
+            socioRepository.save(buildSocio(i));
+        }
+        socioRepository.flush();
+
+        List<SocioResponseDTO> recorridos = new ArrayList<>();
+        List<SocioResponseDTO> pagina = socioRepository.findPrimeraPagina(Limit.of(3));
+        while (!pagina.isEmpty()) {
+            recorridos.addAll(pagina);
+            SocioResponseDTO ultimo = pagina.get(pagina.size() - 1);
+            pagina = socioRepository.findPaginaDespuesDe(ultimo.getFechaCreacion(), ultimo.getId(), Limit.of(3));
+        }
+
+        assertEquals(7, recorridos.size());
+        assertEquals(7, recorridos.stream().map(SocioResponseDTO::getId).distinct().count());
+    }
+
+    @Test
+    void findResponseByIdentificacion_proyectaTodasLasColumnasDelDTO() {
+        Socio socio = buildSocio(1);
+        socio.setTelefono("0991234567");
+        socio.setDireccion("Av. Amazonas");
+        socio = socioRepository.saveAndFlush(socio);
+
+        SocioResponseDTO response = socioRepository.findResponseByIdentificacion("1700000001").orElseThrow();
+
+        assertEquals(new SocioMapperImpl().aResponse(socio), response);
+        assertEquals(List.of(response), socioRepository.findResponsesByIdIn(List.of(socio.getId(), UUID.randomUUID())));
+        assertTrue(socioRepository.findResponseByIdentificacion("1799999999").isEmpty());
+    }
+
+    @Test
+    void streamAllBy_recorreLaTablaCompleta() {
+        for (int i = 0; i < 4; i++) {
+            socioRepository.save(buildSocio(i));
+        }
+        socioRepository.flush();
+
+        try (Stream<Socio> socios = socioRepository.streamAllBy()) {
+            assertEquals(4, socios.count());
+        }
+    }
+
+    @Test
+    void streamClavesUnicasBy_proyectaIdentificacionYEmail() {
+        socioRepository.save(buildSocio(1));
+        Socio sinEmail = buildSocio(2);
+        sinEmail.setEmail(null);
+        socioRepository.save(sinEmail);
+        socioRepository.flush();
+
+        try (Stream<ClavesUnicasSocio> claves = socioRepository.streamClavesUnicasBy()) {
+            List<String> valores = claves.map(clave -> clave.getIdentificacion() + "|" + clave.getEmail()).sorted().toList();
+            assertEquals(List.of("1700000001|socio1@test.com", "1700000002|null"), valores);
+        }
+        assertTrue(socioRepository.existsByEmail("socio1@test.com"));
+        assertFalse(socioRepository.existsByEmail("libre@test.com"));
+    }
+
+    @Test
+    void version_iniciaEnCeroYAumentaConCadaActualizacion() {
+        Socio socio = socioRepository.saveAndFlush(buildSocio(1));
+        assertEquals(0L, socio.getVersion());
+
+        socio.setTelefono("0999999999");
+        socioRepository.saveAndFlush(socio);
+
+        assertEquals(1L, socio.getVersion());
+    }
+
+    @Test
+    void streamDatosBusquedaActivos_proyectaLosCamposIndexados() {
+        Socio socio = socioRepository.saveAndFlush(buildSocio(1));
+
+        try (Stream<DatosBusquedaSocio> datos = socioRepository.streamDatosBusquedaActivos()) {
+            DatosBusquedaSocio dato = datos.findFirst().orElseThrow();
+            assertEquals(socio.getId(), dato.getId());
+            assertEquals("Socio 1", dato.getNombres());
+            assertEquals("Prueba", dato.getApellidos());
+            assertEquals("socio1@test.com", dato.getEmail());
+        }
+    }
+
+    @Test
+    void buscarPorTexto_buscaSubcadenaSinDistinguirMayusculasYEscapaComodines() {
+        socioRepository.save(buildSocio(1));
+        Socio conGuion = buildSocio(2);
+        conGuion.setApellidos("Prueba_100%");
+        socioRepository.save(conGuion);
+        socioRepository.flush();
+
+        assertEquals(2, socioRepository.buscarPorTexto("%prueba%", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(List.of("Prueba_100%"), socioRepository.buscarPorTexto("%a\\_100\\%%", PageRequest.of(0, 10))
+                .map(SocioResponseDTO::getApellidos).getContent());
+        assertEquals(1, socioRepository.buscarPorTexto("%socio1@%", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void findExistentes_retornaSoloValoresRegistrados() {
+        socioRepository.save(buildSocio(1));
+        socioRepository.save(buildSocio(2));
+        socioRepository.flush();
+
+        assertEquals(Set.of("1700000001"),
+                socioRepository.findIdentificacionesExistentes(List.of("1700000001", "1799999999")));
+        assertEquals(Set.of("socio2@test.com"),
+                socioRepository.findEmailsExistentes(List.of("socio2@test.com", "libre@test.com")));
+    }
+
+    @Test
+    void desactivar_ocultaALosSociosEnLasConsultasDeActivos() {
+        Socio primero = socioRepository.save(buildSocio(1));
+        Socio segundo = socioRepository.save(buildSocio(2));
+        Socio tercero = socioRepository.save(buildSocio(3));
+        socioRepository.flush();
+
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+        assertEquals(2, socioRepository.desactivar(List.of(primero.getId(), tercero.getId()), fecha));
+        // El segundo UPDATE no encuentra socios activos que desactivar
+        assertEquals(0, socioRepository.desactivar(List.of(primero.getId()), fecha));
+
+        SocioResponseDTO desactivado = socioRepository.findResponseByIdentificacion("1700000001").orElseThrow();
+        assertFalse(desactivado.getActivo());
+        assertEquals(1L, desactivado.getVersion());
+        assertEquals(fecha, desactivado.getFechaActualizacion());
+        assertEquals(List.of(segundo.getId()), socioRepository.findPrimeraPaginaActivos(Limit.of(10)).stream()
+                .map(SocioResponseDTO::getId).toList());
+        assertEquals(List.of(), socioRepository.findPaginaActivosDespuesDe(
+                segundo.getFechaCreacion(), segundo.getId(), Limit.of(10)));
+        assertEquals(3, socioRepository.findPrimeraPagina(Limit.of(10)).size());
+        assertEquals(1, socioRepository.buscarPorTextoActivos("%prueba%", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(List.of(segundo.getId()), socioRepository.findAllByIdInAndActivoTrue(
+                List.of(primero.getId(), segundo.getId())).stream().map(Socio::getId).toList());
+        try (Stream<DatosBusquedaSocio> datos = socioRepository.streamDatosBusquedaActivos()) {
+            assertEquals(List.of(segundo.getId()), datos.map(DatosBusquedaSocio::getId).toList());
+        }
+    }
+
+    @Test
+    void deleteAllByIdInBatch_eliminaSoloLosIndicados() {
+        Socio primero = socioRepository.save(buildSocio(1));
+        Socio segundo = socioRepository.save(buildSocio(2));
+        Socio tercero = socioRepository.save(buildSocio(3));
+        socioRepository.flush();
+
+        socioRepository.deleteAllByIdInBatch(List.of(primero.getId(), tercero.getId()));
+
+        assertEquals(List.of(segundo.getId()), socioRepository.findAll().stream().map(Socio::getId).toList());
+    }
+}
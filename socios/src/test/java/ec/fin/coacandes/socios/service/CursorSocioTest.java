@@ -0,0 +1,35 @@
+package ec.fin.coacandes.socios.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorSocioTest {
+
+    private static String token(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void codificarYDecodificar_conservaPosicion() {
+        CursorSocio cursor = new CursorSocio(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123456000), UUID.randomUUID());
+
+        String token = cursor.codificar();
+
+        assertFalse(token.contains("|"));
+        assertEquals(cursor, CursorSocio.decodificar(token));
+    }
+
+    @Test
+    void decodificar_rechazaTokensInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> CursorSocio.decodificar("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> CursorSocio.decodificar(token("sin-separador")));
+        assertThrows(IllegalArgumentException.class, () -> CursorSocio.decodificar(token("fecha|" + UUID.randomUUID())));
+        assertThrows(IllegalArgumentException.class, () -> CursorSocio.decodificar(token("2024-01-15T10:30|no-uuid")));
+    }
+}
@@ -0,0 +1,109 @@
+package ec.fin.coacandes.socios.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Eliminaciones concurrentes contra un servicio de cuentas lento con un pool de solo 2 conexiones:
+ * mientras se espera la validación remota ninguna solicitud debe retener una conexión.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:eliminacion-conexiones;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class EliminacionSocioConexionesTest {
+
+    private static final int ELIMINACIONES = 6;
+    private static final CuentasStubServer cuentas = CuentasStubServer.iniciar().conDemora(Duration.ofSeconds(3));
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        registry.add("cuentas.service.url", cuentas::url);
+    }
+
+    @AfterAll
+    static void detenerCuentas() {
+        cuentas.close();
+    }
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Socio buildSocio(int indice) {
+        Socio socio = new Socio();
+        socio.setIdentificacion(String.format("99%08d", indice));
+        socio.setNombres("Socio " + indice);
+        socio.setApellidos("Conexiones");
+        socio.setEmail("conexiones" + indice + "@test.com");
+        socio.setTipoIdentificacion("CEDULA");
+        return socio;
+    }
+
+    @Test
+    void eliminarSocio_noRetieneConexionesMientrasEsperaACuentas() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < ELIMINACIONES; i++) {
+            ids.add(socioRepository.save(buildSocio(i)).getId());
+        }
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        String base = "http://127.0.0.1:" + puerto + "/api/socios";
+
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            List<CompletableFuture<HttpResponse<Void>>> eliminaciones = ids.stream()
+                    .map(id -> http.sendAsync(HttpRequest.newBuilder(URI.create(base + "/" + id)).DELETE().build(),
+                            HttpResponse.BodyHandlers.discarding()))
+                    .toList();
+
+            // Con 2 conexiones, las 6 solicitudes solo llegan juntas a cuentas si ninguna retiene la suya
+            await().atMost(Duration.ofSeconds(2)).until(() -> cuentas.getSolicitudes() == ELIMINACIONES);
+            assertEquals(0, pool.getActiveConnections());
+
+            HttpResponse<String> lectura = http.send(HttpRequest.newBuilder(URI.create(base + "?tamano=1")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, lectura.statusCode());
+
+            for (CompletableFuture<HttpResponse<Void>> eliminacion : eliminaciones) {
+                assertEquals(204, eliminacion.join().statusCode());
+            }
+        }
+
+        assertTrue(socioRepository.findAllByIdInAndActivoTrue(ids).isEmpty());
+    }
+}
@@ -0,0 +1,185 @@
+package ec.fin.coacandes.socios.service;
+
+import ec.fin.coacandes.socios.dto.EventoSocioDTO;
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.TipoEventoSocio;
+import ec.fin.coacandes.socios.entity.EventoSocio;
+import ec.fin.coacandes.socios.repository.EventoSocioRepository;
+import ec.fin.coacandes.socios.service.impl.RegistroEventosSocio;
+import ec.fin.coacandes.socios.service.impl.RelayEventosSocio;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Outbox con H2 y destino archivo. El relay programado no corre durante la prueba (intervalo de una
+ * hora): los lotes se publican llamando a {@link RelayEventosSocio#publicarLote()}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "socios.busqueda.indice-memoria=false",
+        "socios.outbox.destino=archivo",
+        "socios.outbox.intervalo=1h",
+        "socios.outbox.tamano-lote=2"
+})
+class EventosSocioOutboxTest {
+
+    @TempDir
+    static Path directorio;
+
+    private static final CuentasStubServer cuentas = CuentasStubServer.iniciar();
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        registry.add("cuentas.service.url", cuentas::url);
+        registry.add("socios.outbox.archivo", () -> directorio.resolve("eventos.jsonl").toString());
+    }
+
+    @AfterAll
+    static void detenerCuentas() {
+        cuentas.close();
+    }
+
+    @Autowired
+    private SocioService service;
+
+    @Autowired
+    private EventoSocioRepository eventoSocioRepository;
+
+    @Autowired
+    private RelayEventosSocio relay;
+
+    @Autowired
+    private RegistroEventosSocio registroEventos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cuentas.conCuentasActivas(false);
+        eventoSocioRepository.deleteAllInBatch();
+        Files.deleteIfExists(directorio.resolve("eventos.jsonl"));
+    }
+
+    private static SocioRequestDTO request(String identificacion, String nombres) {
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion(identificacion);
+        request.setNombres(nombres);
+        request.setApellidos("Outbox");
+        request.setTipoIdentificacion("CEDULA");
+        return request;
+    }
+
+    private List<EventoSocio> pendientes() {
+        return eventoSocioRepository.findAll().stream()
+                .sorted(Comparator.comparing(EventoSocio::getId))
+                .toList();
+    }
+
+    private List<EventoSocioDTO> publicados() throws IOException {
+        return Files.readAllLines(directorio.resolve("eventos.jsonl")).stream()
+                .map(linea -> jsonMapper.readValue(linea, EventoSocioDTO.class))
+                .toList();
+    }
+
+    @Test
+    void cadaCambio_escribeUnEventoConLaVersionConfirmada() {
+        SocioResponseDTO creado = service.crearSocio(request("7800000001", "Ana"));
+        service.actualizarSocio(creado.getId(), request("7800000001", "Ana María"), 0L);
+        service.eliminarSocio(creado.getId());
+
+        List<EventoSocio> eventos = pendientes();
+        assertEquals(List.of(TipoEventoSocio.CREADO, TipoEventoSocio.ACTUALIZADO, TipoEventoSocio.ELIMINADO),
+                eventos.stream().map(EventoSocio::getTipo).toList());
+        assertEquals(List.of(0L, 1L, 2L), eventos.stream().map(EventoSocio::getVersion).toList());
+        assertTrue(eventos.stream().allMatch(evento -> creado.getId().equals(evento.getSocioId())));
+        assertEquals(2L, service.obtenerSocioPorId(creado.getId(), true).getVersion());
+    }
+
+    @Test
+    void eliminacionEnLote_publicaElEstadoQueDejoElUpdate() throws IOException {
+        SocioResponseDTO creado = service.crearSocio(request("7800000002", "Luis"));
+
+        service.eliminarSociosEnLote(List.of(creado.getId()));
+        while (relay.publicarLote() > 0) {
+            // Lotes de 2
+        }
+
+        SocioResponseDTO guardado = service.obtenerSocioPorId(creado.getId(), true);
+        EventoSocioDTO eliminado = publicados().get(1);
+        assertEquals(TipoEventoSocio.ELIMINADO, eliminado.getTipo());
+        assertEquals(guardado.getVersion(), eliminado.getVersion());
+        assertEquals(guardado, eliminado.getSocio());
+    }
+
+    @Test
+    void transaccionRevertida_noDejaEventos() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            service.crearSocio(request("7800000003", "Rosa"));
+            estado.setRollbackOnly();
+        });
+
+        assertTrue(pendientes().isEmpty());
+    }
+
+    @Test
+    void relay_publicaEnOrdenPorLotesYBorraLoPublicado() throws IOException {
+        List<UUID> ids = List.of(
+                service.crearSocio(request("7800000004", "Uno")).getId(),
+                service.crearSocio(request("7800000005", "Dos")).getId(),
+                service.crearSocio(request("7800000006", "Tres")).getId());
+        List<UUID> eventos = pendientes().stream().map(EventoSocio::getId).toList();
+
+        assertEquals(2, relay.publicarLote());
+        assertEquals(1, pendientes().size());
+        assertEquals(1, relay.publicarLote());
+        assertEquals(0, relay.publicarLote());
+
+        List<EventoSocioDTO> publicados = publicados();
+        assertEquals(eventos, publicados.stream().map(EventoSocioDTO::getId).toList());
+        assertEquals(ids, publicados.stream().map(EventoSocioDTO::getSocioId).toList());
+        assertEquals("Dos", publicados.get(1).getSocio().getNombres());
+        assertTrue(pendientes().isEmpty());
+    }
+
+    @Test
+    void registro_sinSociosODeshabilitadoNoEscribeEventos() {
+        registroEventos.registrar(TipoEventoSocio.CREADO, List.of());
+        registroEventos.registrarDesactivados(List.of(), LocalDateTime.now());
+        new RegistroEventosSocio(eventoSocioRepository, null, jsonMapper, "ninguno")
+                .registrar(TipoEventoSocio.CREADO, List.of());
+
+        assertTrue(pendientes().isEmpty());
+    }
+}
@@ -0,0 +1,99 @@
+package ec.fin.coacandes.socios.service;
+
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapperImpl;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.service.impl.ExportacionSociosServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportacionSociosServiceImplTest {
+
+    private final SocioRepository socioRepository = mock(SocioRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ExportacionSociosServiceImpl service = new ExportacionSociosServiceImpl(
+            socioRepository, new SocioMapperImpl(), JsonMapper.builder().build(), entityManager);
+
+    private Socio buildSocio(String nombres, String direccion) {
+        Socio socio = new Socio();
+        socio.setId(UUID.randomUUID());
+        socio.setIdentificacion("1712345678");
+        socio.setNombres(nombres);
+        socio.setApellidos("Perez");
+        socio.setEmail("juan@test.com");
+        socio.setDireccion(direccion);
+        socio.setTipoIdentificacion("CEDULA");
+        socio.setFechaCreacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+        return socio;
+    }
+
+    @Test
+    void exportar_csvEscribeCabeceraYEscapaValores() throws Exception {
+        Socio socio = buildSocio("Juan \"JC\"", "Calle 1, Quito");
+        when(socioRepository.streamAllBy()).thenReturn(Stream.of(socio));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long filas = service.exportar(salida, FormatoExportacion.CSV);
+
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, filas);
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].startsWith("id,identificacion,"));
+        assertEquals(socio.getId() + ",1712345678,\"Juan \"\"JC\"\"\",Perez,juan@test.com,,"
+                + "\"Calle 1, Quito\",CEDULA,true,2024-01-15T10:30,", lineas[1]);
+        verify(entityManager).detach(socio);
+    }
+
+    @Test
+    void exportar_csvEntrecomillaSaltosDeLineaYDejaVaciasLasFechasNulas() throws Exception {
+        Socio socio = buildSocio("Juan\nCarlos", "Calle 1\rQuito");
+        socio.setFechaCreacion(null);
+        socio.setFechaActualizacion(LocalDateTime.of(2024, 2, 1, 8, 0));
+        when(socioRepository.streamAllBy()).thenReturn(Stream.of(socio));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        service.exportar(salida, FormatoExportacion.CSV);
+
+        String csv = salida.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.endsWith(",\"Juan\nCarlos\",Perez,juan@test.com,,\"Calle 1\rQuito\",CEDULA,true,,2024-02-01T08:00\n"));
+    }
+
+    @Test
+    void exportar_ndjsonEscribeUnObjetoPorLinea() throws Exception {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        Stream<Socio> socios = IntStream.range(0, 1001).mapToObj(i -> buildSocio("Socio " + i, "Calle " + i));
+        when(socioRepository.streamAllBy()).thenReturn(socios);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long filas = service.exportar(salida, FormatoExportacion.NDJSON);
+
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1001, filas);
+        assertEquals(1001, lineas.length);
+        SocioResponseDTO ultimo = jsonMapper.readValue(lineas[1000], SocioResponseDTO.class);
+        assertEquals("Socio 1000", ultimo.getNombres());
+        verify(entityManager, times(1001)).detach(any());
+    }
+
+    @Test
+    void exportar_tablaVaciaSoloEscribeCabecera() throws Exception {
+        when(socioRepository.streamAllBy()).thenReturn(Stream.empty());
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        assertEquals(0, service.exportar(salida, FormatoExportacion.CSV));
+        assertEquals(1, salida.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+}
@@ -0,0 +1,351 @@
+package ec.fin.coacandes.socios.service;
+
+import ec.fin.coacandes.socios.cache.FiltrosUnicidadSocios;
+import ec.fin.coacandes.socios.cache.IndiceBusquedaSocios;
+import ec.fin.coacandes.socios.dto.EstadoImportacion;
+import ec.fin.coacandes.socios.dto.ProgresoImportacionDTO;
+import ec.fin.coacandes.socios.dto.TipoEventoSocio;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapperImpl;
+import ec.fin.coacandes.socios.repository.CargadorSocios;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.service.impl.ImportacionSociosServiceImpl;
+import ec.fin.coacandes.socios.service.impl.RegistroEventosSocio;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacionSociosServiceImplTest {
+
+    private static final String CABECERA = "identificacion,nombres,apellidos,email,telefono,direccion,activo,tipoIdentificacion\n";
+
+    @Mock
+    private SocioRepository socioRepository;
+
+    @Mock
+    private CargadorSocios cargadorSocios;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RegistroEventosSocio registroEventos;
+
+    private final List<Socio> cargados = new ArrayList<>();
+
+    private ImportacionSociosServiceImpl servicio(Executor executor) {
+        ImportacionSociosServiceImpl servicio = new ImportacionSociosServiceImpl(socioRepository, cargadorSocios,
+                new SocioMapperImpl(), Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager, executor,
+                new FiltrosUnicidadSocios(socioRepository, transactionManager, false, 1000, 0.01),
+                new IndiceBusquedaSocios(socioRepository, transactionManager, false, Duration.ofMinutes(5)), registroEventos);
+        ReflectionTestUtils.setField(servicio, "tamanoLote", 2);
+        return servicio;
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cargadorSocios.cargar(any())).thenAnswer(inv -> {
+            List<Socio> socios = inv.getArgument(0);
+            cargados.addAll(socios);
+            return socios.size();
+        });
+    }
+
+    private static InputStream csv(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void iniciar_importaPorLotesYRechazaFilasInvalidasODuplicadas() throws IOException {
+        when(socioRepository.findIdentificacionesExistentes(anyCollection())).thenReturn(Set.of("1700000003"));
+        when(socioRepository.findEmailsExistentes(anyCollection())).thenReturn(Set.of());
+
+        String contenido = CABECERA
+                + "1700000001,Ana,Pérez,ana@test.com,0999999999,\"Calle 1, Quito\",true,CEDULA\n"
+                + "1700000001,Ana,Repetida,otra@test.com,,,,CEDULA\n"
+                + "abc,Mal,Dato,,,,,CEDULA\n"
+                + "\n"
+                + "1700000003,Ya,Existe,,,,,CEDULA\n"
+                + "1791234567001,Empresa,S.A.,,,,false,RUC\n";
+
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        UUID id = servicio.iniciar(csv(contenido)).getId();
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(id);
+
+        assertEquals(EstadoImportacion.COMPLETADA, resultado.getEstado());
+        assertEquals(5, resultado.getFilasLeidas());
+        assertEquals(2, resultado.getFilasImportadas());
+        assertEquals(3, resultado.getFilasRechazadas());
+        assertNotNull(resultado.getInicio());
+        assertNotNull(resultado.getFin());
+        assertTrue(resultado.getErrores().stream().anyMatch(e -> e.startsWith("Registro 3: Identificación repetida")));
+        assertTrue(resultado.getErrores().stream().anyMatch(e -> e.startsWith("Registro 4: Identificación inválida")));
+        assertTrue(resultado.getErrores().stream().anyMatch(e -> e.contains("Ya existe un socio con esta identificación")));
+
+        assertEquals(2, cargados.size());
+        Socio ana = cargados.get(0);
+        assertNotNull(ana.getId());
+        assertEquals("Calle 1, Quito", ana.getDireccion());
+        assertTrue(ana.getActivo());
+        assertNotNull(ana.getFechaCreacion());
+        assertFalse(cargados.get(1).getActivo());
+    }
+
+    @Test
+    void iniciar_aceptaSoloValoresConocidosDeActivo() throws IOException {
+        when(socioRepository.findIdentificacionesExistentes(anyCollection())).thenReturn(Set.of());
+
+        String contenido = "identificacion,nombres,apellidos,tipoIdentificacion,activo\n"
+                + "1700000001,Ana,Uno,CEDULA,TRUE\n"
+                + "1700000002,Ana,Dos,CEDULA,SI\n"
+                + "1700000003,Ana,Tres,CEDULA,Sí\n"
+                + "1700000004,Ana,Cuatro,CEDULA,1\n"
+                + "1700000005,Luis,Cinco,CEDULA,yes\n"
+                + "1700000006,Luis,Seis,CEDULA,False\n"
+                + "1700000007,Luis,Siete,CEDULA,no\n"
+                + "1700000008,Luis,Ocho,CEDULA,0\n";
+
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(servicio.iniciar(csv(contenido)).getId());
+
+        assertEquals(7, resultado.getFilasImportadas());
+        assertEquals(1, resultado.getFilasRechazadas());
+        assertEquals(List.of("Registro 6: El campo activo debe ser true/false, si/no o 1/0"),
+                resultado.getErrores());
+        assertEquals(List.of(true, true, true, true, false, false, false),
+                cargados.stream().map(Socio::getActivo).toList());
+    }
+
+    @Test
+    void iniciar_rechazaEmailRepetidoOExistente() throws IOException {
+        when(socioRepository.findIdentificacionesExistentes(anyCollection())).thenReturn(Set.of());
+        when(socioRepository.findEmailsExistentes(anyCollection())).thenReturn(Set.of("usado@test.com"));
+
+        String contenido = "identificacion,nombres,apellidos,tipoIdentificacion,email\n"
+                + "1700000001,Ana,Uno,CEDULA,ana@test.com\n"
+                + "1700000002,Ana,Dos,CEDULA,ana@test.com\n"
+                + "1700000003,Luis,Tres,CEDULA,usado@test.com\n";
+
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(servicio.iniciar(csv(contenido)).getId());
+
+        assertEquals(1, resultado.getFilasImportadas());
+        assertEquals(2, resultado.getFilasRechazadas());
+        assertTrue(resultado.getErrores().contains("Registro 3: Email repetido en el archivo"));
+        assertTrue(resultado.getErrores().contains("Registro 4: Ya existe un socio con este email"));
+    }
+
+    @Test
+    void iniciar_sinFilasValidasNoConsultaNiCarga() throws IOException {
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(
+                servicio.iniciar(csv("identificacion,nombres,apellidos,tipoIdentificacion\nx,,,\n")).getId());
+
+        assertEquals(EstadoImportacion.COMPLETADA, resultado.getEstado());
+        assertEquals(1, resultado.getFilasRechazadas());
+        verifyNoInteractions(socioRepository, cargadorSocios);
+    }
+
+    @Test
+    void iniciar_limitaLaCantidadDeErroresReportados() throws IOException {
+        StringBuilder contenido = new StringBuilder("identificacion,nombres,apellidos,tipoIdentificacion\n");
+        for (int i = 0; i < 150; i++) {
+            contenido.append("invalida,N,A,CEDULA\n");
+        }
+
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(servicio.iniciar(csv(contenido.toString())).getId());
+
+        assertEquals(150, resultado.getFilasRechazadas());
+        assertEquals(100, resultado.getErrores().size());
+    }
+
+    @Test
+    void iniciar_rechazaFilasConMenosColumnasQueLaCabecera() throws IOException {
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(servicio.iniciar(
+                csv("identificacion,nombres,apellidos,tipoIdentificacion\n1700000001\n")).getId());
+
+        assertEquals(EstadoImportacion.COMPLETADA, resultado.getEstado());
+        assertEquals(1, resultado.getFilasLeidas());
+        assertEquals(1, resultado.getFilasRechazadas());
+        verifyNoInteractions(cargadorSocios);
+    }
+
+    @Test
+    void iniciar_terminaAunqueNoPuedaBorrarElArchivoTemporal() throws IOException {
+        Path temporales = Path.of(System.getProperty("java.io.tmpdir"));
+        Set<Path> previos = temporalesDeImportacion(temporales);
+        AtomicReference<Path> reemplazado = new AtomicReference<>();
+        Executor reemplazaPorDirectorio = tarea -> {
+            try {
+                // El archivo pasa a ser un directorio no vacío: no se puede leer ni borrar
+                Path archivo = temporalesDeImportacion(temporales).stream()
+                        .filter(ruta -> !previos.contains(ruta))
+                        .findFirst().orElseThrow();
+                Files.delete(archivo);
+                Files.createDirectory(archivo);
+                Files.createFile(archivo.resolve("ocupado"));
+                reemplazado.set(archivo);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            tarea.run();
+        };
+
+        ImportacionSociosServiceImpl servicio = servicio(reemplazaPorDirectorio);
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(servicio.iniciar(csv(CABECERA)).getId());
+
+        assertEquals(EstadoImportacion.FALLIDA, resultado.getEstado());
+        Path archivo = reemplazado.get();
+        assertTrue(Files.isDirectory(archivo));
+        Files.delete(archivo.resolve("ocupado"));
+        Files.delete(archivo);
+    }
+
+    private static Set<Path> temporalesDeImportacion(Path temporales) throws IOException {
+        try (Stream<Path> archivos = Files.list(temporales)) {
+            return archivos.filter(ruta -> ruta.getFileName().toString().startsWith("socios-importacion-"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    @Test
+    void iniciar_fallaSiFaltaUnaColumnaObligatoria() throws IOException {
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(
+                servicio.iniciar(csv("identificacion,nombres\n1700000001,Ana\n")).getId());
+
+        assertEquals(EstadoImportacion.FALLIDA, resultado.getEstado());
+        assertEquals(List.of("Importación abortada: Falta la columna obligatoria 'apellidos'"), resultado.getErrores());
+    }
+
+    @Test
+    void iniciar_fallaConArchivoVacio() throws IOException {
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(servicio.iniciar(csv("")).getId());
+
+        assertEquals(EstadoImportacion.FALLIDA, resultado.getEstado());
+    }
+
+    @Test
+    void iniciar_marcaFallidaSiLaCargaFalla() throws IOException {
+        when(socioRepository.findIdentificacionesExistentes(anyCollection())).thenReturn(Set.of());
+        doThrow(new IllegalStateException("COPY falló")).when(cargadorSocios).cargar(any());
+
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        ProgresoImportacionDTO resultado = servicio.obtenerProgreso(servicio.iniciar(
+                csv("identificacion,nombres,apellidos,tipoIdentificacion\n1700000001,Ana,Pérez,CEDULA\n")).getId());
+
+        assertEquals(EstadoImportacion.FALLIDA, resultado.getEstado());
+        assertEquals(0, resultado.getFilasImportadas());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void iniciar_quedaEnColaHastaQueElExecutorLoProcese() throws IOException {
+        List<Runnable> pendientes = new ArrayList<>();
+        ImportacionSociosServiceImpl servicio = servicio(pendientes::add);
+
+        UUID id = servicio.iniciar(csv("identificacion,nombres,apellidos,tipoIdentificacion\n")).getId();
+        assertEquals(EstadoImportacion.EN_COLA, servicio.obtenerProgreso(id).getEstado());
+        assertEquals(0, servicio.obtenerProgreso(id).getFilasPorSegundo());
+
+        pendientes.forEach(Runnable::run);
+        assertEquals(EstadoImportacion.COMPLETADA, servicio.obtenerProgreso(id).getEstado());
+    }
+
+    @Test
+    void iniciar_colaLlenaLanzaExcepcion() {
+        ImportacionSociosServiceImpl servicio = servicio(tarea -> {
+            throw new RejectedExecutionException("llena");
+        });
+
+        assertThrows(IllegalStateException.class, () -> servicio.iniciar(csv(CABECERA)));
+    }
+
+    @Test
+    void iniciar_propagaErrorDeLectura() {
+        InputStream roto = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("conexión cerrada");
+            }
+        };
+
+        assertThrows(IOException.class, () -> servicio(Runnable::run).iniciar(roto));
+    }
+
+    @Test
+    void iniciar_descartaLasImportacionesTerminadasFueraDeLaRetencion() throws IOException {
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        ProgresoImportacionDTO terminada = servicio.iniciar(csv(CABECERA));
+        Executor enCola = tarea -> {
+        };
+        ReflectionTestUtils.setField(servicio, "importacionExecutor", enCola);
+        ProgresoImportacionDTO pendiente = servicio.iniciar(csv(CABECERA));
+
+        // Dentro de la retención se sigue consultando
+        assertEquals(EstadoImportacion.COMPLETADA, servicio.obtenerProgreso(terminada.getId()).getEstado());
+
+        ReflectionTestUtils.setField(servicio, "retencion", Duration.ZERO);
+        servicio.iniciar(csv(CABECERA));
+
+        assertThrows(EntityNotFoundException.class, () -> servicio.obtenerProgreso(terminada.getId()));
+        assertEquals(EstadoImportacion.EN_COLA, servicio.obtenerProgreso(pendiente.getId()).getEstado());
+    }
+
+    @Test
+    void obtenerProgreso_idDesconocidoLanzaExcepcion() {
+        ImportacionSociosServiceImpl servicio = servicio(Runnable::run);
+        assertThrows(EntityNotFoundException.class, () -> servicio.obtenerProgreso(UUID.randomUUID()));
+    }
+
+    @Test
+    void iniciar_capturaLosSociosCargados() throws IOException {
+        when(socioRepository.findIdentificacionesExistentes(anyCollection())).thenReturn(Set.of());
+
+        servicio(Runnable::run).iniciar(csv("identificacion,nombres,apellidos,tipoIdentificacion,id\n"
+                + " 1700000001 ,Ana,Pérez,CEDULA,ignorado\n"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Socio>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cargadorSocios).cargar(captor.capture());
+        assertEquals("1700000001", captor.getValue().get(0).getIdentificacion());
+        assertNull(captor.getValue().get(0).getEmail());
+        verify(socioRepository, never()).findEmailsExistentes(anyCollection());
+        verify(registroEventos).registrar(TipoEventoSocio.CREADO, captor.getValue());
+    }
+}
@@ -0,0 +1,62 @@
+package ec.fin.coacandes.socios.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorCsvTest {
+
+    @Test
+    void siguienteRegistro_leeCamposSimplesYTerminaEnNull() throws Exception {
+        try (LectorCsv lector = new LectorCsv(new StringReader("a,b,c\r\n1,,3\n"))) {
+            assertEquals(List.of("a", "b", "c"), lector.siguienteRegistro());
+            assertEquals(List.of("1", "", "3"), lector.siguienteRegistro());
+            assertNull(lector.siguienteRegistro());
+            assertNull(lector.siguienteRegistro());
+            assertEquals(2, lector.getRegistrosLeidos());
+        }
+    }
+
+    @Test
+    void siguienteRegistro_envuelveLectoresSinMarca() throws Exception {
+        InputStreamReader reader = new InputStreamReader(
+                new ByteArrayInputStream("\"a \"\"b\"\"\",c\n".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        assertFalse(reader.markSupported());
+
+        try (LectorCsv lector = new LectorCsv(reader)) {
+            assertEquals(List.of("a \"b\"", "c"), lector.siguienteRegistro());
+        }
+    }
+
+    @Test
+    void siguienteRegistro_respetaComillasComasYSaltosDeLinea() throws Exception {
+        String csv = "\"Pérez, Juan\",\"dice \"\"hola\"\"\",\"línea 1\nlínea 2\"\nfinal";
+        try (LectorCsv lector = new LectorCsv(new StringReader(csv))) {
+            assertEquals(List.of("Pérez, Juan", "dice \"hola\"", "línea 1\nlínea 2"), lector.siguienteRegistro());
+            assertEquals(List.of("final"), lector.siguienteRegistro());
+            assertNull(lector.siguienteRegistro());
+        }
+    }
+
+    @Test
+    void siguienteRegistro_comillaDeCierreAlFinalDelArchivo() throws Exception {
+        try (LectorCsv lector = new LectorCsv(new StringReader("\"x\""))) {
+            assertEquals(List.of("x"), lector.siguienteRegistro());
+            assertNull(lector.siguienteRegistro());
+        }
+    }
+
+    @Test
+    void siguienteRegistro_lineaVaciaDevuelveUnCampoVacio() throws Exception {
+        try (LectorCsv lector = new LectorCsv(new StringReader("\n"))) {
+            assertEquals(List.of(""), lector.siguienteRegistro());
+            assertNull(lector.siguienteRegistro());
+        }
+    }
+}
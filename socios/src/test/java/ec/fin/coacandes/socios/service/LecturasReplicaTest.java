@@ -0,0 +1,139 @@
+package ec.fin.coacandes.socios.service;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+import jakarta.persistence.EntityNotFoundException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Enrutamiento de lecturas con dos BD H2 independientes, primaria y réplica, sin replicación entre
+ * ellas: lo que devuelve cada operación muestra de cuál leyó.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:lecturas-primaria;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "socios.replica.url=" + LecturasReplicaTest.URL_REPLICA,
+        "socios.replica.verificacion=0s",
+        "socios.replica.retraso-maximo=5s",
+        "socios.replica.consulta-retraso=select retraso from estado_replica",
+        "socios.busqueda.indice-memoria=false"
+})
+class LecturasReplicaTest {
+
+    static final String URL_REPLICA = "jdbc:h2:mem:lecturas-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static final CuentasStubServer cuentas = CuentasStubServer.iniciar();
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        registry.add("cuentas.service.url", cuentas::url);
+    }
+
+    @AfterAll
+    static void detenerCuentas() {
+        cuentas.close();
+    }
+
+    @Autowired
+    private SocioService service;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final JdbcTemplate replica = new JdbcTemplate(h2Replica());
+
+    private static DataSource h2Replica() {
+        JdbcDataSource replica = new JdbcDataSource();
+        replica.setURL(URL_REPLICA);
+        replica.setUser("sa");
+        return replica;
+    }
+
+    @BeforeEach
+    void setUp() {
+        cuentas.conCuentasActivas(false);
+        replica.execute("drop all objects");
+        // El mismo esquema que Hibernate creó en la primaria, sin datos
+        List<String> esquema = new JdbcTemplate(dataSource).queryForList("script nodata", String.class);
+        esquema.stream().filter(sql -> !sql.startsWith("--")).forEach(replica::execute);
+        replica.execute("create table estado_replica (retraso double)");
+        replica.execute("insert into estado_replica values (0)");
+        replica.update("insert into socios (id, identificacion, nombres, apellidos, tipo_identificacion, activo, "
+                + "fecha_creacion, fecha_actualizacion, version) values (?, '7700000001', 'Solo', 'En Replica', "
+                + "'CEDULA', true, current_timestamp, current_timestamp, 0)", UUID.randomUUID());
+    }
+
+    private SocioResponseDTO crearEnPrimaria(String identificacion) {
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion(identificacion);
+        request.setNombres("Solo");
+        request.setApellidos("En Primaria");
+        request.setTipoIdentificacion("CEDULA");
+        return service.crearSocio(request);
+    }
+
+    private List<String> identificacionesListadas() {
+        return service.obtenerPaginaSocios(null, 50, true).getSocios().stream()
+                .map(SocioResponseDTO::getIdentificacion)
+                .toList();
+    }
+
+    @Test
+    void lecturasDeSoloLectura_vanALaReplicaYLasEscriturasALaPrimaria() {
+        crearEnPrimaria("7700000002");
+
+        assertEquals(List.of("7700000001"), identificacionesListadas());
+        assertEquals(1, service.buscarSocios("replica", 0, 10, true).getTotal());
+        assertEquals(0, replica.queryForObject(
+                "select count(*) from socios where identificacion = '7700000002'", Integer.class));
+    }
+
+    @Test
+    void lecturasQueLlenanLaCache_vanALaPrimaria() {
+        SocioResponseDTO creado = crearEnPrimaria("7700000003");
+
+        assertEquals("7700000003", service.obtenerSocioPorId(creado.getId(), false).getIdentificacion());
+        assertThrows(EntityNotFoundException.class,
+                () -> service.obtenerSocioPorIdentificacion("7700000001", false));
+    }
+
+    @Test
+    void eliminarSocio_leeEnLaPrimariaAunqueLaReplicaNoLoTenga() {
+        SocioResponseDTO creado = crearEnPrimaria("7700000004");
+
+        assertDoesNotThrow(() -> service.eliminarSocio(creado.getId()));
+    }
+
+    @Test
+    void replicaAtrasada_lasLecturasVuelvenALaPrimaria() {
+        crearEnPrimaria("7700000005");
+        replica.update("update estado_replica set retraso = 30");
+
+        assertTrue(identificacionesListadas().contains("7700000005"));
+
+        replica.update("update estado_replica set retraso = 0");
+        assertEquals(List.of("7700000001"), identificacionesListadas());
+    }
+}
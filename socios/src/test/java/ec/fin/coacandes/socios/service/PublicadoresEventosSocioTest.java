@@ -0,0 +1,151 @@
+package ec.fin.coacandes.socios.service;
+
+import com.sun.net.httpserver.HttpServer;
+import ec.fin.coacandes.socios.config.OutboxConfig;
+import ec.fin.coacandes.socios.dto.EventoSocioDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.TipoEventoSocio;
+import ec.fin.coacandes.socios.service.impl.PublicadorEventosArchivo;
+import ec.fin.coacandes.socios.service.impl.PublicadorEventosHttp;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicadoresEventosSocioTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private static EventoSocioDTO evento(String identificacion) {
+        SocioResponseDTO socio = new SocioResponseDTO();
+        socio.setId(UUID.randomUUID());
+        socio.setIdentificacion(identificacion);
+        socio.setVersion(0L);
+        return new EventoSocioDTO(UUID.randomUUID(), TipoEventoSocio.CREADO, socio.getId(), 0L,
+                LocalDateTime.now(), socio);
+    }
+
+    @Test
+    void archivo_agregaUnaLineaPorEvento(@TempDir Path directorio) throws IOException {
+        Path archivo = directorio.resolve("eventos.jsonl");
+        PublicadorEventosArchivo publicador = new PublicadorEventosArchivo(archivo, jsonMapper);
+
+        publicador.publicar(List.of(evento("1712345678"), evento("1712345679")));
+        publicador.publicar(List.of(evento("1712345680")));
+
+        List<String> lineas = Files.readAllLines(archivo);
+        assertEquals(3, lineas.size());
+        assertEquals("1712345680",
+                jsonMapper.readValue(lineas.get(2), EventoSocioDTO.class).getSocio().getIdentificacion());
+    }
+
+    @Test
+    void http_enviaElLoteComoArregloJson() throws IOException {
+        AtomicReference<String> cuerpo = new AtomicReference<>();
+        HttpServer servidor = servidor(202, cuerpo);
+        try {
+            new PublicadorEventosHttp(url(servidor), Duration.ofSeconds(2), jsonMapper)
+                    .publicar(List.of(evento("1712345678"), evento("1712345679")));
+        } finally {
+            servidor.stop(0);
+        }
+
+        EventoSocioDTO[] recibidos = jsonMapper.readValue(cuerpo.get(), EventoSocioDTO[].class);
+        assertEquals(2, recibidos.length);
+        assertEquals("1712345679", recibidos[1].getSocio().getIdentificacion());
+    }
+
+    @Test
+    void http_respuestaNo2xxEsUnFallo() throws IOException {
+        HttpServer servidor = servidor(503, new AtomicReference<>());
+        try {
+            PublicadorEventosHttp publicador = new PublicadorEventosHttp(url(servidor), Duration.ofSeconds(2),
+                    jsonMapper);
+            IOException error = assertThrows(IOException.class, () -> publicador.publicar(List.of(evento("1"))));
+            assertTrue(error.getMessage().contains("503"));
+        } finally {
+            servidor.stop(0);
+        }
+    }
+
+    @Test
+    void http_interrumpidoConservaLaInterrupcion() throws IOException {
+        CountDownLatch liberar = new CountDownLatch(1);
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/eventos", intercambio -> {
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            intercambio.sendResponseHeaders(202, -1);
+            intercambio.close();
+        });
+        servidor.start();
+        try {
+            PublicadorEventosHttp publicador = new PublicadorEventosHttp(url(servidor), Duration.ofSeconds(2),
+                    jsonMapper);
+            Thread.currentThread().interrupt();
+            assertThrows(InterruptedIOException.class, () -> publicador.publicar(List.of(evento("1"))));
+            assertTrue(Thread.interrupted());
+        } finally {
+            liberar.countDown();
+            servidor.stop(0);
+        }
+    }
+
+    @Test
+    void outboxConfig_eligeElDestino() {
+        OutboxConfig config = new OutboxConfig();
+        Path archivo = Path.of("eventos.jsonl");
+
+        assertInstanceOf(PublicadorEventosHttp.class, config.publicadorEventosSocio("http", archivo,
+                "http://127.0.0.1:1/eventos", Duration.ofSeconds(1), jsonMapper));
+        PublicadorEventosSocio ninguno = config.publicadorEventosSocio("ninguno", archivo, "",
+                Duration.ofSeconds(1), jsonMapper);
+        assertThrows(IllegalStateException.class, () -> ninguno.publicar(List.of(evento("1"))));
+    }
+
+    @Test
+    void outboxConfig_rechazaDestinosDesconocidosOIncompletos(@TempDir Path directorio) {
+        OutboxConfig config = new OutboxConfig();
+        Path archivo = directorio.resolve("eventos.jsonl");
+
+        assertInstanceOf(PublicadorEventosArchivo.class,
+                config.publicadorEventosSocio("archivo", archivo, "", Duration.ofSeconds(1), jsonMapper));
+        assertThrows(IllegalArgumentException.class,
+                () -> config.publicadorEventosSocio("http", archivo, "", Duration.ofSeconds(1), jsonMapper));
+        assertThrows(IllegalArgumentException.class,
+                () -> config.publicadorEventosSocio("kafka", archivo, "", Duration.ofSeconds(1), jsonMapper));
+    }
+
+    private static HttpServer servidor(int estado, AtomicReference<String> cuerpo) throws IOException {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/eventos", intercambio -> {
+            cuerpo.set(new String(intercambio.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            intercambio.sendResponseHeaders(estado, -1);
+            intercambio.close();
+        });
+        servidor.start();
+        return servidor;
+    }
+
+    private static URI url(HttpServer servidor) {
+        return URI.create("http://127.0.0.1:" + servidor.getAddress().getPort() + "/eventos");
+    }
+}
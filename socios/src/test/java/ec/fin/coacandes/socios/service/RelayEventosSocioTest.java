@@ -0,0 +1,171 @@
+package ec.fin.coacandes.socios.service;
+
+import ec.fin.coacandes.socios.dto.EventoSocioDTO;
+import ec.fin.coacandes.socios.dto.TipoEventoSocio;
+import ec.fin.coacandes.socios.entity.EventoSocio;
+import ec.fin.coacandes.socios.repository.EventoSocioRepository;
+import ec.fin.coacandes.socios.service.impl.RelayEventosSocio;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelayEventosSocioTest {
+
+    @Mock
+    private EventoSocioRepository eventoSocioRepository;
+
+    @Mock
+    private PublicadorEventosSocio publicador;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private RelayEventosSocio relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new RelayEventosSocio(eventoSocioRepository, publicador, JsonMapper.builder().build(),
+                transactionManager, "archivo", 2, Duration.ofSeconds(1));
+        relay.bindTo(registry);
+    }
+
+    private static EventoSocio evento(TipoEventoSocio tipo) {
+        EventoSocio evento = new EventoSocio();
+        evento.setId(UUID.randomUUID());
+        evento.setTipo(tipo);
+        evento.setSocioId(UUID.randomUUID());
+        evento.setVersion(3L);
+        evento.setOcurridoEn(LocalDateTime.now());
+        evento.setSocio("{\"identificacion\":\"1712345678\",\"version\":3}");
+        return evento;
+    }
+
+    @Test
+    void publicarLote_publicaYBorraElLote() throws IOException {
+        List<EventoSocio> lote = List.of(evento(TipoEventoSocio.CREADO), evento(TipoEventoSocio.ELIMINADO));
+        when(eventoSocioRepository.findPendientes(Limit.of(2))).thenReturn(lote);
+
+        assertEquals(2, relay.publicarLote());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EventoSocioDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(publicador).publicar(captor.capture());
+        EventoSocioDTO publicado = captor.getValue().get(1);
+        assertEquals(lote.get(1).getId(), publicado.getId());
+        assertEquals(TipoEventoSocio.ELIMINADO, publicado.getTipo());
+        assertEquals("1712345678", publicado.getSocio().getIdentificacion());
+        verify(eventoSocioRepository).deleteAllInBatch(lote);
+        verify(transactionManager).commit(any());
+        assertEquals(2, registry.get("socios.outbox.publicados").functionCounter().count());
+    }
+
+    @Test
+    void publicarLote_sinPendientesNoPublica() {
+        when(eventoSocioRepository.findPendientes(any())).thenReturn(List.of());
+
+        assertEquals(0, relay.publicarLote());
+        verifyNoInteractions(publicador);
+    }
+
+    @Test
+    void publicarLote_siElDestinoFallaConservaLosEventos() throws IOException {
+        when(eventoSocioRepository.findPendientes(any())).thenReturn(List.of(evento(TipoEventoSocio.CREADO)));
+        doThrow(new IOException("destino caído")).when(publicador).publicar(any());
+
+        assertThrows(UncheckedIOException.class, () -> relay.publicarLote());
+        verify(eventoSocioRepository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1, registry.get("socios.outbox.fallos").functionCounter().count());
+        assertEquals(0, registry.get("socios.outbox.publicados").functionCounter().count());
+    }
+
+    @Test
+    void start_deshabilitadoNoProgramaElRelay() {
+        RelayEventosSocio deshabilitado = new RelayEventosSocio(eventoSocioRepository, publicador,
+                JsonMapper.builder().build(), transactionManager, "ninguno", 2, Duration.ofMillis(10));
+
+        deshabilitado.start();
+
+        assertFalse(deshabilitado.isRunning());
+    }
+
+    @Test
+    void publicarPendientes_siguePorLotesCompletosYSeRecuperaDeLosFallos() throws IOException {
+        when(eventoSocioRepository.findPendientes(any()))
+                .thenReturn(List.of(evento(TipoEventoSocio.CREADO), evento(TipoEventoSocio.CREADO)))
+                .thenReturn(List.of(evento(TipoEventoSocio.ACTUALIZADO)))
+                .thenReturn(List.of(evento(TipoEventoSocio.ELIMINADO)));
+        doNothing()
+                .doNothing()
+                .doThrow(new IOException("destino caído"))
+                .doThrow(new IOException("destino caído"))
+                .doNothing()
+                .when(publicador).publicar(any());
+
+        relay.publicarPendientes();
+        assertEquals(3, registry.get("socios.outbox.publicados").functionCounter().count());
+
+        relay.publicarPendientes();
+        relay.publicarPendientes();
+        assertEquals(2, registry.get("socios.outbox.fallos").functionCounter().count());
+
+        relay.publicarPendientes();
+        assertEquals(4, registry.get("socios.outbox.publicados").functionCounter().count());
+    }
+
+    @Test
+    void stop_sinIniciarNoHaceNada() {
+        relay.stop();
+
+        assertFalse(relay.isRunning());
+    }
+
+    @Test
+    void stop_interrumpidoNoEsperaElLoteEnCurso() throws Exception {
+        CountDownLatch publicando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(eventoSocioRepository.findPendientes(any())).thenReturn(List.of(evento(TipoEventoSocio.CREADO)));
+        doAnswer(invocacion -> {
+            publicando.countDown();
+            liberar.await();
+            return null;
+        }).when(publicador).publicar(any());
+        RelayEventosSocio programado = new RelayEventosSocio(eventoSocioRepository, publicador,
+                JsonMapper.builder().build(), transactionManager, "archivo", 2, Duration.ofMillis(10));
+
+        programado.start();
+        assertTrue(programado.isRunning());
+        assertTrue(publicando.await(5, TimeUnit.SECONDS));
+        Thread.currentThread().interrupt();
+        try {
+            programado.stop();
+            assertTrue(Thread.interrupted());
+        } finally {
+            liberar.countDown();
+        }
+        assertFalse(programado.isRunning());
+    }
+}
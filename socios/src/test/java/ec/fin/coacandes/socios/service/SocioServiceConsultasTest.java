@@ -0,0 +1,171 @@
+package ec.fin.coacandes.socios.service;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.support.ContadorSentencias;
+import ec.fin.coacandes.socios.support.CuentasStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Presupuesto de sentencias SQL de cada operación de {@link SocioService} sobre H2 con el contexto
+ * completo (cachés, filtros de Bloom e índice de búsqueda incluidos). Si un cambio agrega un viaje a
+ * la BD, la prueba falla con la lista de sentencias ejecutadas; si el cambio es intencional, se
+ * actualiza el presupuesto.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:consultas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Import(ContadorSentencias.class)
+class SocioServiceConsultasTest {
+
+    private static final CuentasStubServer cuentas = CuentasStubServer.iniciar();
+    private static final AtomicInteger secuencia = new AtomicInteger();
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        registry.add("cuentas.service.url", cuentas::url);
+    }
+
+    @AfterAll
+    static void detenerCuentas() {
+        cuentas.close();
+    }
+
+    @Autowired
+    private SocioService service;
+
+    @Autowired
+    private ContadorSentencias contador;
+
+    @BeforeEach
+    void setUp() {
+        cuentas.conCuentasActivas(false);
+    }
+
+    private SocioRequestDTO buildRequest() {
+        int indice = secuencia.incrementAndGet();
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion(String.format("88%08d", indice));
+        request.setNombres("Presupuesto");
+        request.setApellidos("Consultas " + indice);
+        request.setEmail("consultas" + indice + "@test.com");
+        request.setTelefono("0999999999");
+        request.setDireccion("Calle 1");
+        request.setTipoIdentificacion("CEDULA");
+        return request;
+    }
+
+    private SocioResponseDTO crear() {
+        SocioResponseDTO socio = service.crearSocio(buildRequest());
+        contador.reiniciar();
+        return socio;
+    }
+
+    @Test
+    void crearSocio_soloInsertaCuandoLosFiltrosDescartanDuplicados() {
+        contador.reiniciar();
+
+        service.crearSocio(buildRequest());
+
+        contador.verificar(0, 1, 0, 0);
+    }
+
+    @Test
+    void crearSociosEnLote_insertaEnUnSoloLote() {
+        List<SocioRequestDTO> requests = List.of(buildRequest(), buildRequest(), buildRequest());
+        contador.reiniciar();
+
+        service.crearSociosEnLote(requests);
+
+        contador.verificar(0, 1, 0, 0);
+    }
+
+    @Test
+    void actualizarSocio_leeYActualiza() {
+        SocioResponseDTO socio = crear();
+        SocioRequestDTO cambios = buildRequest();
+
+        service.actualizarSocio(socio.getId(), cambios, socio.getVersion());
+
+        contador.verificar(1, 0, 1, 0);
+    }
+
+    @Test
+    void obtenerSocioPorId_segundaLecturaNoConsulta() {
+        SocioResponseDTO socio = crear();
+
+        service.obtenerSocioPorId(socio.getId());
+        service.obtenerSocioPorId(socio.getId());
+
+        contador.verificar(1, 0, 0, 0);
+    }
+
+    @Test
+    void obtenerSocioPorIdentificacion_unaConsulta() {
+        SocioResponseDTO socio = crear();
+
+        service.obtenerSocioPorIdentificacion(socio.getIdentificacion());
+
+        contador.verificar(1, 0, 0, 0);
+    }
+
+    @Test
+    void obtenerPaginaSocios_unaConsultaSinCount() {
+        crear();
+
+        String cursor = service.obtenerPaginaSocios(null, 2).getSiguienteCursor();
+        service.obtenerPaginaSocios(cursor, 2);
+
+        contador.verificar(2, 0, 0, 0);
+    }
+
+    @Test
+    void buscarSocios_unaConsultaConElIndice() {
+        crear();
+
+        service.buscarSocios("presupuesto", 0, 5);
+
+        contador.verificar(1, 0, 0, 0);
+    }
+
+    @Test
+    void eliminarSocio_verificaYDesactiva() {
+        SocioResponseDTO socio = crear();
+
+        service.eliminarSocio(socio.getId());
+
+        contador.verificar(2, 0, 1, 0);
+    }
+
+    @Test
+    void eliminarSociosEnLote_cargaYDesactivaEnLote() {
+        List<UUID> ids = List.of(crear().getId(), crear().getId(), crear().getId());
+        contador.reiniciar();
+
+        service.eliminarSociosEnLote(ids);
+
+        contador.verificar(2, 0, 1, 0);
+        assertEquals(0, service.obtenerPaginaSocios(null, 100).getSocios().stream()
+                .filter(socio -> ids.contains(socio.getId())).count());
+    }
+}
@@ -1,23 +1,56 @@
 package ec.fin.coacandes.socios.service;
 
+import ec.fin.coacandes.socios.cache.FiltrosUnicidadSocios;
+import ec.fin.coacandes.socios.cache.IndiceBusquedaSocios;
+import ec.fin.coacandes.socios.cache.SocioCache;
 import ec.fin.coacandes.socios.client.CuentasClientService;
+import ec.fin.coacandes.socios.client.CuentasNoDisponibleException;
+import ec.fin.coacandes.socios.dto.EstadoEliminacion;
+import ec.fin.coacandes.socios.dto.EstadoItemLote;
+import ec.fin.coacandes.socios.dto.PaginaSociosDTO;
+import ec.fin.coacandes.socios.dto.ResultadoBusquedaDTO;
+import ec.fin.coacandes.socios.dto.ResultadoEliminacionLoteDTO;
+import ec.fin.coacandes.socios.dto.ResultadoItemEliminacionDTO;
+import ec.fin.coacandes.socios.dto.ResultadoLoteDTO;
 import ec.fin.coacandes.socios.dto.SocioRequestDTO;
 import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.TipoEventoSocio;
 import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.repository.ClavesUnicasSocio;
 import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.service.impl.RegistroEventosSocio;
 import ec.fin.coacandes.socios.service.impl.SocioServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,14 +63,44 @@ class SocioServiceImplTest {
     private SocioRepository socioRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private SocioMapper socioMapper;
 
     @Mock
     private CuentasClientService cuentasClientService;
 
+    @Mock
+    private RegistroEventosSocio registroEventos;
+
+    @Spy
+    private SocioCache socioCache = new SocioCache(100, Duration.ofMinutes(5));
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    // Sin reconstruir: todo valor se consulta en la BD salvo en las pruebas que lo reconstruyen
+    @Spy
+    private FiltrosUnicidadSocios filtrosUnicidad = new FiltrosUnicidadSocios(
+            mock(SocioRepository.class), mock(PlatformTransactionManager.class), true, 1000, 0.01);
+
+    // Sin construir: la búsqueda se resuelve en la BD salvo en las pruebas que lo construyen
+    @Spy
+    private IndiceBusquedaSocios indiceBusqueda = new IndiceBusquedaSocios(
+            mock(SocioRepository.class), mock(PlatformTransactionManager.class), true, Duration.ofMinutes(5));
+
     @InjectMocks
     private SocioServiceImpl service;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "tamanoPaginaDefecto", 2);
+        ReflectionTestUtils.setField(service, "tamanoPaginaMaximo", 3);
+        ReflectionTestUtils.setField(service, "tamanoLoteMaximo", 10);
+        ReflectionTestUtils.setField(service, "paralelismoCuentas", 2);
+    }
+
     private SocioRequestDTO buildRequest(String identificacion) {
         SocioRequestDTO request = new SocioRequestDTO();
         request.setIdentificacion(identificacion);
@@ -50,6 +113,36 @@ class SocioServiceImplTest {
         return request;
     }
 
+    private void reconstruirFiltros(ClavesUnicasSocio... claves) {
+        when(socioRepository.streamClavesUnicasBy()).thenReturn(Stream.of(claves));
+        FiltrosUnicidadSocios reconstruidos = new FiltrosUnicidadSocios(
+                socioRepository, mock(PlatformTransactionManager.class), true, 1000, 0.01);
+        reconstruidos.reconstruir();
+        ReflectionTestUtils.setField(service, "filtrosUnicidad", reconstruidos);
+    }
+
+    private static ClavesUnicasSocio clave(String identificacion, String email) {
+        return new ClavesUnicasSocio() {
+            @Override
+            public String getIdentificacion() {
+                return identificacion;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+
+    private SocioResponseDTO buildResponse(UUID id, LocalDateTime fechaCreacion) {
+        SocioResponseDTO response = new SocioResponseDTO();
+        response.setId(id);
+        response.setFechaCreacion(fechaCreacion);
+        response.setActivo(true);
+        return response;
+    }
+
     private Socio buildSocio(UUID id, String identificacion) {
         Socio socio = new Socio();
         socio.setId(id);
@@ -82,20 +175,163 @@ class SocioServiceImplTest {
         response.setIdentificacion(socio.getIdentificacion());
 
         when(socioRepository.existsByIdentificacion(request.getIdentificacion())).thenReturn(false);
-        when(modelMapper.map(request, Socio.class)).thenReturn(socio);
+        when(socioMapper.aEntidad(request)).thenReturn(socio);
         when(socioRepository.save(socio)).thenReturn(socio);
-        when(modelMapper.map(socio, SocioResponseDTO.class)).thenReturn(response);
+        when(socioMapper.aResponse(socio)).thenReturn(response);
 
         SocioResponseDTO result = service.crearSocio(request);
 
         assertEquals(socio.getId(), result.getId());
         verify(socioRepository).save(socio);
+        verify(registroEventos).registrar(TipoEventoSocio.CREADO, socio);
+        verify(socioCache).invalidarDespuesDeCommit(socio.getId(), "1712345678");
+    }
+
+    @Test
+    void crearSocio_lanzaErrorSiEmailExiste() {
+        SocioRequestDTO request = buildRequest("1712345678");
+        when(socioRepository.existsByEmail("juan@test.com")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> service.crearSocio(request));
+        verify(socioRepository, never()).save(any());
+    }
+
+    @Test
+    void crearSocio_omiteConsultasSiElFiltroDescartaLosValores() {
+        reconstruirFiltros(clave("1799999999", "otro@test.com"));
+        SocioRequestDTO request = buildRequest("1712345678");
+        Socio socio = buildSocio(UUID.randomUUID(), request.getIdentificacion());
+        when(socioMapper.aEntidad(request)).thenReturn(socio);
+        when(socioRepository.save(socio)).thenReturn(socio);
+        when(socioMapper.aResponse(socio)).thenReturn(new SocioResponseDTO());
+
+        service.crearSocio(request);
+
+        verify(socioRepository, never()).existsByIdentificacion(any());
+        verify(socioRepository, never()).existsByEmail(any());
+        // El socio creado queda en el filtro: repetirlo ya consulta la BD
+        when(socioRepository.existsByIdentificacion("1712345678")).thenReturn(true);
+        assertThrows(IllegalArgumentException.class, () -> service.crearSocio(request));
+    }
+
+    @Test
+    void crearSocio_convierteViolacionDeUnicidadEnError() {
+        reconstruirFiltros();
+        SocioRequestDTO request = buildRequest("1712345678");
+        Socio socio = buildSocio(UUID.randomUUID(), request.getIdentificacion());
+        when(socioMapper.aEntidad(request)).thenReturn(socio);
+        when(socioRepository.save(socio)).thenReturn(socio);
+        // Creado por otra instancia: el filtro local no lo conoce y decide la restricción única
+        doThrow(new DataIntegrityViolationException("uk_socios_identificacion")).when(socioRepository).flush();
+
+        assertThrows(IllegalArgumentException.class, () -> service.crearSocio(request));
+        verify(socioCache, never()).invalidarDespuesDeCommit(any(), any());
+        verifyNoInteractions(registroEventos);
+    }
+
+    @Test
+    void crearSociosEnLote_reportaResultadoPorElemento() {
+        SocioRequestDTO valido = buildRequest("1712345678");
+        SocioRequestDTO invalido = buildRequest("17A");
+        SocioRequestDTO repetidoEnLote = buildRequest("1712345678");
+        repetidoEnLote.setEmail("otro@test.com");
+        SocioRequestDTO emailRepetido = buildRequest("1723456789");
+        SocioRequestDTO existente = buildRequest("1734567890");
+        existente.setEmail("existente@test.com");
+        SocioRequestDTO emailExistente = buildRequest("1745678901");
+        emailExistente.setEmail("ocupado@test.com");
+        List<SocioRequestDTO> lote = new ArrayList<>(List.of(
+                valido, invalido, repetidoEnLote, emailRepetido, existente, emailExistente));
+        lote.add(null);
+
+        when(socioRepository.findIdentificacionesExistentes(any())).thenReturn(Set.of("1734567890"));
+        when(socioRepository.findEmailsExistentes(any())).thenReturn(Set.of("ocupado@test.com"));
+        Socio socio = buildSocio(UUID.randomUUID(), "1712345678");
+        when(socioMapper.aEntidad(valido)).thenReturn(socio);
+        when(socioRepository.saveAll(List.of(socio))).thenReturn(List.of(socio));
+
+        ResultadoLoteDTO result = service.crearSociosEnLote(lote);
+
+        assertEquals(1, result.getCreados());
+        assertEquals(6, result.getRechazados());
+        assertEquals(EstadoItemLote.CREADO, result.getResultados().get(0).getEstado());
+        assertEquals(socio.getId(), result.getResultados().get(0).getId());
+        assertEquals(EstadoItemLote.INVALIDO, result.getResultados().get(1).getEstado());
+        assertEquals(List.of("Identificación inválida"), result.getResultados().get(1).getErrores());
+        assertEquals(EstadoItemLote.DUPLICADO, result.getResultados().get(2).getEstado());
+        assertEquals(EstadoItemLote.DUPLICADO, result.getResultados().get(3).getEstado());
+        assertEquals(List.of("Ya existe un socio con esta identificación"), result.getResultados().get(4).getErrores());
+        assertEquals(List.of("Ya existe un socio con este email"), result.getResultados().get(5).getErrores());
+        assertEquals(EstadoItemLote.INVALIDO, result.getResultados().get(6).getEstado());
+        verify(socioRepository).findIdentificacionesExistentes(Set.of("1712345678", "1734567890", "1745678901"));
+        verify(socioRepository, never()).existsByIdentificacion(any());
+    }
+
+    @Test
+    void crearSociosEnLote_aceptaSociosSinEmail() {
+        SocioRequestDTO sinEmail = buildRequest("1712345678");
+        sinEmail.setEmail(null);
+        Socio socio = buildSocio(UUID.randomUUID(), "1712345678");
+        socio.setEmail(null);
+        when(socioRepository.findIdentificacionesExistentes(any())).thenReturn(Set.of());
+        when(socioMapper.aEntidad(sinEmail)).thenReturn(socio);
+        when(socioRepository.saveAll(List.of(socio))).thenReturn(List.of(socio));
+
+        ResultadoLoteDTO result = service.crearSociosEnLote(List.of(sinEmail));
+
+        assertEquals(1, result.getCreados());
+        assertEquals(EstadoItemLote.CREADO, result.getResultados().get(0).getEstado());
+        verify(socioRepository, never()).findEmailsExistentes(any());
+    }
+
+    @Test
+    void crearSociosEnLote_convierteViolacionDeUnicidadEnError() {
+        SocioRequestDTO request = buildRequest("1712345678");
+        Socio socio = buildSocio(UUID.randomUUID(), "1712345678");
+        when(socioRepository.findIdentificacionesExistentes(any())).thenReturn(Set.of());
+        when(socioRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(socioMapper.aEntidad(request)).thenReturn(socio);
+        when(socioRepository.saveAll(List.of(socio))).thenReturn(List.of(socio));
+        // Insertado por otra instancia después de la consulta: lo rechaza la restricción única
+        doThrow(new DataIntegrityViolationException("uk_socios_identificacion")).when(socioRepository).flush();
+
+        assertThrows(IllegalArgumentException.class, () -> service.crearSociosEnLote(List.of(request)));
+        verifyNoInteractions(registroEventos);
+        verify(indiceBusqueda, never()).indexarDespuesDeCommit(any());
+    }
+
+    @Test
+    void crearSociosEnLote_sinCandidatosNoConsultaLaBd() {
+        SocioRequestDTO invalido = buildRequest("17A");
+        invalido.setEmail(null);
+        when(socioRepository.saveAll(List.of())).thenReturn(List.of());
+
+        ResultadoLoteDTO result = service.crearSociosEnLote(List.of(invalido));
+
+        assertEquals(0, result.getCreados());
+        assertEquals(1, result.getRechazados());
+        verify(socioRepository, never()).findIdentificacionesExistentes(any());
+        verify(socioRepository, never()).findEmailsExistentes(any());
+    }
+
+    @Test
+    void crearSociosEnLote_rechazaLoteVacioONulo() {
+        assertThrows(IllegalArgumentException.class, () -> service.crearSociosEnLote(null));
+        assertThrows(IllegalArgumentException.class, () -> service.crearSociosEnLote(List.of()));
+    }
+
+    @Test
+    void crearSociosEnLote_rechazaLoteDemasiadoGrande() {
+        List<SocioRequestDTO> lote = Collections.nCopies(11, buildRequest("1712345678"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.crearSociosEnLote(lote));
+        verifyNoInteractions(socioRepository);
     }
 
     @Test
     void actualizarSocio_lanzaErrorSiNoExiste() {
         UUID id = UUID.randomUUID();
-        when(socioRepository.findById(id)).thenReturn(Optional.empty());
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.actualizarSocio(id, buildRequest("1712345678")));
     }
@@ -106,12 +342,26 @@ class SocioServiceImplTest {
         Socio existente = buildSocio(id, "1712345678");
         SocioRequestDTO request = buildRequest("1799999999");
 
-        when(socioRepository.findById(id)).thenReturn(Optional.of(existente));
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(existente));
         when(socioRepository.existsByIdentificacion(request.getIdentificacion())).thenReturn(true);
 
         assertThrows(IllegalArgumentException.class, () -> service.actualizarSocio(id, request));
     }
 
+    @Test
+    void actualizarSocio_lanzaErrorSiEmailDuplicado() {
+        UUID id = UUID.randomUUID();
+        Socio existente = buildSocio(id, "1712345678");
+        SocioRequestDTO request = buildRequest("1712345678");
+        request.setEmail("otro@test.com");
+
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(existente));
+        when(socioRepository.existsByEmail("otro@test.com")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> service.actualizarSocio(id, request));
+        verify(socioRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     void actualizarSocio_actualizaYRetornaDTO() {
         UUID id = UUID.randomUUID();
@@ -121,17 +371,17 @@ class SocioServiceImplTest {
         response.setId(id);
         response.setIdentificacion(request.getIdentificacion());
 
-        when(socioRepository.findById(id)).thenReturn(Optional.of(existente));
-        when(socioRepository.save(existente)).thenReturn(existente);
-        doAnswer(invocation -> null).when(modelMapper).map(eq(request), eq(existente));
-        when(modelMapper.map(existente, SocioResponseDTO.class)).thenReturn(response);
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(existente));
+        when(socioRepository.saveAndFlush(existente)).thenReturn(existente);
+        when(socioMapper.aResponse(existente)).thenReturn(response);
 
         SocioResponseDTO result = service.actualizarSocio(id, request);
 
         ArgumentCaptor<Socio> captor = ArgumentCaptor.forClass(Socio.class);
-        verify(modelMapper).map(eq(request), captor.capture());
+        verify(socioMapper).actualizarEntidad(eq(request), captor.capture());
         assertEquals(existente, captor.getValue());
         assertEquals(id, result.getId());
+        verify(registroEventos).registrar(TipoEventoSocio.ACTUALIZADO, existente);
     }
 
     @Test
@@ -142,16 +392,94 @@ class SocioServiceImplTest {
         SocioResponseDTO response = new SocioResponseDTO();
         response.setId(id);
 
-        when(socioRepository.findById(id)).thenReturn(Optional.of(existente));
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(existente));
         when(socioRepository.existsByIdentificacion(request.getIdentificacion())).thenReturn(false);
-        when(socioRepository.save(existente)).thenReturn(existente);
-        doAnswer(invocation -> null).when(modelMapper).map(eq(request), eq(existente));
-        when(modelMapper.map(existente, SocioResponseDTO.class)).thenReturn(response);
+        when(socioRepository.saveAndFlush(existente)).thenReturn(existente);
+        when(socioMapper.aResponse(existente)).thenReturn(response);
 
         SocioResponseDTO result = service.actualizarSocio(id, request);
 
         assertEquals(id, result.getId());
-        verify(modelMapper).map(eq(request), eq(existente));
+        verify(socioMapper).actualizarEntidad(request, existente);
+    }
+
+    @Test
+    void obtenerSocioPorId_segundaLecturaSaleDeCache() {
+        UUID id = UUID.randomUUID();
+        Socio socio = buildSocio(id, "1712345678");
+        SocioResponseDTO response = buildResponse(id, null);
+        response.setIdentificacion(socio.getIdentificacion());
+
+        when(socioRepository.findById(id)).thenReturn(Optional.of(socio));
+        when(socioMapper.aResponse(socio)).thenReturn(response);
+
+        service.obtenerSocioPorId(id);
+        SocioResponseDTO result = service.obtenerSocioPorIdentificacion("1712345678");
+
+        assertEquals(id, result.getId());
+        verify(socioRepository, times(1)).findById(id);
+        verify(socioRepository, never()).findByIdentificacion(any());
+    }
+
+    @Test
+    void actualizarSocio_invalidaIdentificacionAnteriorYNueva() {
+        UUID id = UUID.randomUUID();
+        Socio existente = buildSocio(id, "1712345678");
+        SocioRequestDTO request = buildRequest("1799999999");
+
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(existente));
+        when(socioRepository.existsByIdentificacion(request.getIdentificacion())).thenReturn(false);
+        doAnswer(invocation -> {
+            existente.setIdentificacion(request.getIdentificacion());
+            return null;
+        }).when(socioMapper).actualizarEntidad(request, existente);
+        when(socioRepository.saveAndFlush(existente)).thenReturn(existente);
+
+        service.actualizarSocio(id, request);
+
+        verify(socioCache).invalidarDespuesDeCommit(id, "1712345678", "1799999999");
+    }
+
+    @Test
+    void actualizarSocio_rechazaVersionDistintaALaEsperada() {
+        UUID id = UUID.randomUUID();
+        Socio existente = buildSocio(id, "1712345678");
+        existente.setVersion(4L);
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(existente));
+
+        assertThrows(SocioModificadoException.class,
+                () -> service.actualizarSocio(id, buildRequest("1712345678"), 3L));
+        verify(socioMapper, never()).actualizarEntidad(any(), any());
+        verify(socioRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void actualizarSocio_convierteConflictoConcurrenteEnSocioModificado() {
+        UUID id = UUID.randomUUID();
+        Socio existente = buildSocio(id, "1712345678");
+        existente.setVersion(3L);
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(existente));
+        when(socioRepository.saveAndFlush(existente))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Socio.class, id));
+
+        assertThrows(SocioModificadoException.class,
+                () -> service.actualizarSocio(id, buildRequest("1712345678"), 3L));
+        verify(socioCache, never()).invalidarDespuesDeCommit(any(), any(), any());
+    }
+
+    @Test
+    void actualizarSocio_convierteViolacionDeUnicidadEnError() {
+        UUID id = UUID.randomUUID();
+        Socio existente = buildSocio(id, "1712345678");
+        SocioRequestDTO request = buildRequest("1799999999");
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(existente));
+        when(socioRepository.existsByIdentificacion("1799999999")).thenReturn(false);
+        when(socioRepository.saveAndFlush(existente))
+                .thenThrow(new DataIntegrityViolationException("uk_socios_identificacion"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.actualizarSocio(id, request));
+        verifyNoInteractions(registroEventos);
+        verify(socioCache, never()).invalidarDespuesDeCommit(any(), any(), any());
     }
 
     @Test
@@ -166,11 +494,10 @@ class SocioServiceImplTest {
     void obtenerSocioPorId_retornaDTO() {
         UUID id = UUID.randomUUID();
         Socio socio = buildSocio(id, "1712345678");
-        SocioResponseDTO response = new SocioResponseDTO();
-        response.setId(id);
+        SocioResponseDTO response = buildResponse(id, null);
 
         when(socioRepository.findById(id)).thenReturn(Optional.of(socio));
-        when(modelMapper.map(socio, SocioResponseDTO.class)).thenReturn(response);
+        when(socioMapper.aResponse(socio)).thenReturn(response);
 
         SocioResponseDTO result = service.obtenerSocioPorId(id);
 
@@ -178,61 +505,371 @@ class SocioServiceImplTest {
     }
 
     @Test
-    void obtenerTodosLosSocios_retornaLista() {
-        Socio socio = buildSocio(UUID.randomUUID(), "1712345678");
-        when(socioRepository.findAll()).thenReturn(List.of(socio));
-        when(modelMapper.map(eq(socio), eq(SocioResponseDTO.class))).thenAnswer(invocation -> {
-            SocioResponseDTO dto = new SocioResponseDTO();
-            dto.setId(socio.getId());
-            return dto;
-        });
+    void obtenerSocioPorId_ocultaAlSocioInactivoSalvoQueSePidaIncluirlo() {
+        UUID id = UUID.randomUUID();
+        Socio socio = buildSocio(id, "1712345678");
+        socio.setActivo(false);
+        SocioResponseDTO response = buildResponse(id, null);
+        response.setActivo(false);
+        when(socioRepository.findById(id)).thenReturn(Optional.of(socio));
+        when(socioMapper.aResponse(socio)).thenReturn(response);
+
+        assertThrows(EntityNotFoundException.class, () -> service.obtenerSocioPorId(id));
+        assertSame(response, service.obtenerSocioPorId(id, true));
+        // La segunda lectura sale de la caché: el filtro se aplica sobre el socio cacheado
+        verify(socioRepository, times(1)).findById(id);
+    }
+
+    @Test
+    void obtenerSocioPorIdentificacion_ocultaAlSocioInactivoSalvoQueSePidaIncluirlo() {
+        SocioResponseDTO response = buildResponse(UUID.randomUUID(), null);
+        response.setActivo(false);
+        when(socioRepository.findResponseByIdentificacion("1712345678")).thenReturn(Optional.of(response));
+
+        assertThrows(EntityNotFoundException.class, () -> service.obtenerSocioPorIdentificacion("1712345678"));
+        assertSame(response, service.obtenerSocioPorIdentificacion("1712345678", true));
+    }
+
+    @Test
+    void obtenerPaginaSocios_incluyendoInactivosRecorreTodaLaTabla() {
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+        UUID id = UUID.randomUUID();
+        when(socioRepository.findPrimeraPagina(Limit.of(3))).thenReturn(List.of());
+        when(socioRepository.findPaginaDespuesDe(fecha, id, Limit.of(3))).thenReturn(List.of());
+
+        service.obtenerPaginaSocios(null, null, true);
+        service.obtenerPaginaSocios(new CursorSocio(fecha, id).codificar(), null, true);
+
+        verify(socioRepository, never()).findPrimeraPaginaActivos(any());
+        verify(socioRepository, never()).findPaginaActivosDespuesDe(any(), any(), any());
+    }
 
-        List<SocioResponseDTO> result = service.obtenerTodosLosSocios();
+    @Test
+    void obtenerPaginaSocios_primeraPaginaSinSiguienteCursor() {
+        SocioResponseDTO socio = buildResponse(UUID.randomUUID(), LocalDateTime.now());
+        when(socioRepository.findPrimeraPaginaActivos(Limit.of(3))).thenReturn(List.of(socio));
+
+        PaginaSociosDTO result = service.obtenerPaginaSocios(null, null);
+
+        assertEquals(1, result.getSocios().size());
+        assertEquals(socio.getId(), result.getSocios().get(0).getId());
+        assertNull(result.getSiguienteCursor());
+        assertEquals(2, result.getTamano());
+        verify(socioRepository, never()).count();
+        verify(socioRepository, never()).findAll();
+    }
+
+    @Test
+    void obtenerPaginaSocios_generaCursorConUltimoElementoDeLaPagina() {
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+        SocioResponseDTO primero = buildResponse(UUID.randomUUID(), fecha);
+        SocioResponseDTO segundo = buildResponse(UUID.randomUUID(), fecha);
+        SocioResponseDTO extra = buildResponse(UUID.randomUUID(), fecha.plusSeconds(1));
+        when(socioRepository.findPrimeraPaginaActivos(Limit.of(3))).thenReturn(List.of(primero, segundo, extra));
+
+        PaginaSociosDTO result = service.obtenerPaginaSocios(" ", null);
+
+        assertEquals(2, result.getSocios().size());
+        CursorSocio cursor = CursorSocio.decodificar(result.getSiguienteCursor());
+        assertEquals(fecha, cursor.fechaCreacion());
+        assertEquals(segundo.getId(), cursor.id());
+    }
+
+    @Test
+    void obtenerPaginaSocios_continuaDesdeCursorYLimitaTamano() {
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+        UUID id = UUID.randomUUID();
+        String cursor = new CursorSocio(fecha, id).codificar();
+        when(socioRepository.findPaginaActivosDespuesDe(fecha, id, Limit.of(4))).thenReturn(List.of());
+
+        PaginaSociosDTO result = service.obtenerPaginaSocios(cursor, 100);
 
-        assertEquals(1, result.size());
-        assertEquals(socio.getId(), result.get(0).getId());
+        assertTrue(result.getSocios().isEmpty());
+        assertNull(result.getSiguienteCursor());
+        assertEquals(3, result.getTamano());
+    }
+
+    @Test
+    void obtenerPaginaSocios_rechazaTamanoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> service.obtenerPaginaSocios(null, 0));
+        verifyNoInteractions(socioRepository);
     }
 
     @Test
     void eliminarSocio_lanzaErrorSiTieneCuentasActivas() {
         UUID id = UUID.randomUUID();
         Socio socio = buildSocio(id, "1712345678");
-        when(socioRepository.findById(id)).thenReturn(Optional.of(socio));
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(socio));
         when(cuentasClientService.socioTieneCuentasActivas(id.toString())).thenReturn(true);
 
         assertThrows(IllegalStateException.class, () -> service.eliminarSocio(id));
-        verify(socioRepository, never()).deleteById(id);
+        assertTrue(socio.getActivo());
+        verifyNoInteractions(transactionTemplate);
     }
 
     @Test
-    void eliminarSocio_eliminaSiNoTieneCuentas() {
+    void eliminarSocio_desactivaSiNoTieneCuentas() {
         UUID id = UUID.randomUUID();
         Socio socio = buildSocio(id, "1712345678");
-        when(socioRepository.findById(id)).thenReturn(Optional.of(socio));
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.of(socio));
         when(cuentasClientService.socioTieneCuentasActivas(id.toString())).thenReturn(false);
 
         assertDoesNotThrow(() -> service.eliminarSocio(id));
-        verify(socioRepository).deleteById(id);
+        assertFalse(socio.getActivo());
+        verify(socioRepository, never()).deleteById(any());
+        // El evento sale después del flush, con la versión que dejó el UPDATE
+        var orden = inOrder(socioRepository, registroEventos);
+        orden.verify(socioRepository).flush();
+        orden.verify(registroEventos).registrar(TipoEventoSocio.ELIMINADO, socio);
+        verify(indiceBusqueda).eliminarDespuesDeCommit(List.of(id));
+        verify(socioCache).invalidarDespuesDeCommit(id, "1712345678");
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void eliminarSocio_noEliminaSiElSocioDesaparecioDuranteLaValidacion() {
+        UUID id = UUID.randomUUID();
+        when(socioRepository.findByIdAndActivoTrue(id))
+                .thenReturn(Optional.of(buildSocio(id, "1712345678")))
+                .thenReturn(Optional.empty());
+        when(cuentasClientService.socioTieneCuentasActivas(id.toString())).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> service.eliminarSocio(id));
+        verify(indiceBusqueda, never()).eliminarDespuesDeCommit(any());
+    }
+
+    @Test
+    void eliminarSocio_lanzaErrorSiNoExisteSinConsultarCuentas() {
+        UUID id = UUID.randomUUID();
+        when(socioRepository.findByIdAndActivoTrue(id)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.eliminarSocio(id));
+        verifyNoInteractions(cuentasClientService, transactionTemplate);
+    }
+
+    @Test
+    void eliminarSociosEnLote_reportaResultadoPorId() {
+        UUID libre = UUID.randomUUID();
+        UUID conCuentas = UUID.randomUUID();
+        UUID sinRespuesta = UUID.randomUUID();
+        UUID inexistente = UUID.randomUUID();
+        Socio socioLibre = buildSocio(libre, "1712345678");
+        when(socioRepository.findAllByIdInAndActivoTrue(anyCollection())).thenReturn(List.of(
+                socioLibre,
+                buildSocio(conCuentas, "1712345679"),
+                buildSocio(sinRespuesta, "1712345680"))).thenReturn(List.of(socioLibre));
+        when(cuentasClientService.socioTieneCuentasActivas(libre.toString())).thenReturn(false);
+        when(cuentasClientService.socioTieneCuentasActivas(conCuentas.toString())).thenReturn(true);
+        when(cuentasClientService.socioTieneCuentasActivas(sinRespuesta.toString()))
+                .thenThrow(new CuentasNoDisponibleException("Servicio de cuentas no disponible", null));
+
+        ResultadoEliminacionLoteDTO resultado = service.eliminarSociosEnLote(
+                List.of(libre, conCuentas, libre, sinRespuesta, inexistente));
+
+        assertEquals(1, resultado.getEliminados());
+        assertEquals(3, resultado.getRechazados());
+        assertEquals(List.of(libre, conCuentas, sinRespuesta, inexistente),
+                resultado.getResultados().stream().map(ResultadoItemEliminacionDTO::getId).toList());
+        assertEquals(List.of(EstadoEliminacion.ELIMINADO, EstadoEliminacion.CUENTAS_ACTIVAS,
+                        EstadoEliminacion.CUENTAS_NO_DISPONIBLE, EstadoEliminacion.NO_ENCONTRADO),
+                resultado.getResultados().stream().map(ResultadoItemEliminacionDTO::getEstado).toList());
+        assertEquals("No se pudo verificar las cuentas del socio", resultado.getResultados().get(2).getMensaje());
+
+        verify(socioRepository).findAllByIdInAndActivoTrue(Set.of(libre, conCuentas, sinRespuesta, inexistente));
+        verify(socioRepository).findAllByIdInAndActivoTrue(Set.of(libre));
+        ArgumentCaptor<LocalDateTime> fecha = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(socioRepository).desactivar(eq(List.of(libre)), fecha.capture());
+        verify(registroEventos).registrarDesactivados(List.of(socioLibre), fecha.getValue());
+        verify(transactionTemplate).execute(any());
+        verify(socioRepository, never()).deleteAllByIdInBatch(any());
+        verify(socioCache).invalidarDespuesDeCommit(libre, "1712345678");
+        verify(socioCache, never()).invalidarDespuesDeCommit(eq(conCuentas), any());
+    }
+
+    @Test
+    void eliminarSociosEnLote_usaUnMotivoFijoSiLaValidacionFallaSinMensaje() {
+        UUID id = UUID.randomUUID();
+        when(socioRepository.findAllByIdInAndActivoTrue(anyCollection())).thenReturn(List.of(buildSocio(id, "1712345678")));
+        when(cuentasClientService.socioTieneCuentasActivas(id.toString())).thenThrow(new IllegalStateException());
+
+        ResultadoEliminacionLoteDTO resultado = service.eliminarSociosEnLote(List.of(id));
+
+        ResultadoItemEliminacionDTO item = resultado.getResultados().get(0);
+        assertEquals(EstadoEliminacion.CUENTAS_NO_DISPONIBLE, item.getEstado());
+        assertEquals("No se pudo verificar las cuentas del socio", item.getMensaje());
+        verify(socioRepository, never()).desactivar(any(), any());
+    }
+
+    @Test
+    void eliminarSociosEnLote_noReportaComoEliminadoAlSocioBorradoDuranteLaValidacion() {
+        UUID vigente = UUID.randomUUID();
+        UUID borrado = UUID.randomUUID();
+        Socio socioVigente = buildSocio(vigente, "1712345678");
+        when(socioRepository.findAllByIdInAndActivoTrue(anyCollection()))
+                .thenReturn(List.of(socioVigente, buildSocio(borrado, "1712345679")))
+                .thenReturn(List.of(socioVigente));
+        when(cuentasClientService.socioTieneCuentasActivas(anyString())).thenReturn(false);
+
+        ResultadoEliminacionLoteDTO resultado = service.eliminarSociosEnLote(List.of(vigente, borrado));
+
+        assertEquals(1, resultado.getEliminados());
+        assertEquals(1, resultado.getRechazados());
+        assertEquals(List.of(EstadoEliminacion.ELIMINADO, EstadoEliminacion.NO_ENCONTRADO),
+                resultado.getResultados().stream().map(ResultadoItemEliminacionDTO::getEstado).toList());
+        verify(socioRepository).desactivar(eq(List.of(vigente)), any());
+    }
+
+    @Test
+    void eliminarSociosEnLote_noDesactivaSiTodosFueronBorradosDuranteLaValidacion() {
+        UUID id = UUID.randomUUID();
+        when(socioRepository.findAllByIdInAndActivoTrue(anyCollection()))
+                .thenReturn(List.of(buildSocio(id, "1712345678")))
+                .thenReturn(List.of());
+        when(cuentasClientService.socioTieneCuentasActivas(id.toString())).thenReturn(false);
+
+        ResultadoEliminacionLoteDTO resultado = service.eliminarSociosEnLote(List.of(id));
+
+        assertEquals(0, resultado.getEliminados());
+        assertEquals(EstadoEliminacion.NO_ENCONTRADO, resultado.getResultados().get(0).getEstado());
+        verify(socioRepository, never()).desactivar(any(), any());
+        verifyNoInteractions(registroEventos);
+    }
+
+    @Test
+    void eliminarSociosEnLote_limitaValidacionesSimultaneas() {
+        List<Socio> socios = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            socios.add(buildSocio(UUID.randomUUID(), String.valueOf(1712345600 + i)));
+        }
+        when(socioRepository.findAllByIdInAndActivoTrue(anyCollection())).thenReturn(socios);
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        when(cuentasClientService.socioTieneCuentasActivas(anyString())).thenAnswer(invocacion -> {
+            maximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            enCurso.decrementAndGet();
+            return false;
+        });
+
+        ResultadoEliminacionLoteDTO resultado = service.eliminarSociosEnLote(
+                socios.stream().map(Socio::getId).toList());
+
+        assertEquals(8, resultado.getEliminados());
+        assertTrue(maximo.get() <= 2, "Validaciones simultáneas: " + maximo.get());
+        verify(cuentasClientService, times(8)).socioTieneCuentasActivas(anyString());
+        verify(socioRepository).desactivar(anyCollection(), any());
+    }
+
+    @Test
+    void eliminarSociosEnLote_sinSociosExistentesNoLlamaACuentasNiElimina() {
+        UUID id = UUID.randomUUID();
+        when(socioRepository.findAllByIdInAndActivoTrue(anyCollection())).thenReturn(List.of());
+
+        ResultadoEliminacionLoteDTO resultado = service.eliminarSociosEnLote(List.of(id));
+
+        assertEquals(0, resultado.getEliminados());
+        assertEquals(EstadoEliminacion.NO_ENCONTRADO, resultado.getResultados().get(0).getEstado());
+        verifyNoInteractions(cuentasClientService);
+        verify(socioRepository, never()).desactivar(any(), any());
+    }
+
+    @Test
+    void eliminarSociosEnLote_rechazaLoteInvalido() {
+        List<UUID> conNulo = new ArrayList<>();
+        conNulo.add(null);
+        List<UUID> demasiados = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            demasiados.add(UUID.randomUUID());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> service.eliminarSociosEnLote(null));
+        assertThrows(IllegalArgumentException.class, () -> service.eliminarSociosEnLote(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.eliminarSociosEnLote(conNulo));
+        assertThrows(IllegalArgumentException.class, () -> service.eliminarSociosEnLote(demasiados));
+        verifyNoInteractions(socioRepository, cuentasClientService);
     }
 
     @Test
     void obtenerSocioPorIdentificacion_lanzaErrorSiNoExiste() {
-        when(socioRepository.findByIdentificacion("1712345678")).thenReturn(Optional.empty());
+        when(socioRepository.findResponseByIdentificacion("1712345678")).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.obtenerSocioPorIdentificacion("1712345678"));
     }
 
     @Test
-    void obtenerSocioPorIdentificacion_retornaDTO() {
-        Socio socio = buildSocio(UUID.randomUUID(), "1712345678");
-        SocioResponseDTO response = new SocioResponseDTO();
-        response.setId(socio.getId());
+    void buscarSocios_cargaLaPaginaDelIndiceEnSuOrden() {
+        UUID primero = UUID.randomUUID();
+        UUID segundo = UUID.randomUUID();
+        UUID tercero = UUID.randomUUID();
+        IndiceBusquedaSocios indice = new IndiceBusquedaSocios(
+                socioRepository, mock(PlatformTransactionManager.class), true, Duration.ofMinutes(5));
+        when(socioRepository.streamDatosBusquedaActivos()).thenReturn(Stream.empty());
+        indice.reconstruir();
+        for (UUID id : List.of(primero, segundo, tercero)) {
+            indice.indexarDespuesDeCommit(buildSocio(id, "1712345678"));
+        }
+        ReflectionTestUtils.setField(service, "indiceBusqueda", indice);
+        // El segundo se eliminó en otra instancia y ya no está en la BD; la consulta IN no garantiza orden
+        when(socioRepository.findResponsesByIdIn(List.of(primero, segundo, tercero)))
+                .thenReturn(List.of(buildResponse(tercero, null), buildResponse(primero, null)));
+
+        ResultadoBusquedaDTO resultado = service.buscarSocios("Pérez", 0, 3);
+
+        assertEquals(List.of(primero, tercero), resultado.getSocios().stream().map(SocioResponseDTO::getId).toList());
+        assertEquals(3, resultado.getTotal());
+        assertEquals(0, resultado.getPagina());
+        assertEquals(3, resultado.getTamano());
+        verify(socioRepository, never()).buscarPorTextoActivos(any(), any());
+        verify(socioRepository, never()).findAllById(any());
+    }
 
-        when(socioRepository.findByIdentificacion(socio.getIdentificacion())).thenReturn(Optional.of(socio));
-        when(modelMapper.map(socio, SocioResponseDTO.class)).thenReturn(response);
+    @Test
+    void buscarSocios_paginaMuyAltaNoDesbordaElDesplazamiento() {
+        doReturn(new IndiceBusquedaSocios.Coincidencias(List.of(), 4)).when(indiceBusqueda)
+                .buscar(anyList(), anyInt(), anyInt());
 
-        SocioResponseDTO result = service.obtenerSocioPorIdentificacion(socio.getIdentificacion());
+        ResultadoBusquedaDTO resultado = service.buscarSocios("perez", Integer.MAX_VALUE, 3);
 
-        assertEquals(socio.getId(), result.getId());
+        assertEquals(List.of(), resultado.getSocios());
+        verify(indiceBusqueda).buscar(List.of("perez"), Integer.MAX_VALUE, 3);
+    }
+
+    @Test
+    void buscarSocios_sinIndiceBuscaEnLaBdConElPatronEscapado() {
+        when(socioRepository.buscarPorTextoActivos(any(), any())).thenReturn(Page.empty());
+
+        ResultadoBusquedaDTO resultado = service.buscarSocios(" Juan_100% ", null, null);
+
+        assertEquals(0, resultado.getTotal());
+        verify(socioRepository).buscarPorTextoActivos("%juan\\_100\\%%", PageRequest.of(0, 2));
+    }
+
+    @Test
+    void buscarSocios_incluyendoInactivosBuscaEnLaBdAunqueHayaIndice() {
+        when(socioRepository.buscarPorTexto(any(), any())).thenReturn(Page.empty());
+
+        service.buscarSocios("perez", 0, 2, true);
+
+        verify(socioRepository).buscarPorTexto("%perez%", PageRequest.of(0, 2));
+        verify(socioRepository, never()).buscarPorTextoActivos(any(), any());
+        verify(indiceBusqueda, never()).buscar(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void buscarSocios_rechazaTextoSinPalabrasOPaginaNegativa() {
+        assertThrows(IllegalArgumentException.class, () -> service.buscarSocios(" a ", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.buscarSocios("perez", -1, 10));
+        verifyNoInteractions(socioRepository);
+    }
+
+    @Test
+    void obtenerSocioPorIdentificacion_retornaProyeccion() {
+        SocioResponseDTO response = buildResponse(UUID.randomUUID(), null);
+        when(socioRepository.findResponseByIdentificacion("1712345678")).thenReturn(Optional.of(response));
+
+        SocioResponseDTO result = service.obtenerSocioPorIdentificacion("1712345678");
+
+        assertSame(response, result);
+        verify(socioRepository, never()).findByIdentificacion(any());
     }
 }
@@ -0,0 +1,137 @@
+package ec.fin.coacandes.socios.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Proxy del DataSource que registra cada sentencia JDBC enviada a la BD, para fijar en las pruebas
+ * cuántas consultas hace cada operación. Un executeBatch cuenta como una sola sentencia (un viaje).
+ * Se registra en el contexto con {@code @Import(ContadorSentencias.class)} y se reinicia antes de
+ * cada prueba:
+ *
+ * <pre>
+ * contador.reiniciar();
+ * service.obtenerSocioPorId(id);
+ * contador.verificar(1, 0, 0, 0);
+ * </pre>
+ */
+public class ContadorSentencias implements BeanPostProcessor {
+
+    private final List<String> sentencias = new ArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (metodo, resultado, args) ->
+                    resultado instanceof Connection conexion ? proxyConexion(conexion) : resultado);
+        }
+        return bean;
+    }
+
+    public synchronized void reiniciar() {
+        sentencias.clear();
+    }
+
+    public synchronized List<String> getSentencias() {
+        return List.copyOf(sentencias);
+    }
+
+    public long contar(String tipo) {
+        String prefijo = tipo.toLowerCase(Locale.ROOT);
+        return getSentencias().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(prefijo))
+                .count();
+    }
+
+    /**
+     * Falla con la lista de sentencias ejecutadas si no coincide exactamente con el presupuesto.
+     */
+    public void verificar(int selects, int inserts, int updates, int deletes) {
+        List<String> ejecutadas = getSentencias();
+        long[] esperado = {selects, inserts, updates, deletes};
+        long[] real = {contar("select"), contar("insert"), contar("update"), contar("delete")};
+        if (!Arrays.equals(esperado, real) || ejecutadas.size() != selects + inserts + updates + deletes) {
+            throw new AssertionError(String.format(
+                    "Se esperaban %d select, %d insert, %d update y %d delete; se ejecutaron %d sentencias:%n%s",
+                    selects, inserts, updates, deletes, ejecutadas.size(),
+                    String.join(System.lineSeparator(), ejecutadas)));
+        }
+    }
+
+    private synchronized void registrar(String sql) {
+        sentencias.add(sql);
+    }
+
+    private Connection proxyConexion(Connection conexion) {
+        return proxy(Connection.class, conexion, (metodo, resultado, args) -> {
+            if (resultado instanceof CallableStatement llamada) {
+                return proxySentencia(CallableStatement.class, llamada, (String) args[0]);
+            }
+            if (resultado instanceof PreparedStatement preparada) {
+                return proxySentencia(PreparedStatement.class, preparada, (String) args[0]);
+            }
+            if (resultado instanceof Statement sentencia) {
+                return proxySentencia(Statement.class, sentencia, null);
+            }
+            return resultado;
+        });
+    }
+
+    private <T extends Statement> T proxySentencia(Class<T> tipo, T sentencia, String sqlPreparado) {
+        List<String> lote = new ArrayList<>();
+        return proxy(tipo, sentencia, new Interceptor() {
+            @Override
+            public void antes(Method metodo, Object[] args) {
+                String nombre = metodo.getName();
+                if (nombre.equals("addBatch") && args != null && args.length == 1) {
+                    lote.add((String) args[0]);
+                } else if (nombre.equals("executeBatch") || nombre.equals("executeLargeBatch")) {
+                    registrar(sqlPreparado != null ? sqlPreparado : String.join("; ", lote));
+                    lote.clear();
+                } else if (nombre.startsWith("execute")) {
+                    registrar(args != null && args.length > 0 ? (String) args[0] : sqlPreparado);
+                }
+            }
+
+            @Override
+            public Object despues(Method metodo, Object resultado, Object[] args) {
+                return resultado;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, T destino, Interceptor interceptor) {
+        InvocationHandler handler = (instancia, metodo, args) -> {
+            interceptor.antes(metodo, args);
+            try {
+                return interceptor.despues(metodo, metodo.invoke(destino, args), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(ContadorSentencias.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+
+        default void antes(Method metodo, Object[] args) {
+        }
+
+        Object despues(Method metodo, Object resultado, Object[] args);
+    }
+}
@@ -0,0 +1,117 @@
+package ec.fin.coacandes.socios.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP local que reemplaza al microservicio de cuentas en pruebas y benchmarks.
+ * Responde al endpoint de validación de cuentas activas con una demora y resultado configurables.
+ */
+public class CuentasStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger solicitudes = new AtomicInteger();
+
+    private volatile Duration demora = Duration.ZERO;
+    private volatile boolean tieneCuentasActivas;
+    private volatile int status = 200;
+
+    private CuentasStubServer(HttpServer server) {
+        this.server = server;
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::responder);
+    }
+
+    static {
+        // Sin TCP_NODELAY las cabeceras y el cuerpo van en escrituras separadas y Nagle más el ACK
+        // retardado del cliente suman ~40 ms por respuesta, que se confundirían con latencia del servicio
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        // Por defecto cierra las conexiones inactivas por encima de 200; con más clientes concurrentes
+        // el pool del cliente reutilizaría conexiones ya cerradas ("failed to respond")
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "10000");
+    }
+
+    public static CuentasStubServer iniciar() {
+        try {
+            CuentasStubServer stub = new CuentasStubServer(
+                    HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0));
+            stub.server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo iniciar el stub de cuentas", e);
+        }
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public CuentasStubServer conDemora(Duration demora) {
+        this.demora = demora;
+        return this;
+    }
+
+    public CuentasStubServer conCuentasActivas(boolean tieneCuentasActivas) {
+        this.tieneCuentasActivas = tieneCuentasActivas;
+        return this;
+    }
+
+    public CuentasStubServer conStatus(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public int getSolicitudes() {
+        return solicitudes.get();
+    }
+
+    private void responder(HttpExchange exchange) throws IOException {
+        solicitudes.incrementAndGet();
+        try {
+            if (!demora.isZero()) {
+                Thread.sleep(demora.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String socioId = extraerSocioId(exchange.getRequestURI().getPath());
+        byte[] cuerpo = String.format(
+                "{\"socioId\":\"%s\",\"tieneCuentasActivas\":%s,\"numeroCuentasActivas\":%d}",
+                socioId, tieneCuentasActivas, tieneCuentasActivas ? 1 : 0)
+                .getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, cuerpo.length);
+        try (OutputStream salida = exchange.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+
+    private static String extraerSocioId(String ruta) {
+        String[] partes = ruta.split("/");
+        for (int i = 0; i < partes.length - 1; i++) {
+            if ("socio".equals(partes[i])) {
+                return partes[i + 1];
+            }
+        }
+        return "";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}